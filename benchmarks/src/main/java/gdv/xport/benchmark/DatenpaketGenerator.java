@@ -0,0 +1,186 @@
+/*
+ * Copyright (c) 2026 by Oli B.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * (c)reated 16.10.2026 by Oli B. (ob@aosd.de)
+ */
+
+package gdv.xport.benchmark;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+import gdv.xport.Datenpaket;
+
+/**
+ * Der DatenpaketGenerator erzeugt synthetische (grosse) GDV-Dateien fuer die
+ * Benchmarks. Dazu werden die Datensaetze der Musterdatei zwischen Vor- und
+ * Nachsatz beliebig oft wiederholt. Die Anzahl der Saetze und die Summen im
+ * Nachsatz werden dabei nicht angepasst, d.h. bei der Validierung der
+ * erzeugten Dateien werden (nur) fuer den Nachsatz Fehler gemeldet.
+ *
+ * @author oliver
+ * @since 3.1 (16.10.2026)
+ */
+public final class DatenpaketGenerator {
+
+    /** Die Musterdatei aus den Tests, die als Vorlage dient. */
+    public static final String MUSTERDATEI = "/musterdatei_041222.txt";
+
+    private final List<String> vorsatz;
+    private final List<String> datensaetze;
+    private final List<String> nachsatz;
+
+    /**
+     * Verwendet die {@link #MUSTERDATEI} als Vorlage.
+     *
+     * @throws IOException falls die Musterdatei nicht gelesen werden kann
+     */
+    public DatenpaketGenerator() throws IOException {
+        this(readMusterdatei());
+    }
+
+    /**
+     * Verwendet die uebergebenen Zeilen als Vorlage. Alle fuehrenden Zeilen
+     * mit Satzart "0001" bilden den Vorsatz (der aus mehreren
+     * Teildatensaetzen bestehen kann), alle abschliessenden Zeilen mit
+     * Satzart "9999" den Nachsatz.
+     *
+     * @param zeilen Vorsatz, Datensaetze und Nachsatz
+     */
+    public DatenpaketGenerator(final List<String> zeilen) {
+        int start = 0;
+        while ((start < zeilen.size()) && zeilen.get(start).startsWith("0001")) {
+            start++;
+        }
+        int end = zeilen.size();
+        while ((end > start) && zeilen.get(end - 1).startsWith("9999")) {
+            end--;
+        }
+        if ((start == 0) || (end == zeilen.size())) {
+            throw new IllegalArgumentException("Vorsatz and Nachsatz expected in " + zeilen);
+        }
+        this.vorsatz = new ArrayList<>(zeilen.subList(0, start));
+        this.datensaetze = new ArrayList<>(zeilen.subList(start, end));
+        this.nachsatz = new ArrayList<>(zeilen.subList(end, zeilen.size()));
+    }
+
+    /**
+     * Liefert den Inhalt der Musterdatei.
+     *
+     * @return Inhalt der Musterdatei
+     * @throws IOException falls die Musterdatei nicht gelesen werden kann
+     */
+    public static String getMusterdatei() throws IOException {
+        StringBuilder buf = new StringBuilder();
+        for (String zeile : readMusterdatei()) {
+            buf.append(zeile).append('\n');
+        }
+        return buf.toString();
+    }
+
+    private static List<String> readMusterdatei() throws IOException {
+        InputStream istream = DatenpaketGenerator.class.getResourceAsStream(MUSTERDATEI);
+        if (istream == null) {
+            throw new IOException("resource '" + MUSTERDATEI + "' not found");
+        }
+        List<String> zeilen = new ArrayList<>();
+        try (BufferedReader reader =
+                new BufferedReader(new InputStreamReader(istream, StandardCharsets.ISO_8859_1))) {
+            for (String zeile = reader.readLine(); zeile != null; zeile = reader.readLine()) {
+                zeilen.add(zeile);
+            }
+        }
+        return zeilen;
+    }
+
+    /**
+     * Schreibt Vorsatz, die Datensaetze (n-mal) und den Nachsatz.
+     *
+     * @param writer Ziel
+     * @param n wie oft die Datensaetze wiederholt werden
+     * @throws IOException bei Schreibfehlern
+     */
+    public void write(final Writer writer, final int n) throws IOException {
+        write(writer, vorsatz);
+        for (int i = 0; i < n; i++) {
+            write(writer, datensaetze);
+        }
+        write(writer, nachsatz);
+        writer.flush();
+    }
+
+    private static void write(final Writer writer, final List<String> zeilen) throws IOException {
+        for (String zeile : zeilen) {
+            writer.write(zeile);
+            writer.write('\n');
+        }
+    }
+
+    /**
+     * Erzeugt eine temporaere Datei, in der die Datensaetze n-mal wiederholt
+     * werden. Die Datei wird beim Beenden der JVM geloescht.
+     *
+     * @param n wie oft die Datensaetze wiederholt werden
+     * @return die erzeugte Datei
+     * @throws IOException bei Schreibfehlern
+     */
+    public File createFile(final int n) throws IOException {
+        File file = File.createTempFile("datenpaket-" + n + "-", ".txt");
+        file.deleteOnExit();
+        try (Writer writer = new BufferedWriter(
+                new OutputStreamWriter(Files.newOutputStream(file.toPath()), StandardCharsets.ISO_8859_1))) {
+            write(writer, n);
+        }
+        return file;
+    }
+
+    /**
+     * Erzeugt ein Datenpaket, in dem die Datensaetze n-mal wiederholt werden.
+     *
+     * @param n wie oft die Datensaetze wiederholt werden
+     * @return das importierte Datenpaket
+     * @throws IOException bei Lese- oder Schreibfehlern
+     */
+    public Datenpaket createDatenpaket(final int n) throws IOException {
+        StringWriter writer = new StringWriter();
+        write(writer, n);
+        Datenpaket datenpaket = new Datenpaket();
+        datenpaket.importFrom(writer.toString());
+        return datenpaket;
+    }
+
+    /**
+     * Liefert die Anzahl der Datensaetze (ohne Vor- und Nachsatz) bei n
+     * Wiederholungen.
+     *
+     * @param n wie oft die Datensaetze wiederholt werden
+     * @return Anzahl der Datensaetze
+     */
+    public int getAnzahlDatensaetze(final int n) {
+        return datensaetze.size() * n;
+    }
+
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright (c) 2026 by Oli B.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * (c)reated 16.10.2026 by Oli B. (ob@aosd.de)
+ */
+
+package gdv.xport.benchmark;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import gdv.xport.Datenpaket;
+
+/**
+ * Benchmark fuer {@link Datenpaket#export(java.io.Writer)}. Exportiert wird
+ * in einen {@link NullWriter}, damit nur die Aufbereitung gemessen wird.
+ *
+ * @author oliver
+ * @since 3.1 (16.10.2026)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ExportBenchmark {
+
+    @Param({"1", "100"})
+    private int wiederholungen;
+
+    private Datenpaket datenpaket;
+
+    /**
+     * Importiert das Datenpaket, das anschliessend exportiert wird.
+     *
+     * @throws IOException falls die Datei nicht erzeugt werden kann
+     */
+    @Setup
+    public void setUp() throws IOException {
+        datenpaket = new Datenpaket();
+        datenpaket.importFrom(new DatenpaketGenerator().createFile(wiederholungen));
+    }
+
+    /**
+     * Export ueber {@link Datenpaket#export(java.io.Writer)}.
+     *
+     * @return Anzahl der exportierten Zeichen
+     * @throws IOException bei Schreibfehlern
+     */
+    @Benchmark
+    public long export() throws IOException {
+        NullWriter writer = new NullWriter();
+        datenpaket.export(writer);
+        return writer.getCount();
+    }
+
+}
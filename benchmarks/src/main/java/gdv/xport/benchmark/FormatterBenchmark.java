@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) 2026 by Oli B.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * (c)reated 16.10.2026 by Oli B. (ob@aosd.de)
+ */
+
+package gdv.xport.benchmark;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import gdv.xport.Datenpaket;
+import gdv.xport.util.AbstractFormatter;
+
+/**
+ * Benchmark fuer die verschiedenen {@link AbstractFormatter}-Klassen. Die
+ * Ausgabe erfolgt in einen {@link NullWriter}. Mit dem Parameter
+ * "wiederholungen" wird festgelegt, wie oft die Datensaetze der Musterdatei
+ * im (synthetischen) Datenpaket wiederholt werden.
+ *
+ * @author oliver
+ * @since 3.1 (16.10.2026)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class FormatterBenchmark {
+
+    @Param({"CsvFormatter", "HtmlFormatter", "JsonFormatter", "NullFormatter", "XmlFormatter"})
+    private String formatter;
+
+    @Param({"1", "100"})
+    private int wiederholungen;
+
+    private Class<? extends AbstractFormatter> formatterClass;
+    private Datenpaket datenpaket;
+
+    /**
+     * Erzeugt das Datenpaket und ermittelt die Formatter-Klasse.
+     *
+     * @throws IOException falls das Datenpaket nicht erzeugt werden kann
+     * @throws ClassNotFoundException falls es den Formatter nicht gibt
+     */
+    @Setup
+    public void setUp() throws IOException, ClassNotFoundException {
+        formatterClass = Class.forName("gdv.xport.util." + formatter).asSubclass(AbstractFormatter.class);
+        datenpaket = new DatenpaketGenerator().createDatenpaket(wiederholungen);
+    }
+
+    /**
+     * Formatiert das Datenpaket.
+     *
+     * @return Anzahl der geschriebenen Zeichen
+     * @throws ReflectiveOperationException falls der Formatter nicht
+     *             instantiiert werden kann
+     * @throws IOException bei Schreibfehlern
+     */
+    @Benchmark
+    public long write() throws ReflectiveOperationException, IOException {
+        NullWriter writer = new NullWriter();
+        AbstractFormatter fmt = formatterClass.getConstructor(Writer.class).newInstance(writer);
+        fmt.write(datenpaket);
+        writer.flush();
+        return writer.getCount();
+    }
+
+}
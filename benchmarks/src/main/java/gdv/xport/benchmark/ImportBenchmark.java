@@ -0,0 +1,133 @@
+/*
+ * Copyright (c) 2026 by Oli B.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * (c)reated 16.10.2026 by Oli B. (ob@aosd.de)
+ */
+
+package gdv.xport.benchmark;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import gdv.xport.Datenpaket;
+import gdv.xport.DatenpaketStreamer;
+import gdv.xport.io.Latin1Reader;
+
+/**
+ * Benchmarks fuer den Import eines {@link Datenpaket}s. Mit dem Parameter
+ * "wiederholungen" wird festgelegt, wie oft die Datensaetze der Musterdatei
+ * in der (synthetischen) Import-Datei wiederholt werden.
+ *
+ * @author oliver
+ * @since 3.1 (16.10.2026)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ImportBenchmark {
+
+    @Param({"1", "100"})
+    private int wiederholungen;
+
+    private File file;
+
+    /**
+     * Erzeugt die Import-Datei.
+     *
+     * @throws IOException falls die Datei nicht erzeugt werden kann
+     */
+    @Setup
+    public void setUp() throws IOException {
+        file = new DatenpaketGenerator().createFile(wiederholungen);
+    }
+
+    /**
+     * Import ueber {@link Datenpaket#importFrom(File)}.
+     *
+     * @return das importierte Datenpaket
+     * @throws IOException bei Lesefehlern
+     */
+    @Benchmark
+    public Datenpaket importFile() throws IOException {
+        Datenpaket datenpaket = new Datenpaket();
+        datenpaket.importFrom(file);
+        return datenpaket;
+    }
+
+    /**
+     * Import ueber {@link Datenpaket#importFrom(InputStream)}.
+     *
+     * @return das importierte Datenpaket
+     * @throws IOException bei Lesefehlern
+     */
+    @Benchmark
+    public Datenpaket importStream() throws IOException {
+        Datenpaket datenpaket = new Datenpaket();
+        try (InputStream istream = new FileInputStream(file)) {
+            datenpaket.importFrom(istream);
+        }
+        return datenpaket;
+    }
+
+    /**
+     * Paralleler Import ueber den {@link ForkJoinPool#commonPool()}.
+     *
+     * @return das importierte Datenpaket
+     * @throws IOException bei Lesefehlern
+     */
+    @Benchmark
+    public Datenpaket importParallel() throws IOException {
+        Datenpaket datenpaket = new Datenpaket();
+        try (Latin1Reader reader = new Latin1Reader(new FileInputStream(file))) {
+            datenpaket.importFrom(reader, ForkJoinPool.commonPool());
+        }
+        return datenpaket;
+    }
+
+    /**
+     * Import ueber den {@link DatenpaketStreamer}, der die Saetze
+     * wiederverwendet.
+     *
+     * @return Anzahl der gelesenen Saetze
+     * @throws IOException bei Lesefehlern
+     */
+    @Benchmark
+    public long importStreamer() throws IOException {
+        try (DatenpaketStreamer streamer = new DatenpaketStreamer(new FileInputStream(file))) {
+            streamer.setRecycling(true);
+            return streamer.stream().count();
+        }
+    }
+
+}
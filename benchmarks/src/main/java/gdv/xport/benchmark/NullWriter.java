@@ -0,0 +1,69 @@
+/*
+ * Copyright (c) 2026 by Oli B.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * (c)reated 16.10.2026 by Oli B. (ob@aosd.de)
+ */
+
+package gdv.xport.benchmark;
+
+import java.io.Writer;
+
+/**
+ * Der NullWriter verwirft alle Zeichen. Damit misst ein Export- oder
+ * Formatter-Benchmark nur die Aufbereitung der Daten und nicht die
+ * Geschwindigkeit der Platte.
+ *
+ * @author oliver
+ * @since 3.1 (16.10.2026)
+ */
+final class NullWriter extends Writer {
+
+    private long count;
+
+    @Override
+    public void write(final int c) {
+        count++;
+    }
+
+    @Override
+    public void write(final char[] cbuf, final int off, final int len) {
+        count += len;
+    }
+
+    @Override
+    public void write(final String str, final int off, final int len) {
+        count += len;
+    }
+
+    @Override
+    public void flush() {
+        // nothing to flush
+    }
+
+    @Override
+    public void close() {
+        // nothing to close
+    }
+
+    /**
+     * Liefert die Anzahl der (verworfenen) Zeichen.
+     *
+     * @return Anzahl der geschriebenen Zeichen
+     */
+    public long getCount() {
+        return count;
+    }
+
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright (c) 2026 by Oli B.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * (c)reated 16.10.2026 by Oli B. (ob@aosd.de)
+ */
+
+package gdv.xport.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import gdv.xport.satz.Datensatz;
+import gdv.xport.satz.Satz;
+import gdv.xport.util.SatzFactory;
+
+/**
+ * Benchmarks fuer das Anlegen von Saetzen ueber die {@link SatzFactory}.
+ *
+ * @author oliver
+ * @since 3.1 (16.10.2026)
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class SatzFactoryBenchmark {
+
+    /**
+     * Adressteil (Satzart 0100).
+     *
+     * @return neuer Satz
+     */
+    @Benchmark
+    public Satz getSatz100() {
+        return SatzFactory.getSatz(100);
+    }
+
+    /**
+     * Vertragsspezifischer Teil fuer Kfz (Satzart 0210, Sparte 050).
+     *
+     * @return neuer Datensatz
+     */
+    @Benchmark
+    public Datensatz getDatensatz210Kfz() {
+        return SatzFactory.getDatensatz(210, 50);
+    }
+
+    /**
+     * Wagnisdaten fuer Leben (Satzart 0220, Sparte 010, Wagnisart 1).
+     *
+     * @return neuer Datensatz
+     */
+    @Benchmark
+    public Datensatz getDatensatz220Leben() {
+        return SatzFactory.getDatensatz(220, 10, 1);
+    }
+
+}
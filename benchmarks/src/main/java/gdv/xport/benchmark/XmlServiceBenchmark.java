@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) 2026 by Oli B.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * (c)reated 16.10.2026 by Oli B. (ob@aosd.de)
+ */
+
+package gdv.xport.benchmark;
+
+import java.io.InputStream;
+import java.util.concurrent.TimeUnit;
+
+import javax.xml.stream.XMLEventReader;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamException;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import gdv.xport.satz.xml.XmlService;
+
+/**
+ * Benchmarks fuer den {@link XmlService}: einmal das (teure) Parsen der
+ * XML-Beschreibung und einmal der Zugriff ueber den internen Cache von
+ * {@link XmlService#getInstance(String)}.
+ *
+ * @author oliver
+ * @since 3.1 (16.10.2026)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class XmlServiceBenchmark {
+
+    @Param({"VUVM2015.xml"})
+    private String resource;
+
+    /**
+     * Parst die XML-Beschreibung jedesmal neu.
+     *
+     * @return neuer XmlService
+     * @throws XMLStreamException falls die Resource nicht gelesen werden kann
+     */
+    @Benchmark
+    public XmlService parse() throws XMLStreamException {
+        InputStream istream = XmlService.class.getResourceAsStream(resource);
+        if (istream == null) {
+            throw new XMLStreamException("resource '" + resource + "' not found");
+        }
+        XMLEventReader parser = XMLInputFactory.newInstance().createXMLEventReader(istream);
+        try {
+            return new XmlService(parser);
+        } finally {
+            parser.close();
+        }
+    }
+
+    /**
+     * Liefert den XmlService ueber {@link XmlService#getInstance(String)}.
+     *
+     * @return (gecachter) XmlService
+     * @throws XMLStreamException falls die Resource nicht gelesen werden kann
+     */
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public XmlService getInstance() throws XMLStreamException {
+        return XmlService.getInstance(resource);
+    }
+
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright (c) 2026 by Oli B.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * (c)reated 17.10.2026 by Oli B. (ob@aosd.de)
+ */
+
+package gdv.xport.benchmark;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.File;
+import java.io.IOException;
+
+import org.junit.Test;
+
+import gdv.xport.Datenpaket;
+
+/**
+ * Unit-Tests fuer {@link DatenpaketGenerator}.
+ *
+ * @author oliver
+ * @since 3.1 (17.10.2026)
+ */
+public final class DatenpaketGeneratorTest {
+
+    private final DatenpaketGenerator generator;
+
+    /**
+     * Legt den Generator mit der Musterdatei als Vorlage an.
+     *
+     * @throws IOException falls die Musterdatei nicht gelesen werden kann
+     */
+    public DatenpaketGeneratorTest() throws IOException {
+        generator = new DatenpaketGenerator();
+    }
+
+    /**
+     * Eine erzeugte Datei mit mehrfach wiederholten Datensaetzen muss sich
+     * importieren lassen. Der Vorsatz der Musterdatei besteht aus zwei
+     * Teildatensaetzen, die nur einmal am Anfang stehen duerfen.
+     *
+     * @throws IOException bei Lese- oder Schreibfehlern
+     */
+    @Test
+    public void testCreateFile() throws IOException {
+        File file = generator.createFile(3);
+        Datenpaket datenpaket = new Datenpaket();
+        datenpaket.importFrom(file);
+        Datenpaket einfach = generator.createDatenpaket(1);
+        assertEquals(einfach.getDatensaetze().size() * 3, datenpaket.getDatensaetze().size());
+    }
+
+    /**
+     * Test-Methode fuer {@link DatenpaketGenerator#createDatenpaket(int)}.
+     *
+     * @throws IOException bei Lese- oder Schreibfehlern
+     */
+    @Test
+    public void testCreateDatenpaket() throws IOException {
+        Datenpaket einfach = generator.createDatenpaket(1);
+        Datenpaket dreifach = generator.createDatenpaket(3);
+        assertEquals(einfach.getDatensaetze().size() * 3, dreifach.getDatensaetze().size());
+    }
+
+}
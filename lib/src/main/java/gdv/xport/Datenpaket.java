@@ -18,16 +18,17 @@ import gdv.xport.feld.Datum;
 import gdv.xport.feld.Feld;
 import gdv.xport.io.*;
 import gdv.xport.satz.Datensatz;
+import gdv.xport.satz.FolgenummerPruefer;
 import gdv.xport.satz.Nachsatz;
 import gdv.xport.satz.Satz;
 import gdv.xport.satz.Vorsatz;
 import gdv.xport.satz.feld.common.TeildatensatzNummer;
 import gdv.xport.satz.feld.common.WagnisartLeben;
 import gdv.xport.util.SatzFactory;
+import gdv.xport.util.ShitHappenedException;
 import gdv.xport.util.SatzTyp;
 import gdv.xport.util.URLReader;
 import net.sf.oval.ConstraintViolation;
-import net.sf.oval.Validator;
 import net.sf.oval.constraint.AssertCheck;
 import net.sf.oval.context.ClassContext;
 import org.apache.logging.log4j.LogManager;
@@ -36,8 +37,11 @@ import org.apache.logging.log4j.Logger;
 import java.io.*;
 import java.net.URI;
 import java.net.URL;
+import java.nio.CharBuffer;
 import java.nio.charset.Charset;
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
 
 import static gdv.xport.feld.Bezeichner.*;
 
@@ -51,6 +55,9 @@ import static gdv.xport.feld.Bezeichner.*;
 public final class Datenpaket {
 
     private static final Logger LOG = LogManager.getLogger(Datenpaket.class);
+    private static final int IMPORT_CHUNK_SIZE = 1024;
+    private static final int IMPORT_THRESHOLD = 64;
+    private static final int VALIDATE_THRESHOLD = 64;
     private final Vorsatz vorsatz = new Vorsatz();
     private final List<Datensatz> datensaetze = new ArrayList<Datensatz>();
     private Nachsatz nachsatz = new Nachsatz();
@@ -173,7 +180,9 @@ public final class Datenpaket {
     }
 
     /**
-     * Export.
+     * Export. Bei ISO-8859-1 (der Default-Kodierung fuer GDV-Dateien) wird
+     * seit 3.1 ein {@link Latin1Writer} verwendet, der die Zeichen ohne
+     * CharsetEncoder direkt als Bytes schreibt.
      *
      * @param file     Datei, in die exportiert werden soll
      * @param encoding z.B. "ISO-8859-1"
@@ -181,7 +190,8 @@ public final class Datenpaket {
      * @since 1.0
      */
     public void export(final File file, final Charset encoding) throws IOException {
-        Writer writer = new OutputStreamWriter(new FileOutputStream(file), encoding);
+        Writer writer = Config.DEFAULT_ENCODING.equals(encoding) ? new Latin1Writer(new FileOutputStream(file))
+                : new OutputStreamWriter(new FileOutputStream(file), encoding);
         try {
             export(writer);
         } finally {
@@ -197,7 +207,7 @@ public final class Datenpaket {
      * @since 0.3
      */
     public void export(final OutputStream ostream) throws IOException {
-        Writer writer = new OutputStreamWriter(ostream, Config.DEFAULT_ENCODING);
+        Writer writer = new Latin1Writer(ostream);
         export(writer);
         writer.flush();
         ostream.flush();
@@ -318,18 +328,46 @@ public final class Datenpaket {
      * @throws IOException Signals that an I/O exception has occurred.
      */
     public static Satz importSatz(final PushbackLineNumberReader reader) throws IOException {
-        int satzart = Satz.readSatzart(reader);
-        LOG.debug("reading Satzart " + satzart + "...");
-        if (satzart == 9999) {
-            Nachsatz nachsatz = new Nachsatz();
-            nachsatz.importFrom(reader);
-            return nachsatz;
+        Satz satz = createSatz(reader);
+        satz.importFrom(reader);
+        return satz;
+    }
+
+    private static Satz createSatz(final PushbackLineNumberReader reader) throws IOException {
+        return createSatz(readSatzTyp(reader));
+    }
+
+    /**
+     * Legt den (noch leeren) Satz fuer den uebergebenen Satztyp an.
+     *
+     * @param satzTyp Satztyp, wie er von {@link #readSatzTyp(PushbackLineNumberReader)}
+     *        geliefert wird
+     * @return Nachsatz oder Datensatz
+     * @since 3.1
+     */
+    static Satz createSatz(final SatzTyp satzTyp) {
+        if (satzTyp.getSatzart() == 9999) {
+            return new Nachsatz();
         } else {
-            return importDatensatz(reader, satzart);
+            return SatzFactory.getDatensatz(satzTyp);
         }
     }
 
-    private static Datensatz importDatensatz(final PushbackLineNumberReader reader, final int satzart) throws IOException {
+    /**
+     * Ermittelt den Satztyp des naechsten Satzes, ohne ihn zu lesen. Satzart,
+     * Sparte usw. werden dazu wieder in den Reader zurueckgestellt.
+     *
+     * @param reader the reader
+     * @return Satztyp des naechsten Satzes
+     * @throws IOException Signals that an I/O exception has occurred.
+     * @since 3.1
+     */
+    static SatzTyp readSatzTyp(final PushbackLineNumberReader reader) throws IOException {
+        int satzart = Satz.readSatzart(reader);
+        LOG.debug("reading Satzart " + satzart + "...");
+        if (satzart == 9999) {
+            return new SatzTyp(satzart);
+        }
         int sparte = Datensatz.readSparte(reader);
         WagnisartLeben wagnisart = WagnisartLeben.NULL;
         TeildatensatzNummer teildatensatzNummer = TeildatensatzNummer.NULL;
@@ -342,10 +380,164 @@ public final class Datenpaket {
                 teildatensatzNummer = Datensatz.readTeildatensatzNummer(reader);
             }
         }
-        Datensatz satz = SatzFactory.getDatensatz(new SatzTyp(satzart, sparte, wagnisart
-                .getCode(), teildatensatzNummer.getCode()));
-        satz.importFrom(reader);
-        return satz;
+        return new SatzTyp(satzart, sparte, wagnisart.getCode(), teildatensatzNummer.getCode());
+    }
+
+    /**
+     * Importiert ein Datenpaket parallel ueber den angegebenen Fork-Join-Pool.
+     * Dabei werden nur das Erkennen der Satzgrenzen und das Einlesen der
+     * Teildatensaetze sequentiell ueber den Reader erledigt. Das eigentliche
+     * Befuellen der Felder erfolgt paketweise (jeweils
+     * {@value #IMPORT_CHUNK_SIZE} Datensaetze) parallel. Die Reihenfolge der
+     * Datensaetze bleibt dabei erhalten.
+     *
+     * @param reader hiervon wird importiert
+     * @param pool z.B. {@link ForkJoinPool#commonPool()}
+     * @throws IOException falls was schiefgelaufen ist
+     * @since 3.1
+     */
+    public void importFrom(final Reader reader, final ForkJoinPool pool) throws IOException {
+        PushbackLineNumberReader lnr = new PushbackLineNumberReader(new RecordReader(reader), 256);
+        List<ImportTask> tasks = new ArrayList<>();
+        boolean eingelesen = false;
+        try {
+            this.vorsatz.importFrom(lnr);
+            ImportTask task = new ImportTask();
+            while (true) {
+                Satz satz = createSatz(lnr);
+                // createSatz() hat fuehrende Zeilenumbrueche schon ueberlesen
+                int zeile = lnr.getLineNumber() + 1;
+                char[] teildatensaetze = satz.readTeildatensaetze(lnr);
+                if (satz.getSatzart() == 9999) {
+                    satz.importFrom(CharBuffer.wrap(teildatensaetze), 0);
+                    this.nachsatz = (Nachsatz) satz;
+                    break;
+                }
+                task.add((Datensatz) satz, teildatensaetze, zeile);
+                if (task.size() >= IMPORT_CHUNK_SIZE) {
+                    tasks.add(task);
+                    pool.execute(task);
+                    task = new ImportTask();
+                }
+            }
+            tasks.add(task);
+            pool.execute(task);
+            eingelesen = true;
+        } catch (EOFException eofe) {
+            throw new ExtendedEOFException("line " + lnr.getLineNumber() + ": " + eofe.getMessage(), eofe);
+        } catch (IOException ioe) {
+            throw new ImportException(lnr, "read error", ioe);
+        } catch (NumberFormatException nfe) {
+            throw new ImportException(lnr, "number expected, but found: \"" + lnr.readLine() + '"', nfe);
+        } finally {
+            if (!eingelesen) {
+                cancel(tasks);
+            }
+        }
+        // Hier wird bewusst nicht add() verwendet: der Nachsatz wurde bereits
+        // mitsamt der Anzahl der Saetze importiert und darf nicht nochmal
+        // hochgezaehlt werden (beim sequentiellen Import zaehlt add() nur den
+        // alten Nachsatz hoch, der anschliessend ersetzt wird).
+        for (ImportTask task : tasks) {
+            try {
+                this.datensaetze.addAll(task.join());
+            } catch (ShitHappenedException ex) {
+                cancel(tasks);
+                throw getImportException(ex);
+            }
+        }
+    }
+
+    /**
+     * Bricht die bereits gestarteten Import-Aufgaben ab, wenn der Import
+     * fehlschlaegt. Bereits fertige Aufgaben sind davon nicht betroffen.
+     */
+    private static void cancel(final List<ImportTask> tasks) {
+        for (ImportTask task : tasks) {
+            task.cancel(false);
+        }
+    }
+
+    /**
+     * Sucht die urspruengliche {@link ImportException}. Wurde die Exception
+     * in einem anderen Thread geworfen, liefert
+     * {@link java.util.concurrent.ForkJoinTask#join()} u.U. eine neu
+     * erzeugte Exception, deren Ursache erst die urspruengliche Exception
+     * ist.
+     */
+    private static ImportException getImportException(final ShitHappenedException ex) {
+        for (Throwable cause = ex.getCause(); cause != null; cause = cause.getCause()) {
+            if (cause instanceof ImportException) {
+                return (ImportException) cause;
+            }
+        }
+        return new ImportException(ex.getMessage(), ex);
+    }
+
+    /**
+     * Importiert die Felder der gesammelten Datensaetze. Ab
+     * {@value #IMPORT_THRESHOLD} Datensaetzen wird die Arbeit aufgeteilt.
+     */
+    private static final class ImportTask extends RecursiveTask<List<Datensatz>> {
+
+        private static final long serialVersionUID = 20261016L;
+        private final List<Datensatz> saetze;
+        private final List<char[]> inhalte;
+        private final List<Integer> zeilen;
+
+        ImportTask() {
+            this(new ArrayList<Datensatz>(IMPORT_CHUNK_SIZE), new ArrayList<char[]>(IMPORT_CHUNK_SIZE),
+                    new ArrayList<Integer>(IMPORT_CHUNK_SIZE));
+        }
+
+        private ImportTask(final List<Datensatz> saetze, final List<char[]> inhalte, final List<Integer> zeilen) {
+            this.saetze = saetze;
+            this.inhalte = inhalte;
+            this.zeilen = zeilen;
+        }
+
+        void add(final Datensatz satz, final char[] teildatensaetze, final int zeile) {
+            saetze.add(satz);
+            inhalte.add(teildatensaetze);
+            zeilen.add(zeile);
+        }
+
+        int size() {
+            return saetze.size();
+        }
+
+        @Override
+        protected List<Datensatz> compute() {
+            int n = saetze.size();
+            if (n > IMPORT_THRESHOLD) {
+                int mid = n / 2;
+                invokeAll(new ImportTask(saetze.subList(0, mid), inhalte.subList(0, mid), zeilen.subList(0, mid)),
+                        new ImportTask(saetze.subList(mid, n), inhalte.subList(mid, n), zeilen.subList(mid, n)));
+            } else {
+                for (int i = 0; i < n; i++) {
+                    importSatz(saetze.get(i), inhalte.get(i), zeilen.get(i));
+                }
+            }
+            return saetze;
+        }
+
+        /**
+         * Die Zeilennummer (der ersten Zeile des Satzes) wird mit in die
+         * {@link ImportException} aufgenommen, da der Reader beim Import schon
+         * viel weiter ist.
+         */
+        private static void importSatz(final Datensatz satz, final char[] teildatensaetze, final int zeile) {
+            try {
+                satz.importFrom(CharBuffer.wrap(teildatensaetze), 0);
+            } catch (IOException ioe) {
+                String msg = "line " + zeile + ": can't import " + satz.toShortString();
+                throw new ShitHappenedException(msg, new ImportException(msg, ioe));
+            } catch (NumberFormatException nfe) {
+                String msg = "line " + zeile + ": number expected in " + satz.toShortString();
+                throw new ShitHappenedException(msg, new ImportException(msg, nfe));
+            }
+        }
+
     }
 
     /**
@@ -372,7 +564,11 @@ public final class Datenpaket {
     }
 
     /**
-     * Importieren einer Datei.
+     * Importieren einer Datei. Ist die Datei ISO-8859-1-kodiert (das
+     * Standard-Encoding fuer GDV-Dateien), wird sie seit 3.1 ueber einen
+     * {@link MappedFileReader} in den Speicher eingeblendet. Damit entfaellt
+     * das Dekodieren ueber einen {@link java.nio.charset.CharsetDecoder}; die
+     * Saetze werden aber weiterhin zeichenweise gelesen.
      *
      * @param file     Import-Datei
      * @param encoding z.B. "ISO-8859-1"
@@ -380,7 +576,8 @@ public final class Datenpaket {
      * @since 1.0
      */
     public void importFrom(final File file, final Charset encoding) throws IOException {
-        Reader reader = new InputStreamReader(new FileInputStream(file), encoding);
+        Reader reader = Config.DEFAULT_ENCODING.equals(encoding) ? new MappedFileReader(file)
+                : new InputStreamReader(new FileInputStream(file), encoding);
         try {
             this.importFrom(reader);
         } finally {
@@ -538,9 +735,7 @@ public final class Datenpaket {
      * @return Liste der ConstraintViolations
      */
     public List<ConstraintViolation> validate() {
-        Validator validator = new Validator();
-        List<ConstraintViolation> violations = validator.validate(this);
-        violations.addAll(validateVUNummer());
+        List<ConstraintViolation> violations = validateVUNummer();
         violations.addAll(this.vorsatz.validate());
         for (Satz datensatz : this.datensaetze) {
             violations.addAll(datensatz.validate());
@@ -550,6 +745,65 @@ public final class Datenpaket {
         return violations;
     }
 
+    /**
+     * Validiert die einzelnen Saetze parallel ueber den angegebenen
+     * Fork-Join-Pool. Die Datensaetze werden dabei unabhaengig voneinander
+     * geprueft (ab {@value #VALIDATE_THRESHOLD} Datensaetzen wird die Arbeit
+     * aufgeteilt), waehrend die Pruefungen ueber mehrere Saetze hinweg
+     * (VU-Nummer und Folgenummern) im aufrufenden Thread erfolgen. Die
+     * Reihenfolge der ConstraintViolations entspricht der von
+     * {@link #validate()}.
+     *
+     * @param pool z.B. {@link ForkJoinPool#commonPool()}
+     * @return Liste der ConstraintViolations
+     * @since 3.1
+     */
+    public List<ConstraintViolation> validate(final ForkJoinPool pool) {
+        ValidateTask task = new ValidateTask(this.datensaetze);
+        pool.execute(task);
+        List<ConstraintViolation> violations = validateVUNummer();
+        violations.addAll(this.vorsatz.validate());
+        List<ConstraintViolation> folgenummern = this.validateFolgenummern();
+        violations.addAll(task.join());
+        violations.addAll(folgenummern);
+        violations.addAll(this.nachsatz.validate());
+        return violations;
+    }
+
+    /**
+     * Validiert die uebergebenen Datensaetze. Das Ergebnis der beiden
+     * Haelften wird in der urspruenglichen Reihenfolge zusammengefuegt.
+     */
+    private static final class ValidateTask extends RecursiveTask<List<ConstraintViolation>> {
+
+        private static final long serialVersionUID = 20261016L;
+        private final List<Datensatz> saetze;
+
+        ValidateTask(final List<Datensatz> saetze) {
+            this.saetze = saetze;
+        }
+
+        @Override
+        protected List<ConstraintViolation> compute() {
+            int n = saetze.size();
+            if (n > VALIDATE_THRESHOLD) {
+                int mid = n / 2;
+                ValidateTask links = new ValidateTask(saetze.subList(0, mid));
+                ValidateTask rechts = new ValidateTask(saetze.subList(mid, n));
+                invokeAll(links, rechts);
+                List<ConstraintViolation> violations = links.join();
+                violations.addAll(rechts.join());
+                return violations;
+            }
+            List<ConstraintViolation> violations = new ArrayList<ConstraintViolation>();
+            for (Datensatz satz : saetze) {
+                violations.addAll(satz.validate());
+            }
+            return violations;
+        }
+
+    }
+
     private List<ConstraintViolation> validateVUNummer() {
         List<ConstraintViolation> violations = new ArrayList<ConstraintViolation>();
         if (Config.DUMMY_VU_NUMMER.equals(this.getVuNummer())) {
@@ -573,28 +827,9 @@ public final class Datenpaket {
      */
     private List<ConstraintViolation> validateFolgenummern() {
         List<ConstraintViolation> violations = new ArrayList<ConstraintViolation>();
-        Map<String, Integer> folgenummern = new HashMap<String, Integer>();
+        FolgenummerPruefer pruefer = new FolgenummerPruefer(this.getClass());
         for (Datensatz datensatz : this.datensaetze) {
-            String nr = datensatz.getVersicherungsscheinNummer().trim();
-            String key = nr + datensatz.getSatzartFeld().getInhalt()
-                    + datensatz.getSparteFeld().getInhalt();
-            Integer expected = folgenummern.get(key);
-            if (expected == null) {
-                expected = 1;
-                folgenummern.put(key, expected);
-            }
-            int folgenr = datensatz.getFolgenummer();
-            if (folgenr == expected) {
-                continue;
-            }
-            expected++;
-            folgenummern.put(key, expected);
-            if (folgenr != expected) {
-                ConstraintViolation cv = new ConstraintViolation(new AssertCheck(),
-                        "falsche Folgenummer (erwartet: " + expected + ")", datensatz, folgenr,
-                        new ClassContext(this.getClass()));
-                violations.add(cv);
-            }
+            pruefer.pruefe(datensatz, violations);
         }
         return violations;
     }
@@ -13,31 +13,63 @@ package gdv.xport;
 
 import gdv.xport.config.Config;
 import gdv.xport.event.ImportListener;
+import gdv.xport.feld.Bezeichner;
+import gdv.xport.feld.Feld;
+import gdv.xport.io.ImportException;
 import gdv.xport.io.PushbackLineNumberReader;
 import gdv.xport.io.RecordReader;
 import gdv.xport.io.RecyclingInputStreamReader;
+import gdv.xport.satz.Datensatz;
 import gdv.xport.satz.Satz;
+import gdv.xport.satz.Teildatensatz;
 import gdv.xport.satz.Vorsatz;
+import gdv.xport.util.SatzTyp;
 
+import java.io.Closeable;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.CharBuffer;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Im Gegensatz zur {@link Datenpaket}-Klasse wird hier ein Datenpaket nicht
  * komplett in den Speicher geladen, sondern satzweise gelesen und anschliessend
  * verworfen. Vorher werden noch die angemeldeten Listener informiert, damit
  * diese die Daten verarbeiten (z.B. exportieren) koennen.
+ * <p>
+ * Alternativ zu den Listenern koennen die Saetze seit 3.1 auch ueber
+ * {@link #iterator()} oder {@link #stream()} abgeholt werden. Auch dabei wird
+ * immer nur der aktuelle Satz im Speicher gehalten:
+ * </p>
+ * <pre>
+ * try (DatenpaketStreamer streamer = new DatenpaketStreamer(istream)) {
+ *     long n = streamer.stream().filter(...).count();
+ * }
+ * </pre>
  *
  * @author oliver
  * @since 1.0
  */
-public class DatenpaketStreamer {
+public class DatenpaketStreamer implements Closeable {
 
     private final PushbackLineNumberReader reader;
     private final List<ImportListener> importListener = new ArrayList<ImportListener>();
+    private final Map<SatzTyp, RecycledSatz> recycledSaetze = new HashMap<SatzTyp, RecycledSatz>();
+    private boolean recycling = false;
+    private RecycledSatz recycledVorsatz;
+    private char[] readBuffer = new char[0];
+    private CharBuffer readView = CharBuffer.wrap(readBuffer);
 
     /**
      * Legt einen neuen {@link DatenpaketStreamer} an.
@@ -66,6 +98,40 @@ public class DatenpaketStreamer {
         this.importListener.add(listener);
     }
 
+    /**
+     * Im Recycling-Modus wird pro Satztyp immer wieder die gleiche
+     * Satz-Instanz verwendet und beim Lesen nur neu befuellt. Damit entfaellt
+     * das Anlegen der Saetze mit ihren Teildatensaetzen und Feldern. Auch der
+     * Puffer, in den die Teildatensaetze eingelesen werden, wird dabei
+     * wiederverwendet.
+     * <p>
+     * Achtung: der an die Listener (bzw. ueber den {@link #iterator()})
+     * uebergebene Satz ist nur bis zum Lesen des naechsten Satzes gueltig
+     * und darf nicht aufgehoben werden. Wer ihn laenger braucht, muss sich
+     * eine Kopie anlegen.
+     * </p>
+     * <p>
+     * Saetze, die beim Import ihre Teildatensaetze neu aufbauen (wie z.B.
+     * {@link gdv.xport.satz.model.Satz220} fuer Sparte 30 und 40) oder nicht
+     * benoetigte Teildatensaetze entfernen, bekommen vor dem naechsten
+     * Einlesen wieder ihre urspruenglichen Teildatensaetze und werden damit
+     * ebenfalls wiederverwendet. Nur die beim Import neu angelegten
+     * Teildatensaetze werden dabei jedesmal neu erzeugt.
+     * </p>
+     *
+     * @param recycling true, wenn Saetze wiederverwendet werden sollen
+     * @since 3.1
+     */
+    public void setRecycling(final boolean recycling) {
+        this.recycling = recycling;
+        if (!recycling) {
+            this.recycledSaetze.clear();
+            this.recycledVorsatz = null;
+            this.readBuffer = new char[0];
+            this.readView = CharBuffer.wrap(readBuffer);
+        }
+    }
+
     /**
      * Hiermit wird ein einzelnes Datenpaket gelesen und die verschiedenen
      * Listener ueber den jeweils importierten Satz informiert. Damit koennen
@@ -74,9 +140,9 @@ public class DatenpaketStreamer {
      * @throws IOException Signals that an I/O exception has occurred.
      */
     public void readDatenpaket() throws IOException {
-        readVorsatz();
+        notice(readVorsatz());
         while (true) {
-            Satz satz = Datenpaket.importSatz(reader);
+            Satz satz = readSatz();
             notice(satz);
             if (satz.getSatzart() == 9999) {
                 break;
@@ -84,10 +150,53 @@ public class DatenpaketStreamer {
         }
     }
 
-    private void readVorsatz() throws IOException {
-        Vorsatz vorsatz = new Vorsatz();
-        vorsatz.importFrom(reader);
-        notice(vorsatz);
+    private Satz readVorsatz() throws IOException {
+        if (!this.recycling) {
+            Vorsatz vorsatz = new Vorsatz();
+            vorsatz.importFrom(reader);
+            return vorsatz;
+        }
+        RecycledSatz recycled = this.recycledVorsatz;
+        if (recycled == null) {
+            recycled = new RecycledSatz(new Vorsatz());
+        } else {
+            recycled.reset();
+        }
+        importFrom(recycled);
+        this.recycledVorsatz = recycled;
+        return recycled.satz;
+    }
+
+    private Satz readSatz() throws IOException {
+        if (!this.recycling) {
+            return Datenpaket.importSatz(reader);
+        }
+        SatzTyp satzTyp = Datenpaket.readSatzTyp(reader);
+        RecycledSatz recycled = this.recycledSaetze.get(satzTyp);
+        if (recycled == null) {
+            recycled = new RecycledSatz(Datenpaket.createSatz(satzTyp));
+        } else {
+            recycled.reset();
+        }
+        importFrom(recycled);
+        this.recycledSaetze.put(satzTyp, recycled);
+        return recycled.satz;
+    }
+
+    /**
+     * Liest die Teildatensaetze in den wiederverwendeten Puffer ein und
+     * importiert sie von dort in den Satz.
+     */
+    private void importFrom(final RecycledSatz recycled) throws IOException {
+        int size = 257 * recycled.teildatensaetze.size();
+        if (readBuffer.length < size) {
+            readBuffer = new char[size];
+            readView = CharBuffer.wrap(readBuffer);
+        }
+        int length = recycled.satz.readTeildatensaetze(reader, readBuffer);
+        readView.clear();
+        readView.limit(length);
+        recycled.satz.importFrom(readView, 0);
     }
 
     private void notice(Satz satz) {
@@ -96,4 +205,166 @@ public class DatenpaketStreamer {
         }
     }
 
+    /**
+     * Liefert die Saetze des Datenpakets (Vorsatz, Datensaetze und
+     * Nachsatz) einzeln zurueck. Der naechste Satz wird erst gelesen, wenn
+     * er angefordert wird. Registrierte Listener werden dabei ebenfalls
+     * informiert. Lesefehler werden als {@link UncheckedIOException}
+     * weitergereicht.
+     *
+     * @return Iterator ueber die Saetze eines Datenpakets
+     * @since 3.1
+     */
+    public Iterator<Satz> iterator() {
+        return new SatzIterator();
+    }
+
+    /**
+     * Liefert die Saetze des Datenpakets als (sequentiellen) {@link Stream}.
+     * Wird der Stream geschlossen, wird auch der zugrundeliegende Reader
+     * geschlossen.
+     *
+     * @return Stream mit Vorsatz, Datensaetzen und Nachsatz
+     * @since 3.1
+     * @see #iterator()
+     */
+    public Stream<Satz> stream() {
+        Spliterator<Satz> spliterator = Spliterators.spliteratorUnknownSize(this.iterator(),
+                Spliterator.ORDERED | Spliterator.NONNULL);
+        return StreamSupport.stream(spliterator, false).onClose(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    close();
+                } catch (IOException ioe) {
+                    throw new UncheckedIOException(ioe);
+                }
+            }
+        });
+    }
+
+    /**
+     * Schliesst den zugrundeliegenden Reader.
+     *
+     * @throws IOException Signals that an I/O exception has occurred.
+     * @since 3.1
+     */
+    @Override
+    public void close() throws IOException {
+        this.reader.close();
+    }
+
+    /**
+     * Ein wiederverwendbarer Satz merkt sich seine Teildatensaetze und die
+     * Kennfelder (Sparte, Wagnisart und Teildatensatz-Nummer), die er beim
+     * Anlegen hatte. Beim
+     * Erkennen der Teildatensaetze wird der aktuelle Inhalt dieser Felder
+     * beruecksichtigt, deswegen muessen sie vor dem naechsten Einlesen wieder
+     * zurueckgesetzt werden. Alle anderen Felder werden beim Import ohnehin
+     * komplett ueberschrieben.
+     */
+    private static final class RecycledSatz {
+
+        private final Satz satz;
+        private final List<Teildatensatz> teildatensaetze;
+        private final int sparte;
+        private final Feld wagnisart;
+        private final String initialWagnisart;
+        private final String initialTeildatensatzNummer;
+
+        RecycledSatz(final Satz satz) {
+            this.satz = satz;
+            this.teildatensaetze = new ArrayList<Teildatensatz>(satz.getTeildatensaetze());
+            this.sparte = ((satz instanceof Datensatz) && satz.hasSparte()) ? satz.getSparte() : -1;
+            this.wagnisart = satz.hasWagnisart() ? satz.getFeld(Bezeichner.WAGNISART) : null;
+            this.initialWagnisart = (wagnisart == null) ? null : wagnisart.getInhalt();
+            this.initialTeildatensatzNummer =
+                    (satz instanceof Datensatz) ? ((Datensatz) satz).getTeildatensatzNummer() : null;
+        }
+
+        private boolean hasSameTeildatensaetze() {
+            List<Teildatensatz> current = satz.getTeildatensaetze();
+            if (current.size() != teildatensaetze.size()) {
+                return false;
+            }
+            for (int i = 0; i < current.size(); i++) {
+                if (current.get(i) != teildatensaetze.get(i)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * Wurden beim letzten Import Teildatensaetze entfernt oder neu
+         * angelegt (wie bei Satz220), werden vorher wieder die
+         * urspruenglichen Teildatensaetze eingesetzt.
+         */
+        void reset() {
+            if (!hasSameTeildatensaetze()) {
+                satz.removeAllTeildatensaetze();
+                for (Teildatensatz tds : teildatensaetze) {
+                    satz.add(tds);
+                }
+            }
+            if (sparte >= 0) {
+                ((Datensatz) satz).setSparte(sparte);
+            }
+            if (wagnisart != null) {
+                wagnisart.setInhalt(initialWagnisart);
+            }
+            if (initialTeildatensatzNummer != null) {
+                ((Datensatz) satz).setTeildatensatzNummer(initialTeildatensatzNummer);
+            }
+        }
+
+    }
+
+    /**
+     * Der SatzIterator liest immer nur einen Satz im voraus.
+     */
+    private final class SatzIterator implements Iterator<Satz> {
+
+        private Satz next;
+        private boolean vorsatzRead = false;
+        private boolean finished = false;
+
+        @Override
+        public boolean hasNext() {
+            if ((next == null) && !finished) {
+                next = readNext();
+            }
+            return next != null;
+        }
+
+        @Override
+        public Satz next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException("Nachsatz already read");
+            }
+            Satz satz = next;
+            next = null;
+            return satz;
+        }
+
+        private Satz readNext() {
+            try {
+                Satz satz;
+                if (vorsatzRead) {
+                    satz = readSatz();
+                    finished = satz.getSatzart() == 9999;
+                } else {
+                    satz = readVorsatz();
+                    vorsatzRead = true;
+                }
+                notice(satz);
+                return satz;
+            } catch (IOException ioe) {
+                finished = true;
+                throw new UncheckedIOException(new ImportException(reader, "read error", ioe));
+            }
+        }
+
+    }
+
 }
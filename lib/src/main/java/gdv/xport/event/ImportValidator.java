@@ -0,0 +1,165 @@
+/*
+ * Copyright (c) 2026 by Oli B.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * (c)reated 16.10.2026 by Oli B. (ob@aosd.de)
+ */
+
+
+package gdv.xport.event;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import gdv.xport.Datenpaket;
+import gdv.xport.config.Config;
+import gdv.xport.satz.Datensatz;
+import gdv.xport.satz.FolgenummerPruefer;
+import gdv.xport.satz.Satz;
+import gdv.xport.satz.SatzValidator;
+import gdv.xport.satz.Vorsatz;
+import net.sf.oval.ConstraintViolation;
+import net.sf.oval.constraint.AssertCheck;
+import net.sf.oval.context.ClassContext;
+import net.sf.oval.exception.ConstraintsViolatedException;
+
+/**
+ * Der ImportValidator validiert die Saetze bereits beim Einlesen ueber den
+ * {@link gdv.xport.DatenpaketStreamer}, ohne dass dazu das komplette
+ * {@link Datenpaket} im Speicher gehalten werden muss. Neben den einzelnen
+ * Saetzen werden auch die VU-Nummer im Vorsatz und die Folgenummern der
+ * Datensaetze geprueft - wie bei {@link Datenpaket#validate()}.
+ * <p>
+ * Ueber 'maxViolations' laesst sich festlegen, nach wievielen Verletzungen
+ * abgebrochen wird. Dazu wirft {@link #notice(Satz)} eine
+ * {@link ConstraintsViolatedException}, die das Einlesen beendet:
+ * </p>
+ * <pre>
+ * DatenpaketStreamer streamer = new DatenpaketStreamer(istream);
+ * streamer.register(ImportValidator.failFast());
+ * try {
+ *     streamer.readDatenpaket();
+ * } catch (ConstraintsViolatedException ex) {
+ *     ...
+ * }
+ * </pre>
+ * <p>
+ * Achtung: im Recycling-Modus des Streamers verweisen die gesammelten
+ * Verletzungen auf Saetze, die beim Lesen des naechsten Satzes neu
+ * befuellt werden.
+ * </p>
+ *
+ * @author oliver
+ * @since 3.1 (16.10.2026)
+ */
+public final class ImportValidator implements ImportListener {
+
+    private final List<ConstraintViolation> violations = new ArrayList<ConstraintViolation>();
+    private final int maxViolations;
+    private FolgenummerPruefer folgenummern = new FolgenummerPruefer(Datenpaket.class);
+
+    /**
+     * Legt einen ImportValidator an, der alle Verletzungen sammelt und nie
+     * abbricht.
+     */
+    public ImportValidator() {
+        this(Integer.MAX_VALUE);
+    }
+
+    /**
+     * Legt einen ImportValidator an, der abbricht, sobald die angegebene
+     * Anzahl an Verletzungen erreicht ist.
+     *
+     * @param maxViolations Anzahl der Verletzungen, ab der abgebrochen wird
+     */
+    public ImportValidator(final int maxViolations) {
+        if (maxViolations < 1) {
+            throw new IllegalArgumentException("maxViolations=" + maxViolations + " must be >= 1");
+        }
+        this.maxViolations = maxViolations;
+    }
+
+    /**
+     * Liefert einen ImportValidator, der bereits bei der ersten Verletzung
+     * abbricht.
+     *
+     * @return ImportValidator mit 'maxViolations' = 1
+     */
+    public static ImportValidator failFast() {
+        return new ImportValidator(1);
+    }
+
+    /**
+     * Validiert den uebergebenen Satz. Mit einem neuen Vorsatz beginnt auch
+     * die Pruefung der Folgenummern von vorne.
+     *
+     * @param satz der importierte Satz
+     * @throws ConstraintsViolatedException falls die maximale Anzahl an
+     *         Verletzungen erreicht ist
+     * @see ImportListener#notice(gdv.xport.satz.Satz)
+     */
+    @Override
+    public void notice(final Satz satz) throws ConstraintsViolatedException {
+        if (satz instanceof Vorsatz) {
+            this.folgenummern = new FolgenummerPruefer(Datenpaket.class);
+            validateVUNummer((Vorsatz) satz);
+        }
+        SatzValidator.validate(satz, this.violations);
+        if (satz instanceof Datensatz) {
+            this.folgenummern.pruefe((Datensatz) satz, this.violations);
+        }
+        if (this.violations.size() >= this.maxViolations) {
+            throw new ConstraintsViolatedException(new ArrayList<ConstraintViolation>(
+                    this.violations.subList(0, this.maxViolations)));
+        }
+    }
+
+    private void validateVUNummer(final Vorsatz vorsatz) {
+        if (Config.DUMMY_VU_NUMMER.equals(vorsatz.getVuNummer())) {
+            ConstraintViolation cv = new ConstraintViolation(new AssertCheck(), "VU-Nummer is not set", vorsatz,
+                    Config.DUMMY_VU_NUMMER, new ClassContext(Datenpaket.class));
+            this.violations.add(cv);
+        }
+    }
+
+    /**
+     * Liefert die bisher gefundenen Verletzungen.
+     *
+     * @return nicht veraenderbare Liste der ConstraintViolations
+     */
+    public List<ConstraintViolation> getViolations() {
+        return Collections.unmodifiableList(this.violations);
+    }
+
+    /**
+     * Liefert 'true', solange keine Verletzung gefunden wurde.
+     *
+     * @return true/false
+     */
+    public boolean isValid() {
+        return this.violations.isEmpty();
+    }
+
+    /**
+     * Gibt die Anzahl der gefundenen Verletzungen aus.
+     *
+     * @see java.lang.Object#toString()
+     */
+    @Override
+    public String toString() {
+        return this.getClass().getSimpleName() + " with " + this.violations.size() + " violation(s)";
+    }
+
+}
@@ -20,6 +20,8 @@ package gdv.xport.feld;
 
 import gdv.xport.annotation.FeldInfo;
 
+import java.math.BigDecimal;
+
 /**
  * Standardmaessig hat das Beitrags-Feld 12,2 Stellen (12 Vorkommastellen +
  * 2 Nachkommastellen.
@@ -114,7 +116,30 @@ public class Betrag extends NumFeld {
 
     @Override
     public double toDouble() {
-        return super.toInt() / 100.0;
+        return this.toCent() / 100.0;
+    }
+
+    /**
+     * Liefert den Betrag exakt in Cent (bzw. in der kleinsten
+     * Waehrungseinheit). Der Inhalt wird dazu direkt gelesen, ohne einen
+     * String oder ein Double anzulegen.
+     *
+     * @return Betrag in Cent
+     * @since 3.1
+     */
+    public long toCent() {
+        return this.parseLong(0, this.getAnzahlBytes());
+    }
+
+    /**
+     * Liefert den Betrag als exakten Dezimalwert mit 2 Nachkommastellen.
+     *
+     * @return Betrag als BigDecimal
+     * @since 3.1
+     */
+    @Override
+    public BigDecimal toBigDecimal() {
+        return BigDecimal.valueOf(this.toCent(), 2);
     }
 
     /* (non-Javadoc)
@@ -100,8 +100,7 @@ public final class BetragMitVorzeichen extends Betrag {
      * @return '+' oder '-'
      */
     public char getVorzeichen() {
-        String s = this.getInhalt();
-        return s.charAt(s.length() - 1);
+        return this.charAt(this.getAnzahlBytes() - 1);
     }
 
     /*
@@ -145,9 +144,7 @@ public final class BetragMitVorzeichen extends Betrag {
      */
     @Override
     public double toDouble() {
-        String s = this.getInhalt();
-        double x = Integer.parseInt(s.substring(0, s.length() - 1)) / 100.0;
-        return (this.getVorzeichen() == '-') ? -x : x;
+        return this.toCent() / 100.0;
     }
 
     /* (non-Javadoc)
@@ -155,9 +152,7 @@ public final class BetragMitVorzeichen extends Betrag {
      */
     @Override
     public int toInt() {
-        String s = this.getInhalt();
-        int x = Integer.parseInt(s.substring(0, s.length() - 1)) / 100;
-        return (this.getVorzeichen() == '-') ? -x : x;
+        return toInt(this.toLong());
     }
 
     /* (non-Javadoc)
@@ -165,8 +160,19 @@ public final class BetragMitVorzeichen extends Betrag {
      */
     @Override
     public long toLong() {
-        String s = this.getInhalt();
-        long x = Long.parseLong(s.substring(0, s.length() - 1)) / 100;
+        return this.toCent() / 100;
+    }
+
+    /**
+     * Liefert den Betrag exakt in Cent. Das Vorzeichen an der letzten
+     * Stelle wird dabei beruecksichtigt.
+     *
+     * @return Betrag in Cent (negativ bei Vorzeichen '-')
+     * @since 3.1
+     */
+    @Override
+    public long toCent() {
+        long x = this.parseLong(0, this.getAnzahlBytes() - 1);
         return (this.getVorzeichen() == '-') ? -x : x;
     }
 
@@ -26,8 +26,11 @@ import org.apache.logging.log4j.Logger;
 
 import java.lang.reflect.Field;
 import java.util.HashMap;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * Diese Klasse enthaelt die Namen der einzelnen Felder. Die Konstanten sind
@@ -52,6 +55,8 @@ public final class Bezeichner {
 
     private static final Logger LOG = LogManager.getLogger(Bezeichner.class);
     private static final Map<String, String> MAPPING = new HashMap<>();
+    /** Die verwendeten Konstanten und die Bezeichner aus den XML-Beschreibungen. */
+    private static final ConcurrentMap<String, Bezeichner> REGISTRY = new ConcurrentHashMap<>();
 
     /////////// Bezeichner-Konstanten (alphabetisch geordnet) /////////////////
 
@@ -930,6 +935,7 @@ public final class Bezeichner {
 
     private final String name;
     private final String technischerName;
+    private final String key;
     private final int hash;
 
     // Mapping fuer manche Bezeichner (Name <--> technischer Name)
@@ -981,7 +987,75 @@ public final class Bezeichner {
     public Bezeichner(final String name, final String technischerName) {
         this.name = name;
         this.technischerName = StringUtils.isEmpty(technischerName) ? toTechnischerName(name) : technischerName;
-        this.hash = this.technischerName.toUpperCase().hashCode();
+        this.key = this.technischerName.toUpperCase();
+        this.hash = this.key.hashCode();
+    }
+
+    /**
+     * Liefert den Bezeichner mit dem gewuenschten Namen. Gibt es eine
+     * (gleiche) Konstante oder einen Bezeichner aus den XML-Beschreibungen
+     * (siehe {@link #of(String, String)}) mit diesem Namen, wird immer
+     * diese Instanz zurueckgeliefert. Fuer alle anderen Namen wird ein neuer
+     * Bezeichner angelegt, der nicht gemerkt wird - sonst wuerde jeder
+     * (fehlerhafte) Name, der z.B. ueber {@link gdv.xport.satz.Satz#get(String)}
+     * hereinkommt, dauerhaft Speicher belegen.
+     * <p>
+     * Da der Vergleich zweier identischer Bezeichner nur einen
+     * Referenz-Vergleich benoetigt, sollte diese Methode fuer haeufig
+     * verwendete Bezeichner dem Konstruktor vorgezogen werden.
+     * </p>
+     *
+     * @param name der gewuenschte Name
+     * @return der (gemeinsam genutzte) Bezeichner
+     * @since 3.1
+     */
+    public static Bezeichner of(final String name) {
+        Bezeichner bezeichner = REGISTRY.get(name);
+        if (bezeichner != null) {
+            return bezeichner;
+        }
+        bezeichner = new Bezeichner(name);
+        Bezeichner konstante = Konstanten.BY_NAME.get(name);
+        if ((konstante != null) && konstante.technischerName.equals(bezeichner.technischerName)) {
+            return register(name, konstante);
+        }
+        return bezeichner;
+    }
+
+    /**
+     * Liefert den Bezeichner mit dem gewuenschten Namen und technischen
+     * Namen. Diese Methode ist fuer die Bezeichner aus den
+     * XML-Beschreibungen gedacht: anders als bei {@link #of(String)} wird
+     * hier jeder Bezeichner gemerkt und fuer gleiche Werte immer dieselbe
+     * Instanz zurueckgeliefert. Entspricht der technische Name dem, der
+     * sich aus dem Namen ergibt, liefert auch {@link #of(String)} diese
+     * Instanz.
+     *
+     * @param name der gewuenschte Name
+     * @param technischerName der entsprechende technische Name
+     * @return der (gemeinsam genutzte) Bezeichner
+     * @since 3.1
+     */
+    public static Bezeichner of(final String name, final String technischerName) {
+        String registryKey = StringUtils.isEmpty(technischerName) ? name : name + '\u0000' + technischerName;
+        Bezeichner bezeichner = REGISTRY.get(registryKey);
+        if (bezeichner == null) {
+            Bezeichner neu = new Bezeichner(name, technischerName);
+            Bezeichner konstante = Konstanten.BY_NAME.get(name);
+            if ((konstante != null) && konstante.technischerName.equals(neu.technischerName)) {
+                neu = konstante;
+            }
+            bezeichner = register(registryKey, neu);
+            if (!registryKey.equals(name) && bezeichner.technischerName.equals(toTechnischerName(name))) {
+                register(name, bezeichner);
+            }
+        }
+        return bezeichner;
+    }
+
+    private static Bezeichner register(final String registryKey, final Bezeichner bezeichner) {
+        Bezeichner registered = REGISTRY.putIfAbsent(registryKey, bezeichner);
+        return (registered == null) ? bezeichner : registered;
     }
 
     private static String toTechnischerName(final String input) {
@@ -1083,11 +1157,14 @@ public final class Bezeichner {
      */
     @Override
     public boolean equals(final Object obj) {
+        if (this == obj) {
+            return true;
+        }
         if (!(obj instanceof Bezeichner)) {
             return false;
         }
         Bezeichner other = (Bezeichner) obj;
-        return this.getTechnischerName().equalsIgnoreCase(other.getTechnischerName());
+        return (this.hash == other.hash) && this.key.equals(other.key);
     }
 
     /**
@@ -1120,33 +1197,21 @@ public final class Bezeichner {
     /**
      * Hierueber liefern wird die Konstante mit dem uebergebenen Text als
      * Feld zurueck.
+     * <p>
+     * Die Konstanten werden dazu nur beim ersten Aufruf per Reflection
+     * ermittelt.
+     * </p>
      *
      * @param bezeichnung Text der gesuchten Konstanten
      * @return die entsprechende Konstante
      * @since 1.0
      */
     public static Field getField(final String bezeichnung) {
-        Field[] fields = Bezeichner.class.getFields();
-        for (Field field : fields) {
-            try {
-                Object value = field.get(null);
-                if (value == null) {
-                    continue;
-                }
-                if (bezeichnung.equalsIgnoreCase(value.toString())) {
-                    return field;
-                }
-                if (value instanceof Bezeichner) {
-                    Bezeichner bez = (Bezeichner) value;
-                    if (bezeichnung.equalsIgnoreCase(bez.getName())) {
-                        return field;
-                    }
-                }
-            } catch (IllegalAccessException e) {
-                LOG.debug("Will ignore field {}:", field, e);
-            }
+        Field field = Konstanten.BY_TEXT.get(bezeichnung.toLowerCase(Locale.ROOT));
+        if (field == null) {
+            throw new IllegalArgumentException("no constant with text \"" + bezeichnung + "\" defined");
         }
-        throw new IllegalArgumentException("no constant with text \"" + bezeichnung + "\" defined");
+        return field;
     }
 
     /**
@@ -1165,4 +1230,48 @@ public final class Bezeichner {
         }
     }
 
+    /**
+     * Die Konstanten werden erst beim ersten Zugriff per Reflection
+     * ermittelt (und nicht schon beim Laden der Bezeichner-Klasse).
+     */
+    private static final class Konstanten {
+
+        /** Konstanten ueber ihren Namen. */
+        private static final Map<String, Bezeichner> BY_NAME = new HashMap<>();
+        /** Konstanten ueber ihren Namen oder technischen Namen (in Kleinbuchstaben). */
+        private static final Map<String, Field> BY_TEXT = new HashMap<>();
+
+        static {
+            for (Field field : Bezeichner.class.getFields()) {
+                try {
+                    Object value = field.get(null);
+                    if (value == null) {
+                        continue;
+                    }
+                    putIfAbsent(value.toString(), field);
+                    if (value instanceof Bezeichner) {
+                        Bezeichner bez = (Bezeichner) value;
+                        putIfAbsent(bez.getName(), field);
+                        if (!BY_NAME.containsKey(bez.getName())) {
+                            BY_NAME.put(bez.getName(), bez);
+                        }
+                    }
+                } catch (IllegalAccessException e) {
+                    LOG.debug("Will ignore field {}:", field, e);
+                }
+            }
+        }
+
+        private Konstanten() {
+        }
+
+        private static void putIfAbsent(final String text, final Field field) {
+            String lowerText = text.toLowerCase(Locale.ROOT);
+            if (!BY_TEXT.containsKey(lowerText)) {
+                BY_TEXT.put(lowerText, field);
+            }
+        }
+
+    }
+
 }
@@ -20,7 +20,8 @@
 
 package gdv.xport.feld;
 
-import java.text.*;
+import java.time.LocalDate;
+import java.time.ZoneId;
 import java.util.Date;
 import java.util.List;
 
@@ -42,7 +43,11 @@ import net.sf.oval.context.ClassContext;
 public final class Datum extends Feld {
 
     private static final Logger LOG = LogManager.getLogger(Feld.class);
-    private final DateFormat dateFormat;
+    /**
+     * Zweistellige Jahreszahlen werden wie bei {@link java.text.SimpleDateFormat}
+     * in das Jahrhundert gelegt, das 80 Jahre vor heute beginnt.
+     */
+    private static final int JAHRHUNDERT_START = LocalDate.now().getYear() - 80;
 
     /**
      * Legt ein neues Datums-Feld an. Die Informationen dazu werden
@@ -64,7 +69,7 @@ public final class Datum extends Feld {
      */
     public Datum(final Enum<?> feldX, final FeldInfo info) {
         super(feldX, info);
-        this.dateFormat = getDateFormat(info.anzahlBytes());
+        checkLength(info.anzahlBytes());
     }
 
     /**
@@ -85,7 +90,7 @@ public final class Datum extends Feld {
      * @param start the start
      */
     public Datum(final String name, final int start) {
-        this(new Bezeichner(name), 8, start);
+        this(Bezeichner.of(name), 8, start);
     }
 
     /**
@@ -107,7 +112,7 @@ public final class Datum extends Feld {
      */
     public Datum(Bezeichner bezeichner, int length, int start) {
         super(bezeichner, length, start, Align.RIGHT);
-        dateFormat = getDateFormat(length);
+        checkLength(length);
     }
 
     /**
@@ -119,7 +124,7 @@ public final class Datum extends Feld {
      */
     public Datum(final Bezeichner bezeichner, final FeldInfo info) {
         super(bezeichner, info.anzahlBytes(), info.byteAdresse(), info.align() == Align.UNKNOWN ? Align.RIGHT : info.align());
-        dateFormat = getDateFormat(info.anzahlBytes());
+        checkLength(info.anzahlBytes());
     }
 
     /**
@@ -131,7 +136,7 @@ public final class Datum extends Feld {
      * @param inhalt Datum der Form "ddmmjjjj" oder "ddjjjj" oder "dd"
      */
     public Datum(final String name, final int length, final int start, final String inhalt) {
-        this(new Bezeichner(name), length, start);
+        this(Bezeichner.of(name), length, start);
         this.setInhalt(inhalt);
     }
 
@@ -159,7 +164,7 @@ public final class Datum extends Feld {
      */
     public Datum(final int length, final int start) {
         super(length, start, Align.RIGHT);
-        dateFormat = getDateFormat(length);
+        checkLength(length);
     }
 
     /**
@@ -170,23 +175,15 @@ public final class Datum extends Feld {
      */
     public Datum(final Datum other) {
         super(other);
-        this.dateFormat = other.dateFormat;
-    }
-
-    private static DateFormat getDateFormat(final int length) {
-        return getDateFormat(length, "");
     }
 
-    private static DateFormat getDateFormat(final int length, final String separator) {
+    private static void checkLength(final int length) {
         switch (length) {
             case 2:
-                return new SimpleDateFormat("dd");
             case 4:
-                return new SimpleDateFormat("MM" + separator + "yy");
             case 6:
-                return new SimpleDateFormat("MM" + separator + "yyyy");
             case 8:
-                return new SimpleDateFormat("dd" + separator + "MM" + separator + "yyyy");
+                break;
             default:
                 throw new IllegalArgumentException("length=" + length
                         + " not allowed - only 2, 4, 6 or 8");
@@ -208,7 +205,19 @@ public final class Datum extends Feld {
      * @param d the new inhalt
      */
     public void setInhalt(final Date d) {
-        this.setInhalt(dateFormat.format(d));
+        this.setInhalt(d.toInstant().atZone(ZoneId.systemDefault()).toLocalDate());
+    }
+
+    /**
+     * Setzt das Datum. Je nach Laenge des Feldes werden dabei nur Tag
+     * ("TT"), Monat und Jahr ("MMJJ", "MMJJJJ") oder alles ("TTMMJJJJ")
+     * uebernommen.
+     *
+     * @param d das neue Datum
+     * @since 3.1
+     */
+    public void setInhalt(final LocalDate d) {
+        this.setInhalt(this.format(d, ""));
     }
 
     /**
@@ -217,12 +226,100 @@ public final class Datum extends Feld {
      * @return the date
      */
     public Date toDate() {
-        try {
-            return dateFormat.parse(this.getInhalt());
-        } catch (ParseException e) {
+        return Date.from(this.toLocalDate().atStartOfDay(ZoneId.systemDefault()).toInstant());
+    }
+
+    /**
+     * Liefert das Datum als {@link LocalDate}. Die Ziffern werden dazu
+     * direkt aus dem Feld gelesen. Fehlende Angaben werden wie bisher bei
+     * {@link #toDate()} ergaenzt (Tag 1, Januar, 1970); Werte ausserhalb des
+     * gueltigen Bereichs (z.B. Tag "00") werden auf das Vor- bzw.
+     * Nachfolgedatum umgerechnet.
+     *
+     * @return das Datum
+     * @throws IllegalStateException falls das Feld kein Datum enthaelt
+     * @since 3.1
+     */
+    public LocalDate toLocalDate() {
+        int tag = 1;
+        int monat = 1;
+        int jahr = 1970;
+        switch (this.getAnzahlBytes()) {
+            case 2:
+                tag = this.getZiffern(0, 2);
+                break;
+            case 4:
+                monat = this.getZiffern(0, 2);
+                jahr = toJahr(this.getZiffern(2, 2));
+                break;
+            case 6:
+                monat = this.getZiffern(0, 2);
+                jahr = this.getZiffern(2, 4);
+                break;
+            default:
+                tag = this.getZiffern(0, 2);
+                monat = this.getZiffern(2, 2);
+                jahr = this.getZiffern(4, 4);
+                break;
+        }
+        if ((tag < 0) || (monat < 0) || (jahr < 0)) {
             throw new IllegalStateException(this + " has an invalid date (\""
                     + this.getInhalt() + "\")");
         }
+        return LocalDate.of(jahr, 1, 1).plusMonths(monat - 1).plusDays(tag - 1);
+    }
+
+    private int getZiffern(final int from, final int n) {
+        int value = 0;
+        for (int i = from; i < from + n; i++) {
+            char ch = this.charAt(i);
+            if ((ch < '0') || (ch > '9')) {
+                return -1;
+            }
+            value = value * 10 + (ch - '0');
+        }
+        return value;
+    }
+
+    private static int toJahr(final int jj) {
+        if (jj < 0) {
+            return jj;
+        }
+        int jahr = (JAHRHUNDERT_START / 100) * 100 + jj;
+        return (jahr < JAHRHUNDERT_START) ? jahr + 100 : jahr;
+    }
+
+    private String format(final LocalDate d, final String separator) {
+        StringBuilder buf = new StringBuilder(10);
+        switch (this.getAnzahlBytes()) {
+            case 2:
+                appendZiffern(buf, d.getDayOfMonth(), 2);
+                break;
+            case 4:
+                appendZiffern(buf, d.getMonthValue(), 2);
+                buf.append(separator);
+                appendZiffern(buf, d.getYear() % 100, 2);
+                break;
+            case 6:
+                appendZiffern(buf, d.getMonthValue(), 2);
+                buf.append(separator);
+                appendZiffern(buf, d.getYear(), 4);
+                break;
+            default:
+                appendZiffern(buf, d.getDayOfMonth(), 2);
+                buf.append(separator);
+                appendZiffern(buf, d.getMonthValue(), 2);
+                buf.append(separator);
+                appendZiffern(buf, d.getYear(), 4);
+                break;
+        }
+        return buf.toString();
+    }
+
+    private static void appendZiffern(final StringBuilder buf, final int value, final int n) {
+        for (int divisor = (n == 4) ? 1000 : 10; divisor > 0; divisor /= 10) {
+            buf.append((char) ('0' + (value / divisor) % 10));
+        }
     }
 
     /**
@@ -244,12 +341,12 @@ public final class Datum extends Feld {
         if (super.isEmpty()) {
             return true;
         }
-        try {
-            int n = Integer.parseInt(this.getInhalt());
-            return n == 0;
-        } catch (NumberFormatException e) {
-            return false;
+        for (int i = 0; i < this.getAnzahlBytes(); i++) {
+            if (this.charAt(i) != '0') {
+                return false;
+            }
         }
+        return true;
     }
 
     /**
@@ -279,15 +376,30 @@ public final class Datum extends Feld {
         return !this.isValid();
     }
 
-    private boolean hasValidDate() {
-        String orig = this.getInhalt();
-        if (orig.startsWith("00")) {
+    /**
+     * Prueft nur den Inhalt, nicht aber Byte-Adresse, Laenge oder
+     * Ausrichtung des Feldes. Ein leeres Datum wird hierbei (anders als bei
+     * {@link #isValid()}) nicht gesondert behandelt.
+     *
+     * @return true, falls der Inhalt ein gueltiges Datum darstellt
+     * @since 3.1
+     */
+    public boolean hasValidDate() {
+        if ((this.charAt(0) == '0') && (this.charAt(1) == '0')) {
             return true;
         }
         try {
-            Date date = this.toDate();
-            String conv = this.dateFormat.format(date);
-            return conv.equals(orig);
+            LocalDate date = this.toLocalDate();
+            if (date.getYear() < 1) {
+                return false;
+            }
+            String conv = this.format(date, "");
+            for (int i = 0; i < conv.length(); i++) {
+                if (conv.charAt(i) != this.charAt(i)) {
+                    return false;
+                }
+            }
+            return true;
         } catch (RuntimeException e) {
             LOG.info(e + " -> mapped to false");
             return false;
@@ -313,8 +425,7 @@ public final class Datum extends Feld {
      */
     @Override
     public String format() {
-        DateFormat df = getDateFormat(this.getAnzahlBytes(), ".");
-        return df.format(this.toDate());
+        return this.format(this.toLocalDate(), ".");
     }
 
     /* (non-Javadoc)
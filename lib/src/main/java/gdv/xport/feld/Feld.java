@@ -20,13 +20,15 @@
 
 package gdv.xport.feld;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import gdv.xport.annotation.FeldInfo;
 import gdv.xport.config.Config;
 import gdv.xport.satz.feld.FeldX;
 import net.sf.oval.ConstraintViolation;
-import net.sf.oval.Validator;
 import net.sf.oval.constraint.Min;
+import net.sf.oval.constraint.MinCheck;
 import net.sf.oval.constraint.NotEqual;
+import net.sf.oval.constraint.NotEqualCheck;
 import net.sf.oval.constraint.SizeCheck;
 import net.sf.oval.context.ClassContext;
 import org.apache.commons.lang.StringUtils;
@@ -40,6 +42,8 @@ import java.lang.reflect.Constructor;
 import java.lang.reflect.Field;
 import java.lang.reflect.InvocationTargetException;
 import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 /**
@@ -57,7 +61,14 @@ public class Feld implements Comparable<Feld>, Cloneable {
     /** optional: Name des Felds. */
     private final Bezeichner bezeichner;
     private final Enum<?> bezeichnerEnum;
-    private final StringBuilder inhalt;
+    /**
+     * Der Inhalt steht ab 'offset' im Puffer. Normalerweise hat jedes Feld
+     * seinen eigenen Puffer - seit 3.1 kann es sich aber auch den Puffer mit
+     * den anderen Feldern eines Teildatensatzes teilen.
+     */
+    private char[] buffer;
+    private int offset;
+    private int anzahlBytes;
     /** Achtung - die ByteAdresse beginnt bei 1 und geht bis 256. */
     @Min(1)
     private final int byteAdresse;
@@ -99,10 +110,7 @@ public class Feld implements Comparable<Feld>, Cloneable {
         this.bezeichner = Feld.getAsBezeichner(feldX);
         this.byteAdresse = info.byteAdresse();
         this.ausrichtung = getAlignmentFrom(info);
-        this.inhalt = new StringBuilder(info.anzahlBytes());
-        for (int i = 0; i < info.anzahlBytes(); i++) {
-            this.inhalt.append(' ');
-        }
+        this.initInhalt(info.anzahlBytes());
         this.setInhalt(info.value());
     }
 
@@ -129,8 +137,8 @@ public class Feld implements Comparable<Feld>, Cloneable {
      * @param alignment the alignment
      */
     public Feld(final String name, final int start, final String s, final Align alignment) {
-        this.bezeichner = new Bezeichner(name);
-        this.inhalt = new StringBuilder(s);
+        this.bezeichner = Bezeichner.of(name);
+        this.initInhalt(s);
         this.byteAdresse = start;
         this.ausrichtung = alignment;
         this.bezeichnerEnum = FeldX.UNBEKANNT;
@@ -147,7 +155,7 @@ public class Feld implements Comparable<Feld>, Cloneable {
      */
     public Feld(final Bezeichner bezeichner, final int length, final int start, final Align alignment) {
         this.bezeichner = bezeichner;
-        this.inhalt = getEmptyStringBuilder(length);
+        this.initInhalt(length);
         this.byteAdresse = start;
         this.ausrichtung = alignment;
         this.bezeichnerEnum = FeldX.UNBEKANNT;
@@ -168,7 +176,7 @@ public class Feld implements Comparable<Feld>, Cloneable {
      *            the alignment
      */
     public Feld(final String name, final int length, final int start, final char c, final Align alignment) {
-        this(new Bezeichner(name), length, start, alignment);
+        this(Bezeichner.of(name), length, start, alignment);
         this.setInhalt(c);
     }
 
@@ -187,7 +195,7 @@ public class Feld implements Comparable<Feld>, Cloneable {
      *            the alignment
      */
     public Feld(final String name, final int length, final int start, final String s, final Align alignment) {
-        this(new Bezeichner(name), length, start, alignment);
+        this(Bezeichner.of(name), length, start, alignment);
         this.setInhalt(s);
     }
 
@@ -216,7 +224,7 @@ public class Feld implements Comparable<Feld>, Cloneable {
      *            the alignment
      */
     public Feld(final int start, final String s, final Align alignment) {
-        this.inhalt = new StringBuilder(s);
+        this.initInhalt(s);
         this.byteAdresse = start;
         this.ausrichtung = alignment;
         this.bezeichner = createBezeichner();
@@ -246,7 +254,7 @@ public class Feld implements Comparable<Feld>, Cloneable {
      *            the alignment
      */
     public Feld(final int length, final int start, final Align alignment) {
-        this.inhalt = getEmptyStringBuilder(length);
+        this.initInhalt(length);
         this.byteAdresse = start;
         this.ausrichtung = alignment;
         this.bezeichner = createBezeichner();
@@ -264,12 +272,17 @@ public class Feld implements Comparable<Feld>, Cloneable {
         this.setInhalt(other.getInhalt());
     }
 
-    private static StringBuilder getEmptyStringBuilder(final int length) {
-        StringBuilder sbuf = new StringBuilder(length);
-        for (int i = 0; i < length; i++) {
-            sbuf.append(' ');
-        }
-        return sbuf;
+    private void initInhalt(final int length) {
+        this.buffer = new char[length];
+        this.offset = 0;
+        this.anzahlBytes = length;
+        Arrays.fill(this.buffer, ' ');
+    }
+
+    private void initInhalt(final String s) {
+        this.buffer = s.toCharArray();
+        this.offset = 0;
+        this.anzahlBytes = this.buffer.length;
     }
 
     /**
@@ -358,18 +371,39 @@ public class Feld implements Comparable<Feld>, Cloneable {
         this.resetInhalt();
         switch (this.ausrichtung) {
             case LEFT:
-                this.inhalt.replace(0, s.length(), s);
+                s.getChars(0, s.length(), this.buffer, this.offset);
                 break;
             case RIGHT:
                 int l = s.length();
-                int start = anzahlBytes - l;
-                this.inhalt.replace(start, start + l, s);
+                s.getChars(0, l, this.buffer, this.offset + anzahlBytes - l);
                 break;
             default:
                 throw new IllegalStateException("object was not properly initialized");
         }
     }
 
+    /**
+     * Uebernimmt den Inhalt direkt aus der uebergebenen Zeichenkette, ab der
+     * angegebenen Position. Im Gegensatz zu {@link #setInhalt(String)} wird
+     * dabei kein Teilstring angelegt - es werden genau so viele Zeichen
+     * kopiert, wie das Feld lang ist. Diese Methode ist v.a. fuer den Import
+     * gedacht.
+     *
+     * @param s Zeichenkette, z.B. ein kompletter Teildatensatz
+     * @param offset Position des ersten Zeichens, beginnend bei 0
+     * @since 3.1
+     */
+    public final void setInhalt(final CharSequence s, final int offset) {
+        int anzahlBytes = this.getAnzahlBytes();
+        if (offset + anzahlBytes > s.length()) {
+            throw new IllegalArgumentException("Feld " + this.getBezeichner() + ": nur "
+                    + (s.length() - offset) + " von " + anzahlBytes + " Zeichen vorhanden");
+        }
+        for (int i = 0; i < anzahlBytes; i++) {
+            this.buffer[this.offset + i] = s.charAt(offset + i);
+        }
+    }
+
     /**
      * Sets the inhalt.
      *
@@ -400,7 +434,25 @@ public class Feld implements Comparable<Feld>, Cloneable {
      *            index, beginnend bei 0
      */
     public void setInhalt(final char c, final int i) {
-        this.inhalt.setCharAt(i, c);
+        if ((i < 0) || (i >= this.anzahlBytes)) {
+            throw new StringIndexOutOfBoundsException(i);
+        }
+        this.buffer[this.offset + i] = c;
+    }
+
+    /**
+     * Liefert das Zeichen an der angegebenen Stelle, ohne dafuer (wie bei
+     * {@link #getInhalt()}) einen String anzulegen.
+     *
+     * @param i index, beginnend bei 0
+     * @return das Zeichen an dieser Stelle
+     * @since 3.1
+     */
+    public final char charAt(final int i) {
+        if ((i < 0) || (i >= this.anzahlBytes)) {
+            throw new StringIndexOutOfBoundsException(i);
+        }
+        return this.buffer[this.offset + i];
     }
 
     /**
@@ -409,17 +461,14 @@ public class Feld implements Comparable<Feld>, Cloneable {
      * @return the inhalt
      */
     public String getInhalt() {
-        return this.inhalt.toString();
+        return new String(this.buffer, this.offset, this.anzahlBytes);
     }
 
     /**
      * Reset inhalt.
      */
     public void resetInhalt() {
-        int anzahlBytes = this.getAnzahlBytes();
-        for (int i = 0; i < anzahlBytes; i++) {
-            this.inhalt.setCharAt(i, ' ');
-        }
+        Arrays.fill(this.buffer, this.offset, this.offset + this.anzahlBytes, ' ');
     }
 
     /**
@@ -430,9 +479,14 @@ public class Feld implements Comparable<Feld>, Cloneable {
      *            neue Groesse
      */
     public void setAnzahlBytes(final int n) {
-        assert this.inhalt.length() <= n : "drohender Datenverlust";
-        for (int i = this.inhalt.length(); i < n; i++) {
-            this.inhalt.append(' ');
+        assert this.anzahlBytes <= n : "drohender Datenverlust";
+        if (n > this.anzahlBytes) {
+            char[] enlarged = new char[n];
+            System.arraycopy(this.buffer, this.offset, enlarged, 0, this.anzahlBytes);
+            Arrays.fill(enlarged, this.anzahlBytes, n, ' ');
+            this.buffer = enlarged;
+            this.offset = 0;
+            this.anzahlBytes = n;
         }
     }
 
@@ -442,7 +496,7 @@ public class Feld implements Comparable<Feld>, Cloneable {
      * @return the anzahl bytes
      */
     public final int getAnzahlBytes() {
-        return this.inhalt.length();
+        return this.anzahlBytes;
     }
 
     /**
@@ -454,6 +508,17 @@ public class Feld implements Comparable<Feld>, Cloneable {
         return this.byteAdresse;
     }
 
+    /**
+     * Liefert die Ausrichtung des Feldes.
+     *
+     * @return rechts- oder linksbuendig
+     * @since 3.1
+     */
+    @JsonIgnore
+    public final Align getAusrichtung() {
+        return this.ausrichtung;
+    }
+
     /**
      * Gets the end adresse.
      *
@@ -490,7 +555,59 @@ public class Feld implements Comparable<Feld>, Cloneable {
      *             Signals that an I/O exception has occurred.
      */
     public final void write(final Writer writer) throws IOException {
-        writer.write(this.inhalt.toString());
+        writer.write(this.buffer, this.offset, this.anzahlBytes);
+    }
+
+    /**
+     * Verlagert den Inhalt des Feldes in den uebergebenen Puffer. Danach
+     * arbeitet das Feld nur noch als Sicht auf diesen Puffer, so dass z.B.
+     * ein Teildatensatz alle seine Felder in einem einzigen Puffer halten
+     * und diesen ohne weiteres Zusammensetzen exportieren kann.
+     *
+     * @param target der Puffer, z.B. von einem Teildatensatz
+     * @param pos Position des Feldes im Puffer, beginnend bei 0
+     * @since 3.1
+     */
+    public final void bindTo(final char[] target, final int pos) {
+        if (this.buffer != target || this.offset != pos) {
+            System.arraycopy(this.buffer, this.offset, target, pos, this.anzahlBytes);
+            this.buffer = target;
+            this.offset = pos;
+        }
+    }
+
+    /**
+     * Loest das Feld wieder von einem gemeinsam genutzten Puffer. Das Feld
+     * erhaelt dazu wieder einen eigenen Puffer mit dem aktuellen Inhalt.
+     *
+     * @since 3.1
+     */
+    public final void unbind() {
+        this.buffer = Arrays.copyOfRange(this.buffer, this.offset, this.offset + this.anzahlBytes);
+        this.offset = 0;
+    }
+
+    /**
+     * Liefert true, wenn der Inhalt des Feldes im uebergebenen Puffer steht.
+     *
+     * @param target der Puffer, z.B. von einem Teildatensatz
+     * @return true, falls das Feld an diesen Puffer gebunden ist
+     * @since 3.1
+     */
+    public final boolean isBoundTo(final char[] target) {
+        return this.buffer == target;
+    }
+
+    /**
+     * Kopiert den Inhalt in den uebergebenen Puffer, ohne dafuer einen String
+     * anzulegen.
+     *
+     * @param target Ziel-Puffer
+     * @param pos Position im Ziel-Puffer, beginnend bei 0
+     * @since 3.1
+     */
+    public final void copyTo(final char[] target, final int pos) {
+        System.arraycopy(this.buffer, this.offset, target, pos, this.anzahlBytes);
     }
 
     /**
@@ -537,13 +654,27 @@ public class Feld implements Comparable<Feld>, Cloneable {
     }
 
     /**
-     * Validate.
+     * Validate. Seit 3.1 werden die Constraints direkt geprueft, ohne
+     * dafuer jedesmal einen neuen OVal-Validator anzulegen.
      *
      * @return eine Liste mit Constraint-Verletzungen
      */
     public List<ConstraintViolation> validate() {
-        Validator validator = new Validator();
-        List<ConstraintViolation> violations = validator.validate(this);
+        List<ConstraintViolation> violations = new ArrayList<ConstraintViolation>();
+        if (this.byteAdresse < 1) {
+            MinCheck check = new MinCheck();
+            check.setMin(1);
+            ConstraintViolation cv = new ConstraintViolation(check, this + ": byteAdresse must be >= 1", this,
+                    this.byteAdresse, new ClassContext(this.getClass()));
+            violations.add(cv);
+        }
+        if (this.ausrichtung == Align.UNKNOWN) {
+            NotEqualCheck check = new NotEqualCheck();
+            check.setTestString(Align.UNKNOWN.name());
+            ConstraintViolation cv = new ConstraintViolation(check, this + ": unknown alignment", this,
+                    this.ausrichtung, new ClassContext(this.getClass()));
+            violations.add(cv);
+        }
         if (this.getEndAdresse() > 256) {
             ConstraintViolation cv = new ConstraintViolation(new SizeCheck(), this + ": boundary exceeded", this,
                     this.getEndAdresse(), new ClassContext(this.getClass()));
@@ -628,7 +759,7 @@ public class Feld implements Comparable<Feld>, Cloneable {
         if (object instanceof Bezeichner) {
             return (Bezeichner) object;
         }
-        return new Bezeichner((String) object);
+        return Bezeichner.of((String) object);
     }
 
     /**
@@ -24,6 +24,7 @@ import net.sf.oval.context.*;
 import org.apache.commons.lang.*;
 import org.apache.logging.log4j.*;
 
+import java.math.BigDecimal;
 import java.text.*;
 import java.util.*;
 
@@ -255,11 +256,7 @@ public class NumFeld extends Feld {
      * @return den Inhalt als int
      */
     public int toInt() {
-        String s = this.getInhalt().trim();
-        if (s.startsWith("+")) {
-            return Integer.parseInt(s.substring(1));
-        }
-        return Integer.parseInt(s);
+        return toInt(this.parseLong(0, this.getAnzahlBytes()));
     }
 
     /**
@@ -269,11 +266,7 @@ public class NumFeld extends Feld {
      * @return den Inhalt als long
      */
     public long toLong() {
-        String s = this.getInhalt().trim();
-        if (s.startsWith("+")) {
-            return Long.parseLong(s.substring(1));
-        }
-        return Long.parseLong(s);
+        return this.parseLong(0, this.getAnzahlBytes());
     }
 
     /**
@@ -291,6 +284,85 @@ public class NumFeld extends Feld {
         return n;
     }
 
+    /**
+     * Liefert den Inhalt als exakten Dezimalwert unter Beruecksichtigung der
+     * Nachkommastellen. Im Gegensatz zu {@link #toDouble()} kommt es hier
+     * zu keinen Rundungsfehlern.
+     *
+     * @return die Zahl als BigDecimal
+     * @since 3.1
+     */
+    public BigDecimal toBigDecimal() {
+        return BigDecimal.valueOf(this.parseLong(0, this.getAnzahlBytes()), this.nachkommastellen);
+    }
+
+    /**
+     * Liest die Zahl direkt aus dem Inhalt des Feldes, ohne dafuer einen
+     * String anzulegen. Wie bei {@link String#trim()} werden fuehrende und
+     * abschliessende Leerzeichen ignoriert; ein Vorzeichen ('+' oder '-')
+     * vor der ersten Ziffer ist erlaubt.
+     *
+     * @param from Position der ersten Stelle, beginnend bei 0
+     * @param to Position hinter der letzten Stelle
+     * @return die Zahl
+     * @throws NumberFormatException falls keine gueltige Zahl vorliegt
+     * @since 3.1
+     */
+    protected final long parseLong(final int from, final int to) {
+        int start = from;
+        int end = to;
+        while ((start < end) && (this.charAt(start) <= ' ')) {
+            start++;
+        }
+        while ((end > start) && (this.charAt(end - 1) <= ' ')) {
+            end--;
+        }
+        boolean negativ = false;
+        if ((start < end) && ((this.charAt(start) == '+') || (this.charAt(start) == '-'))) {
+            negativ = this.charAt(start) == '-';
+            start++;
+        }
+        if (start >= end) {
+            throw newNumberFormatException(from, to);
+        }
+        // wie in Long.parseLong wird negativ aufsummiert, um auch
+        // Long.MIN_VALUE darstellen zu koennen
+        long limit = negativ ? Long.MIN_VALUE : -Long.MAX_VALUE;
+        long multmin = limit / 10;
+        long result = 0;
+        for (int i = start; i < end; i++) {
+            int digit = Character.digit(this.charAt(i), 10);
+            if ((digit < 0) || (result < multmin)) {
+                throw newNumberFormatException(from, to);
+            }
+            result *= 10;
+            if (result < limit + digit) {
+                throw newNumberFormatException(from, to);
+            }
+            result -= digit;
+        }
+        return negativ ? result : -result;
+    }
+
+    /**
+     * Wandelt den uebergebenen Wert in einen Integer um.
+     *
+     * @param n der Wert
+     * @return der Wert als int
+     * @throws NumberFormatException falls der Wert nicht in einen int passt
+     * @since 3.1
+     */
+    protected static int toInt(final long n) {
+        if ((n < Integer.MIN_VALUE) || (n > Integer.MAX_VALUE)) {
+            throw new NumberFormatException("value " + n + " is out of int range");
+        }
+        return (int) n;
+    }
+
+    private NumberFormatException newNumberFormatException(final int from, final int to) {
+        return new NumberFormatException("For input string: \"" + this.getInhalt().substring(from, to) + "\"");
+    }
+
     /**
      * @return true, wenn der Inhalt eine Zahl ist
      */
@@ -39,6 +39,17 @@ public final class ImportException extends IOException {
         super(message);
     }
 
+    /**
+     * Erzeugt eine neue {@link ImportException}.
+     *
+     * @param message die Meldung, die mit der Exception ausgegeben wird
+     * @param cause die urspruengliche Exception
+     * @since 3.1
+     */
+    public ImportException(final String message, final Throwable cause) {
+        super(message, cause);
+    }
+
     /**
      * Diese {@link ImportException} fuegt noch die Zeilennummer zur
      * Fehlermeldung hinzu.
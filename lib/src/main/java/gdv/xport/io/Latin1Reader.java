@@ -0,0 +1,145 @@
+/*
+ * Copyright (c) 2026 by Oli B.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * (c)reated 16.10.2026 by Oli B. (ob@aosd.de)
+ */
+
+package gdv.xport.io;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+
+/**
+ * Der Latin1Reader liest ISO-8859-1-kodierte Daten aus einem
+ * {@link InputStream}. Da bei ISO-8859-1 jedes Byte genau dem Zeichen mit
+ * dem gleichen Code entspricht, kann hier auf den {@link java.nio.charset.CharsetDecoder}
+ * eines {@link java.io.InputStreamReader} verzichtet werden - die Bytes
+ * werden direkt aus dem Lese-Puffer in den Ziel-Puffer uebertragen.
+ *
+ * @author oliver
+ * @since 3.1 (16.10.2026)
+ * @see Latin1Writer
+ */
+public class Latin1Reader extends Reader {
+
+    private static final int DEFAULT_BUFFER_SIZE = 8192;
+
+    private final InputStream istream;
+    private final byte[] buffer;
+    private int pos = 0;
+    private int limit = 0;
+
+    /**
+     * Erzeugt einen neuen Latin1Reader.
+     *
+     * @param istream ISO-8859-1-kodierter Eingabe-Strom
+     */
+    public Latin1Reader(final InputStream istream) {
+        this(istream, DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * Erzeugt einen neuen Latin1Reader mit der angegebenen Puffer-Groesse.
+     *
+     * @param istream ISO-8859-1-kodierter Eingabe-Strom
+     * @param bufferSize Groesse des Lese-Puffers in Bytes
+     */
+    public Latin1Reader(final InputStream istream, final int bufferSize) {
+        if (bufferSize < 1) {
+            throw new IllegalArgumentException("buffer size " + bufferSize + " must be positive");
+        }
+        this.istream = istream;
+        this.buffer = new byte[bufferSize];
+    }
+
+    /**
+     * Liest das naechste Zeichen.
+     *
+     * @return Zeichen oder -1 am Ende des Streams
+     * @throws IOException Signals that an I/O exception has occurred.
+     * @see java.io.Reader#read()
+     */
+    @Override
+    public int read() throws IOException {
+        if (!hasRemaining()) {
+            return -1;
+        }
+        return buffer[pos++] & 0xFF;
+    }
+
+    /**
+     * Liest die naechsten Zeichen ohne Umweg ueber einen CharsetDecoder.
+     *
+     * @param cbuf Ziel-Puffer
+     * @param off Offset
+     * @param len Anzahl der zu lesenden Zeichen
+     * @return Anzahl der gelesenen Zeichen oder -1 am Ende des Streams
+     * @throws IOException Signals that an I/O exception has occurred.
+     * @see java.io.Reader#read(char[], int, int)
+     */
+    @Override
+    public int read(final char[] cbuf, final int off, final int len) throws IOException {
+        if (len == 0) {
+            return 0;
+        }
+        if (!hasRemaining()) {
+            return -1;
+        }
+        int n = Math.min(len, limit - pos);
+        for (int i = 0; i < n; i++) {
+            cbuf[off + i] = (char) (buffer[pos + i] & 0xFF);
+        }
+        pos += n;
+        return n;
+    }
+
+    private boolean hasRemaining() throws IOException {
+        while (pos >= limit) {
+            int n = istream.read(buffer);
+            if (n < 0) {
+                return false;
+            }
+            pos = 0;
+            limit = n;
+        }
+        return true;
+    }
+
+    /* (non-Javadoc)
+     * @see java.io.Reader#ready()
+     */
+    @Override
+    public boolean ready() throws IOException {
+        return (pos < limit) || (istream.available() > 0);
+    }
+
+    /* (non-Javadoc)
+     * @see java.io.Reader#close()
+     */
+    @Override
+    public void close() throws IOException {
+        istream.close();
+    }
+
+    /* (non-Javadoc)
+     * @see java.lang.Object#toString()
+     */
+    @Override
+    public String toString() {
+        return this.getClass().getSimpleName() + " for " + istream;
+    }
+
+}
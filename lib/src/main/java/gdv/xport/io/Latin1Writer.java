@@ -0,0 +1,157 @@
+/*
+ * Copyright (c) 2026 by Oli B.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * (c)reated 16.10.2026 by Oli B. (ob@aosd.de)
+ */
+
+package gdv.xport.io;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+
+/**
+ * Der Latin1Writer ist das Gegenstueck zum {@link Latin1Reader}: die
+ * Zeichen werden ohne {@link java.nio.charset.CharsetEncoder} direkt als
+ * ISO-8859-1-Bytes in den Ausgabe-Puffer geschrieben. Zeichen, die sich
+ * nicht in ISO-8859-1 darstellen lassen, werden (wie beim
+ * {@link java.io.OutputStreamWriter}) als '?' ausgegeben.
+ *
+ * @author oliver
+ * @since 3.1 (16.10.2026)
+ * @see Latin1Reader
+ */
+public class Latin1Writer extends Writer {
+
+    private static final int DEFAULT_BUFFER_SIZE = 8192;
+
+    private final OutputStream ostream;
+    private final byte[] buffer;
+    private int pos = 0;
+
+    /**
+     * Erzeugt einen neuen Latin1Writer.
+     *
+     * @param ostream Ausgabe-Strom
+     */
+    public Latin1Writer(final OutputStream ostream) {
+        this(ostream, DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * Erzeugt einen neuen Latin1Writer mit der angegebenen Puffer-Groesse.
+     *
+     * @param ostream Ausgabe-Strom
+     * @param bufferSize Groesse des Ausgabe-Puffers in Bytes
+     */
+    public Latin1Writer(final OutputStream ostream, final int bufferSize) {
+        if (bufferSize < 1) {
+            throw new IllegalArgumentException("buffer size " + bufferSize + " must be positive");
+        }
+        this.ostream = ostream;
+        this.buffer = new byte[bufferSize];
+    }
+
+    /* (non-Javadoc)
+     * @see java.io.Writer#write(int)
+     */
+    @Override
+    public void write(final int c) throws IOException {
+        if (pos >= buffer.length) {
+            flushBuffer();
+        }
+        buffer[pos++] = toByte((char) c);
+    }
+
+    /**
+     * Schreibt die Zeichen direkt als Bytes in den Ausgabe-Puffer.
+     *
+     * @param cbuf Zeichen, die geschrieben werden sollen
+     * @param off Offset
+     * @param len Anzahl der Zeichen
+     * @throws IOException Signals that an I/O exception has occurred.
+     * @see java.io.Writer#write(char[], int, int)
+     */
+    @Override
+    public void write(final char[] cbuf, final int off, final int len) throws IOException {
+        for (int i = off; i < off + len; i++) {
+            if (pos >= buffer.length) {
+                flushBuffer();
+            }
+            buffer[pos++] = toByte(cbuf[i]);
+        }
+    }
+
+    /**
+     * Schreibt den String direkt (ohne Kopie in ein char-Array) in den
+     * Ausgabe-Puffer.
+     *
+     * @param str String, der geschrieben werden soll
+     * @param off Offset
+     * @param len Anzahl der Zeichen
+     * @throws IOException Signals that an I/O exception has occurred.
+     * @see java.io.Writer#write(java.lang.String, int, int)
+     */
+    @Override
+    public void write(final String str, final int off, final int len) throws IOException {
+        for (int i = off; i < off + len; i++) {
+            if (pos >= buffer.length) {
+                flushBuffer();
+            }
+            buffer[pos++] = toByte(str.charAt(i));
+        }
+    }
+
+    private static byte toByte(final char c) {
+        return (byte) ((c <= 0xFF) ? c : '?');
+    }
+
+    private void flushBuffer() throws IOException {
+        if (pos > 0) {
+            ostream.write(buffer, 0, pos);
+            pos = 0;
+        }
+    }
+
+    /* (non-Javadoc)
+     * @see java.io.Writer#flush()
+     */
+    @Override
+    public void flush() throws IOException {
+        flushBuffer();
+        ostream.flush();
+    }
+
+    /* (non-Javadoc)
+     * @see java.io.Writer#close()
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            flushBuffer();
+        } finally {
+            ostream.close();
+        }
+    }
+
+    /* (non-Javadoc)
+     * @see java.lang.Object#toString()
+     */
+    @Override
+    public String toString() {
+        return this.getClass().getSimpleName() + " for " + ostream;
+    }
+
+}
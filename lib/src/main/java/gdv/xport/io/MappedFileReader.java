@@ -0,0 +1,182 @@
+/*
+ * Copyright (c) 2026 by Oli B.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * (c)reated 16.10.2026 by Oli B. (ob@aosd.de)
+ */
+
+package gdv.xport.io;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.io.Reader;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Der MappedFileReader liest eine Datei ueber
+ * {@link FileChannel#map(FileChannel.MapMode, long, long)} ein. Da
+ * GDV-Dateien ISO-8859-1-kodiert sind, entspricht jedes Byte genau einem
+ * Zeichen - die Bytes koennen daher ohne {@link java.nio.charset.CharsetDecoder}
+ * und ohne Zwischenpuffer in den Puffer des Aufrufers uebertragen werden.
+ * <p>
+ * Beim Import ueber {@link gdv.xport.Datenpaket} wird dieser Reader, wie
+ * jeder andere Reader auch, in einen {@link PushbackLineNumberReader}
+ * eingepackt, der die Saetze Zeichen fuer Zeichen liest. Eingespart werden
+ * damit nur das Dekodieren und das Umkopieren der Bytes, nicht das
+ * zeichenweise Lesen der Saetze.
+ * </p>
+ * <p>
+ * Da ein {@link MappedByteBuffer} maximal 2 GB gross sein kann, wird die
+ * Datei abschnittsweise eingeblendet. Damit koennen auch Bestandsdateien mit
+ * mehreren GB gelesen werden.
+ * </p>
+ *
+ * @author oliver
+ * @since 3.1 (16.10.2026)
+ */
+public class MappedFileReader extends Reader {
+
+    private static final Logger LOG = LogManager.getLogger(MappedFileReader.class);
+    private static final long DEFAULT_WINDOW_SIZE = 64L * 1024 * 1024;
+
+    private final File file;
+    private final RandomAccessFile randomAccessFile;
+    private final FileChannel channel;
+    private final long size;
+    private final long windowSize;
+    private long position = 0;
+    private MappedByteBuffer buffer;
+
+    /**
+     * Blendet die uebergebene Datei zum Lesen ein.
+     *
+     * @param file ISO-8859-1-kodierte Datei
+     * @throws IOException falls die Datei nicht gelesen werden kann
+     */
+    public MappedFileReader(final File file) throws IOException {
+        this(file, DEFAULT_WINDOW_SIZE);
+    }
+
+    /**
+     * Blendet die uebergebene Datei zum Lesen ein. Dieser Konstruktor ist
+     * v.a. fuer Testzwecke gedacht, um die Groesse der einzelnen Abschnitte
+     * vorzugeben.
+     *
+     * @param file ISO-8859-1-kodierte Datei
+     * @param windowSize Groesse der eingeblendeten Abschnitte in Bytes
+     * @throws IOException falls die Datei nicht gelesen werden kann
+     */
+    public MappedFileReader(final File file, final long windowSize) throws IOException {
+        if (windowSize < 1) {
+            throw new IllegalArgumentException("window size " + windowSize + " must be positive");
+        }
+        this.file = file;
+        this.randomAccessFile = new RandomAccessFile(file, "r");
+        this.channel = randomAccessFile.getChannel();
+        try {
+            this.size = channel.size();
+        } catch (IOException ioe) {
+            try {
+                randomAccessFile.close();
+            } catch (IOException closeEx) {
+                ioe.addSuppressed(closeEx);
+            }
+            throw ioe;
+        }
+        this.windowSize = Math.min(windowSize, Integer.MAX_VALUE);
+        LOG.debug("{} ({} bytes) will be mapped in windows of {} bytes.", file, size, this.windowSize);
+    }
+
+    /**
+     * Liest das naechste Zeichen.
+     *
+     * @return Zeichen oder -1 am Dateiende
+     * @throws IOException Signals that an I/O exception has occurred.
+     * @see java.io.Reader#read()
+     */
+    @Override
+    public int read() throws IOException {
+        if (!hasRemaining()) {
+            return -1;
+        }
+        return buffer.get() & 0xFF;
+    }
+
+    /**
+     * Liest die naechsten Zeichen direkt aus der eingeblendeten Datei.
+     *
+     * @param cbuf Ziel-Puffer
+     * @param off Offset
+     * @param len Anzahl der zu lesenden Zeichen
+     * @return Anzahl der gelesenen Zeichen oder -1 am Dateiende
+     * @throws IOException Signals that an I/O exception has occurred.
+     * @see java.io.Reader#read(char[], int, int)
+     */
+    @Override
+    public int read(final char[] cbuf, final int off, final int len) throws IOException {
+        if (len == 0) {
+            return 0;
+        }
+        int n = 0;
+        while ((n < len) && hasRemaining()) {
+            int end = off + n + Math.min(len - n, buffer.remaining());
+            for (int i = off + n; i < end; i++) {
+                cbuf[i] = (char) (buffer.get() & 0xFF);
+            }
+            n = end - off;
+        }
+        return (n > 0) ? n : -1;
+    }
+
+    private boolean hasRemaining() throws IOException {
+        if ((buffer != null) && buffer.hasRemaining()) {
+            return true;
+        }
+        if (position >= size) {
+            return false;
+        }
+        long length = Math.min(windowSize, size - position);
+        buffer = channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+        position += length;
+        return true;
+    }
+
+    /**
+     * Schliesst die Datei. Der zuletzt eingeblendete Abschnitt wird vom
+     * Garbage-Collector freigegeben.
+     *
+     * @throws IOException Signals that an I/O exception has occurred.
+     * @see java.io.Reader#close()
+     */
+    @Override
+    public void close() throws IOException {
+        buffer = null;
+        channel.close();
+        randomAccessFile.close();
+    }
+
+    /* (non-Javadoc)
+     * @see java.lang.Object#toString()
+     */
+    @Override
+    public String toString() {
+        return this.getClass().getSimpleName() + " for " + file;
+    }
+
+}
@@ -21,6 +21,7 @@ package gdv.xport.io;
 import java.io.*;
 import java.nio.CharBuffer;
 import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.WeakHashMap;
@@ -74,7 +75,7 @@ public class RecyclingInputStreamReader extends Reader {
     private static Reader getReaderFor(final InputStream in, final Charset cs) {
         Reader r = cachedReaders.get(in);
         if (r == null) {
-            r = new InputStreamReader(in, cs);
+            r = StandardCharsets.ISO_8859_1.equals(cs) ? new Latin1Reader(in) : new InputStreamReader(in, cs);
             cachedReaders.put(in, r);
         }
         return r;
@@ -0,0 +1,258 @@
+/*
+ * Copyright (c) 2026 by Oli B.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * (c)reated 16.10.2026 by Oli B. (ob@aosd.de)
+ */
+
+package gdv.xport.satz;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import gdv.xport.feld.Bezeichner;
+import gdv.xport.feld.Feld;
+
+/**
+ * Der FeldIndex bildet fuer einen Satz jeden {@link Bezeichner} auf die
+ * Felder in den einzelnen Teildatensaetzen ab. Damit muessen bei der Suche
+ * nach einem Feld nicht mehr alle Teildatensaetze nacheinander durchsucht
+ * werden.
+ * <p>
+ * Der Index ist nur solange gueltig, wie sich die Teildatensaetze nicht
+ * strukturell aendern. Dies wird ueber {@link #isAktuell(Teildatensatz[])}
+ * geprueft; ein veralteter Index muss neu aufgebaut werden. Der Inhalt der
+ * Felder spielt dabei keine Rolle, da der Index nur die Referenzen auf die
+ * Felder haelt.
+ * </p>
+ *
+ * @author oliver
+ * @since 3.1 (16.10.2026)
+ */
+final class FeldIndex {
+
+    private static final Feld[] KEINE_FELDER = new Feld[0];
+
+    /** Die per Reflection ermittelten Bezeichner der Enum-Konstanten. */
+    private static final Map<Enum<?>, EnumBezeichner> ENUM_BEZEICHNER =
+            new ConcurrentHashMap<Enum<?>, EnumBezeichner>();
+
+    private final Teildatensatz[] teildatensaetze;
+    private final int[] modCounts;
+    private final Map<Bezeichner, Feld[]> felder;
+    private final Map<Enum<?>, Feld> enumFelder = new ConcurrentHashMap<Enum<?>, Feld>();
+    private volatile List<Feld> sortierteFelder;
+
+    /**
+     * Baut den Index fuer die uebergebenen Teildatensaetze auf.
+     *
+     * @param teildatensaetze die Teildatensaetze eines Satzes
+     */
+    FeldIndex(final Teildatensatz[] teildatensaetze) {
+        this.teildatensaetze = teildatensaetze.clone();
+        this.modCounts = new int[teildatensaetze.length];
+        Map<Bezeichner, List<Feld>> fundstellen = new HashMap<Bezeichner, List<Feld>>();
+        for (int i = 0; i < teildatensaetze.length; i++) {
+            this.modCounts[i] = teildatensaetze[i].getModCount();
+            for (Map.Entry<Bezeichner, Feld> entry : teildatensaetze[i].getDatenfelder().entrySet()) {
+                List<Feld> liste = fundstellen.get(entry.getKey());
+                if (liste == null) {
+                    liste = new ArrayList<Feld>(1);
+                    fundstellen.put(entry.getKey(), liste);
+                }
+                liste.add(entry.getValue());
+            }
+        }
+        this.felder = new HashMap<Bezeichner, Feld[]>(fundstellen.size() * 4 / 3 + 1);
+        for (Map.Entry<Bezeichner, List<Feld>> entry : fundstellen.entrySet()) {
+            this.felder.put(entry.getKey(), entry.getValue().toArray(KEINE_FELDER));
+        }
+    }
+
+    /**
+     * Prueft, ob der Index noch zu den uebergebenen Teildatensaetzen passt.
+     *
+     * @param aktuell die aktuellen Teildatensaetze des Satzes
+     * @return true, falls der Index noch verwendet werden kann
+     */
+    boolean isAktuell(final Teildatensatz[] aktuell) {
+        if (aktuell.length != teildatensaetze.length) {
+            return false;
+        }
+        for (int i = 0; i < aktuell.length; i++) {
+            if ((aktuell[i] != teildatensaetze[i]) || (aktuell[i].getModCount() != modCounts[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Liefert alle Felder mit dem angegebenen Bezeichner in der Reihenfolge
+     * der Teildatensaetze.
+     *
+     * @param bezeichner gesuchter Bezeichner
+     * @return gefundene Felder (leeres Array, falls nicht vorhanden)
+     */
+    Feld[] getFelder(final Bezeichner bezeichner) {
+        Feld[] found = felder.get(bezeichner);
+        return (found == null) ? KEINE_FELDER : found;
+    }
+
+    /**
+     * Liefert das erste Feld mit dem angegebenen Bezeichner.
+     *
+     * @param bezeichner gesuchter Bezeichner
+     * @return das Feld oder {@link Feld#NULL_FELD}
+     */
+    Feld getFeld(final Bezeichner bezeichner) {
+        Feld[] found = felder.get(bezeichner);
+        return (found == null) ? Feld.NULL_FELD : found[0];
+    }
+
+    /**
+     * Prueft, ob es ein Feld mit dem angegebenen Bezeichner gibt.
+     *
+     * @param bezeichner gesuchter Bezeichner
+     * @return true / false
+     */
+    boolean hasFeld(final Bezeichner bezeichner) {
+        return felder.containsKey(bezeichner);
+    }
+
+    /**
+     * Liefert alle Felder in der Reihenfolge der Teildatensaetze und
+     * innerhalb eines Teildatensatzes nach ihrer Position sortiert. Kommt
+     * ein Bezeichner in mehreren Teildatensaetzen vor, wird nur das erste
+     * Feld beruecksichtigt. Die Liste wird beim ersten Aufruf aufgebaut.
+     *
+     * @return nicht veraenderbare Liste der Felder
+     */
+    List<Feld> getFelder() {
+        List<Feld> felder = this.sortierteFelder;
+        if (felder == null) {
+            List<Feld> liste = new ArrayList<Feld>();
+            Set<Bezeichner> bezeichner = new HashSet<Bezeichner>();
+            for (Teildatensatz tds : teildatensaetze) {
+                for (Feld feld : tds.getFelder()) {
+                    if (bezeichner.add(feld.getBezeichner())) {
+                        liste.add(feld);
+                    }
+                }
+            }
+            felder = Collections.unmodifiableList(liste);
+            this.sortierteFelder = felder;
+        }
+        return felder;
+    }
+
+    /**
+     * Liefert das Feld zum uebergebenen Feld-Element. Wie bei
+     * {@link Teildatensatz#getFeld(Enum)} wird in jedem Teildatensatz zuerst
+     * ueber den Namen der Konstanten und danach ueber die Bezeichnung aus der
+     * {@link gdv.xport.annotation.FeldInfo} gesucht. Das Ergebnis wird
+     * gemerkt, sodass weitere Zugriffe nur noch einen Map-Zugriff kosten.
+     *
+     * @param feldX gewuenschtes Feld-Element
+     * @return das Feld oder {@link Feld#NULL_FELD}
+     */
+    Feld getFeld(final Enum<?> feldX) {
+        Feld found = enumFelder.get(feldX);
+        if (found == null) {
+            EnumBezeichner bezeichner = getEnumBezeichner(feldX);
+            found = Feld.NULL_FELD;
+            for (int i = 0; (i < teildatensaetze.length) && (found == Feld.NULL_FELD); i++) {
+                found = teildatensaetze[i].getFeld(bezeichner.name);
+                if (found == Feld.NULL_FELD) {
+                    found = teildatensaetze[i].getFeld(bezeichner.feldInfo);
+                }
+            }
+            enumFelder.put(feldX, found);
+        }
+        return found;
+    }
+
+    /**
+     * Liefert den Bezeichner ueber den Namen der Enum-Konstanten.
+     *
+     * @param feldX Feld-Element
+     * @return Bezeichner, z.B. "NAME1" fuer Feld100.NAME1
+     */
+    static Bezeichner getNamensBezeichner(final Enum<?> feldX) {
+        return getEnumBezeichner(feldX).name;
+    }
+
+    /**
+     * Liefert den Bezeichner ueber die Bezeichnung aus der
+     * {@link gdv.xport.annotation.FeldInfo}.
+     *
+     * @param feldX Feld-Element
+     * @return Bezeichner nach {@link Feld#toBezeichnung(Enum)}
+     */
+    static Bezeichner getFeldInfoBezeichner(final Enum<?> feldX) {
+        return getEnumBezeichner(feldX).feldInfo;
+    }
+
+    /**
+     * Liefert den Bezeichner nach {@link Feld#getAsBezeichnung(Enum)}.
+     *
+     * @param feldX Feld-Element
+     * @return Bezeichner nach {@link Feld#getAsBezeichnung(Enum)}
+     */
+    static Bezeichner getAsBezeichner(final Enum<?> feldX) {
+        return getEnumBezeichner(feldX).asBezeichnung;
+    }
+
+    /**
+     * Da fuer die Bezeichner einer Enum-Konstanten Reflection noetig ist,
+     * werden sie je Konstante nur einmal ermittelt.
+     */
+    private static EnumBezeichner getEnumBezeichner(final Enum<?> feldX) {
+        EnumBezeichner bezeichner = ENUM_BEZEICHNER.get(feldX);
+        if (bezeichner == null) {
+            bezeichner = new EnumBezeichner(feldX);
+            ENUM_BEZEICHNER.put(feldX, bezeichner);
+        }
+        return bezeichner;
+    }
+
+    /**
+     * Die Bezeichner, unter denen ein Feld-Element gesucht wird.
+     */
+    private static final class EnumBezeichner {
+
+        /** Bezeichner ueber den Namen der Konstanten. */
+        final Bezeichner name;
+
+        /** Bezeichner ueber die Bezeichnung aus der FeldInfo. */
+        final Bezeichner feldInfo;
+
+        /** Bezeichner nach {@link Feld#getAsBezeichnung(Enum)}. */
+        final Bezeichner asBezeichnung;
+
+        EnumBezeichner(final Enum<?> feldX) {
+            this.name = Bezeichner.of(feldX.name());
+            this.feldInfo = Bezeichner.of(Feld.toBezeichnung(feldX));
+            this.asBezeichnung = Bezeichner.of(Feld.getAsBezeichnung(feldX));
+        }
+
+    }
+
+}
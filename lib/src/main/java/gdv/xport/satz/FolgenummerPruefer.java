@@ -0,0 +1,272 @@
+/*
+ * Copyright (c) 2026 by Oli B.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * (c)reated 16.10.2026 by Oli B. (ob@aosd.de)
+ */
+
+
+package gdv.xport.satz;
+
+import java.util.Arrays;
+import java.util.List;
+
+import gdv.xport.feld.Feld;
+import gdv.xport.satz.feld.common.Feld1bis7;
+import net.sf.oval.ConstraintViolation;
+import net.sf.oval.constraint.AssertCheck;
+import net.sf.oval.context.ClassContext;
+
+/**
+ * Fuer eine Versicherungsscheinnummer muss die Folgenummer immer mit 1
+ * anfangen. Taucht diese Versicherungsscheinnummer fuer den gleichen Satz
+ * ein zweites Mal auf, muss die Folgenummer entsprechend erhoeht werden. Es
+ * sei denn, es handelt sich doch noch um den gleichen Vertrag. Aber die
+ * Nummern duerfen keine Spruenge machen - dies wird hier kontrolliert.
+ * <p>
+ * Der FolgenummerPruefer merkt sich dazu die zuletzt erwartete Folgenummer
+ * und kann daher Satz fuer Satz aufgerufen werden, ohne dass das komplette
+ * Datenpaket vorliegen muss. Er ist nicht thread-safe.
+ * </p>
+ * <p>
+ * Damit auch Datenpakete mit mehreren Millionen Vertraegen geprueft werden
+ * koennen, wird dazu kein String-Schluessel gebildet. Stattdessen werden
+ * Versicherungsscheinnummer, Satzart und Sparte direkt aus den Feldern in
+ * einen wiederverwendeten Puffer kopiert und in einer Tabelle mit primitiven
+ * Arrays abgelegt. Der 64-Bit-Hash dient dabei nur zum Suchen; stimmt er
+ * ueberein, wird zusaetzlich der komplette Schluessel verglichen, sodass es
+ * zu keinen Verwechslungen kommen kann. Pro Vertrag werden so (je nach
+ * Fuellgrad der Tabelle und Laenge der Versicherungsscheinnummer) hoechstens
+ * etwa 100 Bytes belegt.
+ * </p>
+ * <p>
+ * Die Tabelle wird komplett im Speicher gehalten; ein Auslagern auf die
+ * Platte bei sehr grossen Datenpaketen ist nicht implementiert.
+ * </p>
+ *
+ * @author oliver
+ * @since 3.1 (16.10.2026)
+ */
+public final class FolgenummerPruefer {
+
+    private final FolgenummerTabelle folgenummern = new FolgenummerTabelle();
+    private final ClassContext context;
+    private char[] schluessel = new char[32];
+    private int schluesselLaenge;
+
+    /**
+     * Legt einen neuen FolgenummerPruefer an.
+     *
+     * @param context Klasse, die bei einer Verletzung als Kontext angegeben
+     *        wird
+     */
+    public FolgenummerPruefer(final Class<?> context) {
+        this.context = new ClassContext(context);
+    }
+
+    /**
+     * Prueft die Folgenummer des uebergebenen Datensatzes. Eine falsche
+     * Folgenummer wird an die uebergebene Liste angehaengt.
+     *
+     * @param datensatz der naechste Datensatz
+     * @param violations Liste, an die die Verletzung angehaengt wird
+     * @return true, falls die Folgenummer stimmt
+     */
+    public boolean pruefe(final Datensatz datensatz, final List<ConstraintViolation> violations) {
+        setSchluessel(datensatz);
+        long hash = hash(schluessel, schluesselLaenge);
+        int expected = folgenummern.get(hash, schluessel, schluesselLaenge);
+        if (expected == 0) {
+            expected = 1;
+            folgenummern.put(hash, schluessel, schluesselLaenge, expected);
+        }
+        int folgenr = datensatz.getFolgenummer();
+        if (folgenr == expected) {
+            return true;
+        }
+        expected++;
+        folgenummern.put(hash, schluessel, schluesselLaenge, expected);
+        if (folgenr != expected) {
+            ConstraintViolation cv = new ConstraintViolation(new AssertCheck(),
+                    "falsche Folgenummer (erwartet: " + expected + ")", datensatz, folgenr, context);
+            violations.add(cv);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Liefert die Anzahl der bisher gemerkten Vertraege (d.h. der
+     * unterschiedlichen Kombinationen aus Versicherungsscheinnummer, Satzart
+     * und Sparte).
+     *
+     * @return Anzahl der Vertraege
+     */
+    public int size() {
+        return folgenummern.size();
+    }
+
+    /**
+     * Kopiert die (getrimmte) Versicherungsscheinnummer, die Satzart und die
+     * Sparte in den Schluessel-Puffer, ohne dafuer Strings anzulegen.
+     */
+    private void setSchluessel(final Datensatz datensatz) {
+        Feld nr = datensatz.getFeld(Feld1bis7.VERSICHERUNGSSCHEINNUMMER);
+        int from = 0;
+        int to = nr.getAnzahlBytes();
+        while ((from < to) && (nr.charAt(from) <= ' ')) {
+            from++;
+        }
+        while ((to > from) && (nr.charAt(to - 1) <= ' ')) {
+            to--;
+        }
+        Feld satzart = datensatz.getSatzartFeld();
+        Feld sparte = datensatz.getSparteFeld();
+        int laenge = to - from + 1 + satzart.getAnzahlBytes() + sparte.getAnzahlBytes();
+        if (schluessel.length < laenge) {
+            schluessel = new char[laenge];
+        }
+        int n = 0;
+        for (int i = from; i < to; i++) {
+            schluessel[n++] = nr.charAt(i);
+        }
+        schluessel[n++] = '|';
+        n = append(satzart, n);
+        schluesselLaenge = append(sparte, n);
+    }
+
+    private int append(final Feld feld, final int start) {
+        int n = start;
+        for (int i = 0; i < feld.getAnzahlBytes(); i++) {
+            schluessel[n++] = feld.charAt(i);
+        }
+        return n;
+    }
+
+    /**
+     * Bildet den Hash ueber den Schluessel (FNV-1a).
+     */
+    private static long hash(final char[] key, final int length) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < length; i++) {
+            hash = (hash ^ key[i]) * 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    /**
+     * Einfache Hash-Tabelle mit offener Adressierung (lineares Sondieren),
+     * die einen Schluessel auf die erwartete Folgenummer abbildet. Die
+     * Schluessel selbst stehen (mit vorangestellter Laenge) hintereinander
+     * in einem char-Array, die Tabelle merkt sich nur ihre Position. Da eine
+     * erwartete Folgenummer immer mindestens 1 ist, kennzeichnet der Wert 0
+     * einen freien Platz; eine nicht vorhandene Folgenummer wird als 0
+     * zurueckgegeben.
+     */
+    private static final class FolgenummerTabelle {
+
+        private long[] hashes = new long[1024];
+        private int[] values = new int[1024];
+        private int[] positionen = new int[1024];
+        private char[] schluessel = new char[16 * 1024];
+        private int belegt;
+        private int size;
+
+        int get(final long hash, final char[] key, final int length) {
+            int mask = hashes.length - 1;
+            for (int i = index(hash, mask); values[i] != 0; i = (i + 1) & mask) {
+                if ((hashes[i] == hash) && equals(positionen[i], key, length)) {
+                    return values[i];
+                }
+            }
+            return 0;
+        }
+
+        void put(final long hash, final char[] key, final int length, final int value) {
+            int mask = hashes.length - 1;
+            int i = index(hash, mask);
+            while (values[i] != 0) {
+                if ((hashes[i] == hash) && equals(positionen[i], key, length)) {
+                    values[i] = value;
+                    return;
+                }
+                i = (i + 1) & mask;
+            }
+            hashes[i] = hash;
+            values[i] = value;
+            positionen[i] = store(key, length);
+            size++;
+            if (size * 3 > hashes.length * 2) {
+                rehash();
+            }
+        }
+
+        int size() {
+            return size;
+        }
+
+        private boolean equals(final int pos, final char[] key, final int length) {
+            if (schluessel[pos] != length) {
+                return false;
+            }
+            for (int i = 0; i < length; i++) {
+                if (schluessel[pos + 1 + i] != key[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private int store(final char[] key, final int length) {
+            if (belegt + length + 1 > schluessel.length) {
+                schluessel = Arrays.copyOf(schluessel, Math.max(schluessel.length * 2, belegt + length + 1));
+            }
+            int pos = belegt;
+            schluessel[pos] = (char) length;
+            System.arraycopy(key, 0, schluessel, pos + 1, length);
+            belegt += length + 1;
+            return pos;
+        }
+
+        private void rehash() {
+            long[] oldHashes = hashes;
+            int[] oldValues = values;
+            int[] oldPositionen = positionen;
+            hashes = new long[oldHashes.length * 2];
+            values = new int[oldValues.length * 2];
+            positionen = new int[oldPositionen.length * 2];
+            int mask = hashes.length - 1;
+            for (int j = 0; j < oldHashes.length; j++) {
+                if (oldValues[j] != 0) {
+                    int i = index(oldHashes[j], mask);
+                    while (values[i] != 0) {
+                        i = (i + 1) & mask;
+                    }
+                    hashes[i] = oldHashes[j];
+                    values[i] = oldValues[j];
+                    positionen[i] = oldPositionen[j];
+                }
+            }
+        }
+
+        private static int index(final long key, final int mask) {
+            long h = key ^ (key >>> 33);
+            h *= 0xff51afd7ed558ccdL;
+            h ^= h >>> 33;
+            return (int) h & mask;
+        }
+
+    }
+
+}
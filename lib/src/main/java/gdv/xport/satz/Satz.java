@@ -3,19 +3,16 @@ package gdv.xport.satz;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import gdv.xport.annotation.FeldInfo;
 import gdv.xport.annotation.FelderInfo;
-import gdv.xport.config.Config;
 import gdv.xport.feld.Bezeichner;
 import gdv.xport.feld.Feld;
 import gdv.xport.feld.NumFeld;
 import gdv.xport.io.ImportException;
+import gdv.xport.io.Latin1Reader;
 import gdv.xport.io.PushbackLineNumberReader;
 import gdv.xport.satz.feld.MetaFeldInfo;
 import gdv.xport.satz.feld.common.Feld1bis7;
 import gdv.xport.util.SatzTyp;
 import net.sf.oval.ConstraintViolation;
-import net.sf.oval.Validator;
-import net.sf.oval.constraint.AssertCheck;
-import net.sf.oval.context.ClassContext;
 import org.apache.commons.lang.ArrayUtils;
 import org.apache.commons.lang.StringUtils;
 import org.apache.logging.log4j.LogManager;
@@ -23,7 +20,9 @@ import org.apache.logging.log4j.Logger;
 
 import java.io.*;
 import java.lang.reflect.Field;
+import java.nio.CharBuffer;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 import static gdv.xport.feld.Bezeichner.SATZART;
 import static gdv.xport.feld.Bezeichner.SPARTE;
@@ -38,8 +37,13 @@ import static patterntesting.runtime.NullConstants.NULL_STRING;
 public abstract class Satz {
 
 	private static final Logger LOG = LogManager.getLogger(Satz.class);
+	/** Vorlagen fuer die Teildatensaetze, Schluessel ist Satzart + Enums. */
+	private static final Map<List<Object>, List<Teildatensatz>> LAYOUTS =
+	        new ConcurrentHashMap<List<Object>, List<Teildatensatz>>();
 	private final NumFeld satzart = new NumFeld((SATZART), 4, 1);
 	private Teildatensatz[] teildatensatz = new Teildatensatz[0];
+	/** Index fuer den Zugriff auf die Felder, wird bei Bedarf neu aufgebaut. */
+	private FeldIndex feldIndex;
 
 	protected Satz(final int art) {
 		this(art, 1);
@@ -242,7 +246,7 @@ public abstract class Satz {
 	 * @param name Name des Feldes
 	 */
 	public void remove(final String name) {
-		this.remove(new Bezeichner(name));
+		this.remove(Bezeichner.of(name));
 	}
 
     /**
@@ -269,7 +273,7 @@ public abstract class Satz {
      * @param value the value
      */
     public void set(final String name, final String value) {
-        this.set(new Bezeichner(name), value);
+        this.set(Bezeichner.of(name), value);
     }
 
     /**
@@ -284,15 +288,11 @@ public abstract class Satz {
      * @since 2.0
      */
     public void set(final Bezeichner name, final String value) {
-        boolean found = false;
-        for (int i = 0; i < teildatensatz.length; i++) {
-            Feld x = teildatensatz[i].getFeld(name);
-            if (x != Feld.NULL_FELD) {
-                x.setInhalt(value);
-                found = true;
-            }
+        Feld[] felder = getFeldIndex().getFelder(name);
+        for (int i = 0; i < felder.length; i++) {
+            felder[i].setInhalt(value);
         }
-        if (!found) {
+        if (felder.length == 0) {
             throw new IllegalArgumentException("Feld \"" + name + "\" not found");
         }
     }
@@ -304,8 +304,7 @@ public abstract class Satz {
 	 * @param value neuer Inhalt
 	 */
 	public final void set(final Enum<?> feldX, final String value) {
-		String name = Feld.getAsBezeichnung(feldX);
-		this.set(name, value);
+		this.set(FeldIndex.getAsBezeichner(feldX), value);
 	}
 
     /**
@@ -338,7 +337,7 @@ public abstract class Satz {
 	 * gefunden wurde)
 	 */
 	public final String get(final String name) {
-		return get(new Bezeichner(name));
+		return get(Bezeichner.of(name));
 	}
 
     /**
@@ -365,8 +364,7 @@ public abstract class Satz {
 	 * @return Inhalt des gefundenden Felds
 	 */
 	public final String get(final Enum<?> feldX) {
-		String name = Feld.getAsBezeichnung(feldX);
-		return this.get(name);
+		return this.get(FeldIndex.getAsBezeichner(feldX));
 	}
 
 	/**
@@ -384,16 +382,9 @@ public abstract class Satz {
 	 * @throws IllegalArgumentException falls es das Feld nicht gibt
 	 */
 	public Feld getFeld(final Enum<?> feld) throws IllegalArgumentException {
-		for (int i = 0; i < teildatensatz.length; i++) {
-			try {
-				Feld x = teildatensatz[i].getFeld(feld);
-				if (x != Feld.NULL_FELD) {
-					return x;
-				}
-			} catch (IllegalArgumentException e) {
-                LOG.debug("Feld \"" + feld + "\" not found in teildatensatz " + i + " (" + e + ").");
-				continue;
-			}
+		Feld x = getFeldIndex().getFeld(feld);
+		if (x != Feld.NULL_FELD) {
+			return x;
 		}
 		throw new IllegalArgumentException("Feld \"" + feld + "\" nicht in " + this.toShortString()
 		        + " vorhanden!");
@@ -424,7 +415,7 @@ public abstract class Satz {
 	 * @throws IllegalArgumentException falls es das Feld nicht gibt
 	 */
 	public Feld getFeld(final String name) {
-		return this.getFeld(new Bezeichner(name));
+		return this.getFeld(Bezeichner.of(name));
 	}
 
     /**
@@ -434,12 +425,7 @@ public abstract class Satz {
      * @return true / false
      */
     public boolean hasFeld(final Bezeichner bezeichner) {
-        for (int i = 0; i < teildatensatz.length; i++) {
-            if (teildatensatz[i].hasFeld(bezeichner)) {
-                return true;
-            }
-        }
-        return false;
+        return getFeldIndex().hasFeld(bezeichner);
     }
 
     /**
@@ -450,16 +436,30 @@ public abstract class Satz {
      * @throws IllegalArgumentException falls es das Feld nicht gibt
      */
     public Feld getFeld(final Bezeichner bezeichner) {
-        for (int i = 0; i < teildatensatz.length; i++) {
-            Feld x = teildatensatz[i].getFeld(bezeichner);
-            if (x != Feld.NULL_FELD) {
-                return x;
-            }
+        Feld x = getFeldIndex().getFeld(bezeichner);
+        if (x != Feld.NULL_FELD) {
+            return x;
         }
         throw new IllegalArgumentException("Feld \"" + bezeichner + "\" nicht in " + this.toShortString()
                 + " vorhanden!");
     }
 
+    /**
+     * Liefert den Index fuer den Zugriff auf die Felder. Er wird beim ersten
+     * Zugriff und nach jeder strukturellen Aenderung an den Teildatensaetzen
+     * neu aufgebaut.
+     *
+     * @return aktueller Index
+     */
+    private FeldIndex getFeldIndex() {
+        FeldIndex index = this.feldIndex;
+        if ((index == null) || !index.isAktuell(this.teildatensatz)) {
+            index = new FeldIndex(this.teildatensatz);
+            this.feldIndex = index;
+        }
+        return index;
+    }
+
     /**
      * Liefert den Inhalt des gewuenschten Feldes.
      *
@@ -682,25 +682,59 @@ public abstract class Satz {
 	 * @throws IOException Signals that an I/O exception has occurred.
 	 */
 	public void importFrom(final String s) throws IOException {
-		int satzlength = getSatzlength(s);
+		importFrom(s, 0);
+	}
+
+	/**
+	 * Importiert den Satz ab der angegebenen Position. Anders als frueher
+	 * werden dabei fuer die einzelnen Teildatensaetze und Felder keine
+	 * Teilstrings mehr angelegt, sondern die Felder direkt ueber ihre
+	 * Position befuellt.
+	 *
+	 * @param s Zeichenkette mit den Teildatensaetzen
+	 * @param offset Position, an der der Satz beginnt
+	 * @throws IOException Signals that an I/O exception has occurred.
+	 * @since 3.1
+	 */
+	public void importFrom(final CharSequence s, final int offset) throws IOException {
+		int satzlength = getSatzlength(s, offset);
 		SortedSet<Integer> importedSatznummern = new TreeSet<>();
 		for (int i = 0; i < teildatensatz.length; i++) {
-			String input = s.substring(i * satzlength);
-			if (input.trim().isEmpty()) {
+			int start = offset + i * satzlength;
+			if (isBlank(s, start)) {
 				LOG.info("mehr Daten fuer Satz " + this.getSatzart() + " erwartet, aber nur " + i
 				        + " Teildatensaetze vorgefunden");
                 removeUnusedTeildatensaetze(importedSatznummern);
 				break;
 			}
-			int satznummer = input.charAt(255) - '0';
+			int satznummer = s.charAt(start + 255) - '0';
 			if ((satznummer < 1) || (satznummer > teildatensatz.length)) {
 			    satznummer = i + 1;
             }
-            teildatensatz[satznummer-1].importFrom(input);
+            teildatensatz[satznummer-1].importFrom(s, start);
             importedSatznummern.add(satznummer);
 		}
 	}
 
+	/**
+	 * Liefert true, wenn ab der angegebenen Position nur noch Leerzeichen
+	 * (bzw. Steuerzeichen) kommen. Dies entspricht einem
+	 * {@code s.substring(start).trim().isEmpty()}, nur ohne den Teilstring.
+	 *
+	 * @param s Zeichenkette
+	 * @param start Start-Position
+	 * @return true, wenn nichts mehr kommt
+	 * @since 3.1
+	 */
+	protected static boolean isBlank(final CharSequence s, final int start) {
+		for (int i = start; i < s.length(); i++) {
+			if (s.charAt(i) > ' ') {
+				return false;
+			}
+		}
+		return true;
+	}
+
     private final void removeUnusedTeildatensaetze(SortedSet<Integer> usedSatznummern) {
         Teildatensatz[] usedTeildatensaetze = new Teildatensatz[usedSatznummern.size()];
 	    int i = 0;
@@ -735,20 +769,33 @@ public abstract class Satz {
 	 * @return 256, 257 oder 258
 	 */
 	protected final int getSatzlength(final String s) {
+		return getSatzlength(s, 0);
+	}
+
+	/**
+	 * Ermittelt die Satzlaenge (256, 257 oder 258 Zeichen) ab der angegebenen
+	 * Position.
+	 *
+	 * @param s Zeichenkette mit den Teildatensaetzen
+	 * @param offset Position, an der der Satz beginnt
+	 * @return 256, 257 oder 258
+	 * @since 3.1
+	 */
+	protected final int getSatzlength(final CharSequence s, final int offset) {
 		int satzlength = 256;
-		try {
-			char c256 = s.charAt(256);
+		if (s.length() > offset + 256) {
+			char c256 = s.charAt(offset + 256);
 			if ((c256 == '\n') || (c256 == '\r')) {
 				satzlength = 257;
 			}
-			if (s.length() > satzlength) {
-				char c257 = s.charAt(257);
+			if (s.length() > offset + 257) {
+				char c257 = s.charAt(offset + 257);
 				if ((c257 == '\n') || (c257 == '\r')) {
 					satzlength = 258;
 				}
 			}
-		} catch (StringIndexOutOfBoundsException e) {
-			LOG.trace("end of string \"" + s + "\" reached", e);
+		} else {
+			LOG.trace("end of string reached at position {}", offset + 256);
 		}
 		return satzlength;
 	}
@@ -760,7 +807,7 @@ public abstract class Satz {
 	 * @throws IOException Signals that an I/O exception has occurred.
 	 */
 	public final void importFrom(final InputStream istream) throws IOException {
-		importFrom(new InputStreamReader(istream, Config.DEFAULT_ENCODING));
+		importFrom(new Latin1Reader(istream));
 	}
 
 	/**
@@ -790,20 +837,57 @@ public abstract class Satz {
 	 * @throws IOException Signals that an I/O exception has occurred.
 	 */
 	public void importFrom(final PushbackLineNumberReader reader) throws IOException {
+		importFrom(CharBuffer.wrap(readTeildatensaetze(reader)), 0);
+	}
+
+	/**
+	 * Liest die Teildatensaetze, die zu diesem Satz gehoeren, vom Reader ein,
+	 * ohne sie zu importieren. Das Ergebnis kann spaeter (z.B. in einem
+	 * anderen Thread) ueber {@link #importFrom(CharSequence, int)} importiert
+	 * werden. Zur Erkennung, wo der naechste Satz beginnt, wird dabei
+	 * {@link #matchesNextTeildatensatz(PushbackLineNumberReader, char[])}
+	 * verwendet.
+	 *
+	 * @param reader the reader
+	 * @return die eingelesenen Teildatensaetze (jeweils 256 Zeichen plus
+	 *         Zeilenvorschub)
+	 * @throws IOException Signals that an I/O exception has occurred.
+	 * @since 3.1
+	 */
+	public char[] readTeildatensaetze(final PushbackLineNumberReader reader) throws IOException {
 		char[] cbuf = new char[257 * teildatensatz.length];
+		readTeildatensaetze(reader, cbuf);
+		return cbuf;
+	}
+
+	/**
+	 * Liest die Teildatensaetze, die zu diesem Satz gehoeren, in den
+	 * uebergebenen Puffer ein, ohne sie zu importieren. Damit kann derselbe
+	 * Puffer fuer mehrere Saetze verwendet werden. Er muss (mindestens)
+	 * 257 Zeichen pro Teildatensatz gross sein.
+	 *
+	 * @param reader the reader
+	 * @param cbuf Puffer fuer die Teildatensaetze (jeweils 256 Zeichen plus
+	 *        Zeilenvorschub)
+	 * @return Anzahl der eingelesenen Zeichen
+	 * @throws IOException Signals that an I/O exception has occurred.
+	 * @since 3.1
+	 * @see #readTeildatensaetze(PushbackLineNumberReader)
+	 */
+	public int readTeildatensaetze(final PushbackLineNumberReader reader, final char[] cbuf) throws IOException {
 		char[] feld1to7 = null;
 		for (int i = 0; i < teildatensatz.length; i++) {
             reader.skipNewline();
 			if (!matchesNextTeildatensatz(reader, feld1to7)) {
 				LOG.info((teildatensatz.length - i) + " more Teildatensaetze expected for " + this
 				        + ", but Satzart or Sparte or Wagnisart or TeildatensatzNummer has changed");
-				break;
+				return i * 257;
 			}
 			importFrom(reader, cbuf, i * 257);
 			cbuf[i * 257 + 256] = '\n';
 			feld1to7 = Arrays.copyOfRange(cbuf, i*257,  i*257 + 42);
 		}
-		importFrom(new String(cbuf));
+		return teildatensatz.length * 257;
 	}
 
 	/**
@@ -887,25 +971,13 @@ public abstract class Satz {
 	}
 
 	/**
-	 * Validiert die einzelnen Teildatensaetze.
+	 * Validiert die einzelnen Teildatensaetze. Seit 3.1 wird dazu der
+	 * {@link SatzValidator} verwendet.
 	 *
 	 * @return Liste mit Constraint-Verletzungen
 	 */
 	public List<ConstraintViolation> validate() {
-		Validator validator = new Validator();
-		List<ConstraintViolation> violations = validator.validate(this);
-		if (!this.satzart.isValid()) {
-			ConstraintViolation cv = new ConstraintViolation(new AssertCheck(), "invalid Satzart "
-			        + this.satzart.getInhalt(), this, this.satzart, new ClassContext(
-			        this.getClass()));
-			violations.add(cv);
-		}
-		if (this.teildatensatz != null) {
-			for (int i = 0; i < teildatensatz.length; i++) {
-				violations.addAll(teildatensatz[i].validate());
-			}
-		}
-		return violations;
+		return SatzValidator.validate(this);
 	}
 
 	/*
@@ -979,12 +1051,39 @@ public abstract class Satz {
 	/**
 	 * Hier passiert die Magie: die Annotationen der uebergebenen Enum werden
 	 * ausgelesen und in eine Liste mit den Teildatensaetzen gepackt.
+	 * <p>
+	 * Seit 3.1 passiert dies nur noch einmal pro Satzart und Enum-Beschreibung.
+	 * Danach werden nur noch Kopien der einmal aufgebauten Teildatensaetze
+	 * zurueckgegeben, ohne dass dazu Reflection noetig ist.
+	 * </p>
 	 *
 	 * @param satzart the satzart
 	 * @param felder the felder
 	 * @return eine Liste mit Teildatensaetzen
 	 */
 	protected static List<Teildatensatz> getTeildatensaetzeFor(final int satzart,
+	        final Enum<?>[] felder) {
+		List<Object> key = new ArrayList<Object>(felder.length + 1);
+		key.add(satzart);
+		key.addAll(Arrays.asList(felder));
+		List<Teildatensatz> layout = LAYOUTS.get(key);
+		if (layout == null) {
+			layout = createTeildatensaetzeFor(satzart, felder);
+			LAYOUTS.putIfAbsent(key, layout);
+		}
+		List<Teildatensatz> teildatensaetze = new ArrayList<Teildatensatz>(layout.size());
+		for (Teildatensatz tds : layout) {
+			teildatensaetze.add(new Teildatensatz(tds));
+		}
+		return teildatensaetze;
+	}
+
+	/**
+	 * Hier werden die Annotationen ueber Reflection ausgewertet. Da dies recht
+	 * teuer ist, wird das Ergebnis als Vorlage in {@link #LAYOUTS} abgelegt
+	 * und darf danach nicht mehr veraendert werden.
+	 */
+	private static List<Teildatensatz> createTeildatensaetzeFor(final int satzart,
 	        final Enum<?>[] felder) {
 		SortedMap<Integer, Teildatensatz> tdsMap = new TreeMap<Integer, Teildatensatz>();
 		List<MetaFeldInfo> metaFeldInfos = getMetaFeldInfos(felder);
@@ -1140,24 +1239,7 @@ public abstract class Satz {
      * @since 1.2
      */
     public Collection<Feld> getFelder() {
-        List<Feld> felder = new ArrayList<Feld>();
-        for (Teildatensatz tds : this.getTeildatensaetze()) {
-            for (Feld feld : tds.getFelder()) {
-                if (!contains(feld.getBezeichner(), felder)) {
-                    felder.add(feld);
-                }
-            }
-        }
-        return felder;
-    }
-
-    private static boolean contains(Bezeichner bezeichner, List<Feld> felder) {
-        for (Feld feld : felder) {
-            if (bezeichner.equals(feld.getBezeichner())) {
-                return true;
-            }
-        }
-        return false;
+        return new ArrayList<Feld>(getFeldIndex().getFelder());
     }
 
 }
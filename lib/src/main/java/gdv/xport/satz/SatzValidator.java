@@ -0,0 +1,340 @@
+/*
+ * Copyright (c) 2026 by Oli B.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * (c)reated 16.10.2026 by Oli B. (ob@aosd.de)
+ */
+
+
+package gdv.xport.satz;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import gdv.xport.feld.Align;
+import gdv.xport.feld.Bezeichner;
+import gdv.xport.feld.Datum;
+import gdv.xport.feld.Feld;
+import gdv.xport.feld.NumFeld;
+import gdv.xport.util.SatzTyp;
+import net.sf.oval.ConstraintViolation;
+import net.sf.oval.constraint.AssertCheck;
+import net.sf.oval.context.ClassContext;
+
+/**
+ * Der SatzValidator prueft einen Satz mit allen seinen Teildatensaetzen und
+ * Feldern. Anders als frueher wird dazu nicht mehr fuer jeden Satz, jeden
+ * Teildatensatz und jedes Feld ein neuer OVal-Validator angelegt.
+ * Stattdessen werden die Regeln pro {@link SatzTyp} einmal aus dem Layout
+ * des ersten Satzes abgeleitet und danach fuer alle weiteren Saetze dieses
+ * Typs wiederverwendet.
+ * <p>
+ * Die Regeln merken sich je Feld Typ, Position, Laenge und Ausrichtung
+ * sowie die Pruefung, die fuer den Inhalt noetig ist (keine fuer
+ * alphanumerische Felder, Ziffern bei einem {@link NumFeld}, gueltiges
+ * Datum bei einem {@link Datum}). Passt ein Feld zur Regel, steht bereits
+ * fest, dass es strukturell in Ordnung ist, und es wird nur noch diese
+ * Inhaltspruefung durchgefuehrt. Erst wenn dabei ein Fehler erkannt wird,
+ * werden die Constraint-Verletzungen ueber {@link Feld#validate()}
+ * ermittelt. Felder, die nicht zu den Regeln passen, werden immer ueber
+ * {@link Feld#validate()} geprueft.
+ * </p>
+ * <p>
+ * Die Klasse ist thread-safe: die einmal abgeleiteten Regeln werden nicht
+ * mehr veraendert.
+ * </p>
+ *
+ * @author oliver
+ * @since 3.1 (16.10.2026)
+ */
+public final class SatzValidator {
+
+    private static final Logger LOG = LogManager.getLogger(SatzValidator.class);
+
+    /** Die bisher abgeleiteten Regeln pro Satz-Typ. */
+    private static final Map<SatzTyp, Regelwerk> REGELWERKE = new ConcurrentHashMap<SatzTyp, Regelwerk>();
+
+    /** Feld-Klassen, deren Pruefung einer {@link Inhaltspruefung} entspricht. */
+    private static final Map<Class<?>, Boolean> STANDARD_KLASSEN = new ConcurrentHashMap<Class<?>, Boolean>();
+
+    /** Utility-Klasse - wird nicht instanziiert. */
+    private SatzValidator() {
+    }
+
+    /**
+     * Validiert den uebergebenen Satz mit allen seinen Teildatensaetzen.
+     *
+     * @param satz der zu pruefende Satz
+     * @return Liste mit Constraint-Verletzungen
+     */
+    public static List<ConstraintViolation> validate(final Satz satz) {
+        List<ConstraintViolation> violations = new ArrayList<ConstraintViolation>();
+        validate(satz, violations);
+        return violations;
+    }
+
+    /**
+     * Validiert den uebergebenen Satz und haengt die gefundenen
+     * Constraint-Verletzungen an die uebergebene Liste an.
+     *
+     * @param satz der zu pruefende Satz
+     * @param violations Liste, an die die Verletzungen angehaengt werden
+     */
+    public static void validate(final Satz satz, final List<ConstraintViolation> violations) {
+        NumFeld satzart = satz.getSatzartFeld();
+        if (!satzart.isValid()) {
+            ConstraintViolation cv = new ConstraintViolation(new AssertCheck(), "invalid Satzart "
+                    + satzart.getInhalt(), satz, satzart, new ClassContext(satz.getClass()));
+            violations.add(cv);
+        }
+        List<Teildatensatz> teildatensaetze = satz.getTeildatensaetze();
+        Regelwerk regelwerk = getRegelwerk(satz, teildatensaetze);
+        for (int i = 0; i < teildatensaetze.size(); i++) {
+            Teildatensatz tds = teildatensaetze.get(i);
+            if (tds.getClass() != Teildatensatz.class) {
+                violations.addAll(tds.validate());
+            } else {
+                validate(tds, regelwerk.getRegeln(i), violations);
+            }
+        }
+    }
+
+    private static void validate(final Teildatensatz tds, final Map<Bezeichner, FeldRegel> regeln,
+            final List<ConstraintViolation> violations) {
+        for (Map.Entry<Bezeichner, Feld> entry : tds.getDatenfelder().entrySet()) {
+            Feld feld = entry.getValue();
+            FeldRegel regel = regeln.get(entry.getKey());
+            if ((regel != null) && regel.passt(feld)) {
+                if (!regel.hatGueltigenInhalt(feld)) {
+                    violations.addAll(feld.validate());
+                }
+            } else {
+                violations.addAll(feld.validate());
+            }
+        }
+    }
+
+    private static Regelwerk getRegelwerk(final Satz satz, final List<Teildatensatz> teildatensaetze) {
+        SatzTyp satzTyp;
+        try {
+            satzTyp = satz.getSatzTyp();
+        } catch (RuntimeException ex) {
+            LOG.debug("Satz-Typ von {} nicht ermittelbar ({}) - Regeln werden nicht gemerkt.", satz, ex);
+            return new Regelwerk(teildatensaetze);
+        }
+        Regelwerk regelwerk = REGELWERKE.get(satzTyp);
+        if (regelwerk == null) {
+            regelwerk = new Regelwerk(teildatensaetze);
+            Regelwerk vorhanden = REGELWERKE.putIfAbsent(satzTyp, regelwerk);
+            if (vorhanden != null) {
+                regelwerk = vorhanden;
+            }
+        }
+        return regelwerk;
+    }
+
+    /**
+     * Prueft, ob die validate()-Methode der uebergebenen Feld-Klasse
+     * bei strukturell korrekten Feldern genau dann Verletzungen liefert,
+     * wenn die {@link Inhaltspruefung} fehlschlaegt. Das ist fuer
+     * {@link Feld}, {@link NumFeld} und {@link Datum} der Fall, nicht aber
+     * fuer (unbekannte) Klassen, die validate() oder isValid()
+     * ueberschreiben.
+     */
+    private static boolean isStandardKlasse(final Class<?> klasse) {
+        Boolean standard = STANDARD_KLASSEN.get(klasse);
+        if (standard == null) {
+            try {
+                standard = isStandardDeklaration(klasse.getMethod("validate").getDeclaringClass())
+                        && isStandardDeklaration(klasse.getMethod("isValid").getDeclaringClass());
+            } catch (NoSuchMethodException ex) {
+                LOG.debug("{} hat keine validate()- oder isValid()-Methode:", klasse, ex);
+                standard = Boolean.FALSE;
+            }
+            STANDARD_KLASSEN.put(klasse, standard);
+        }
+        return standard;
+    }
+
+    private static boolean isStandardDeklaration(final Class<?> deklariert) {
+        return (deklariert == Feld.class) || (deklariert == NumFeld.class) || (deklariert == Datum.class);
+    }
+
+    /**
+     * Die Regeln fuer alle Teildatensaetze eines Satz-Typs.
+     */
+    private static final class Regelwerk {
+
+        private final List<Map<Bezeichner, FeldRegel>> regeln;
+
+        Regelwerk(final List<Teildatensatz> teildatensaetze) {
+            List<Map<Bezeichner, FeldRegel>> liste = new ArrayList<Map<Bezeichner, FeldRegel>>(
+                    teildatensaetze.size());
+            for (Teildatensatz tds : teildatensaetze) {
+                Map<Bezeichner, Feld> felder = tds.getDatenfelder();
+                Map<Bezeichner, FeldRegel> map = new HashMap<Bezeichner, FeldRegel>(felder.size() * 4 / 3 + 1);
+                for (Map.Entry<Bezeichner, Feld> entry : felder.entrySet()) {
+                    FeldRegel regel = FeldRegel.of(entry.getValue());
+                    if (regel != null) {
+                        map.put(entry.getKey(), regel);
+                    }
+                }
+                liste.add(map);
+            }
+            this.regeln = liste;
+        }
+
+        Map<Bezeichner, FeldRegel> getRegeln(final int i) {
+            if (i < regeln.size()) {
+                return regeln.get(i);
+            }
+            return Collections.emptyMap();
+        }
+
+    }
+
+    /**
+     * Die Regel fuer ein einzelnes Feld. Sie wird nur fuer Felder angelegt,
+     * die strukturell in Ordnung sind (Byte-Adresse &gt;= 1, Feld endet
+     * innerhalb des Teildatensatzes, Ausrichtung bekannt).
+     */
+    private static final class FeldRegel {
+
+        private final Class<?> klasse;
+        private final int byteAdresse;
+        private final int anzahlBytes;
+        private final Align ausrichtung;
+        private final Inhaltspruefung pruefung;
+
+        private FeldRegel(final Feld feld) {
+            this.klasse = feld.getClass();
+            this.byteAdresse = feld.getByteAdresse();
+            this.anzahlBytes = feld.getAnzahlBytes();
+            this.ausrichtung = feld.getAusrichtung();
+            this.pruefung = Inhaltspruefung.of(feld);
+        }
+
+        static FeldRegel of(final Feld feld) {
+            if ((feld.getByteAdresse() < 1) || (feld.getEndAdresse() > 256)
+                    || (feld.getAusrichtung() == Align.UNKNOWN) || !isStandardKlasse(feld.getClass())) {
+                return null;
+            }
+            return new FeldRegel(feld);
+        }
+
+        boolean passt(final Feld feld) {
+            return (feld.getClass() == klasse) && (feld.getByteAdresse() == byteAdresse)
+                    && (feld.getAnzahlBytes() == anzahlBytes) && (feld.getAusrichtung() == ausrichtung);
+        }
+
+        /**
+         * Prueft nur noch den Inhalt eines Feldes, das zu dieser Regel
+         * passt (siehe {@link #passt(Feld)}).
+         *
+         * @param feld das Feld
+         * @return true, wenn der Inhalt gueltig ist
+         */
+        boolean hatGueltigenInhalt(final Feld feld) {
+            return pruefung.hatGueltigenInhalt(feld);
+        }
+
+    }
+
+    /**
+     * Die Pruefung des Feld-Inhalts, die beim Anlegen einer {@link FeldRegel}
+     * anhand der Feld-Klasse festgelegt wird. Sie entspricht dem
+     * inhaltlichen Teil von {@link Feld#validate()}.
+     */
+    private enum Inhaltspruefung {
+
+        /** Alphanumerische Felder haben keine Vorgaben fuer den Inhalt. */
+        KEINE {
+            @Override
+            boolean hatGueltigenInhalt(final Feld feld) {
+                return true;
+            }
+        },
+
+        /** Ein {@link NumFeld} muss leer sein oder eine Zahl enthalten. */
+        ZAHL {
+            @Override
+            boolean hatGueltigenInhalt(final Feld feld) {
+                if (hatNurZiffern(feld)) {
+                    return true;
+                }
+                NumFeld zahl = (NumFeld) feld;
+                if (zahl.isEmpty()) {
+                    return true;
+                }
+                try {
+                    zahl.toLong();
+                    return true;
+                } catch (NumberFormatException nfe) {
+                    return false;
+                }
+            }
+        },
+
+        /** Ein {@link Datum} muss leer sein oder ein gueltiges Datum enthalten. */
+        DATUM {
+            @Override
+            boolean hatGueltigenInhalt(final Feld feld) {
+                Datum datum = (Datum) feld;
+                return datum.isEmpty() || datum.hasValidDate();
+            }
+        };
+
+        /** Mit bis zu 18 Ziffern kann es keinen Ueberlauf bei toLong() geben. */
+        private static final int MAX_ZIFFERN = 18;
+
+        abstract boolean hatGueltigenInhalt(final Feld feld);
+
+        static Inhaltspruefung of(final Feld feld) {
+            if (feld instanceof NumFeld) {
+                return ZAHL;
+            } else if (feld instanceof Datum) {
+                return DATUM;
+            }
+            return KEINE;
+        }
+
+        /**
+         * Der haeufigste Fall bei einem {@link NumFeld}: der Inhalt besteht
+         * nur aus Ziffern. Dann kann er ohne Umwandlung als gueltig
+         * erkannt werden.
+         */
+        private static boolean hatNurZiffern(final Feld feld) {
+            int n = feld.getAnzahlBytes();
+            if (n > MAX_ZIFFERN) {
+                return false;
+            }
+            for (int i = 0; i < n; i++) {
+                char c = feld.charAt(i);
+                if ((c < '0') || (c > '9')) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+    }
+
+}
@@ -24,6 +24,7 @@ import static gdv.xport.feld.Bezeichner.SATZNUMMER;
 
 import java.io.IOException;
 import java.io.Writer;
+import java.nio.CharBuffer;
 import java.util.*;
 import java.util.Map.Entry;
 
@@ -34,7 +35,6 @@ import gdv.xport.config.Config;
 import gdv.xport.feld.*;
 import gdv.xport.io.ImportException;
 import net.sf.oval.ConstraintViolation;
-import net.sf.oval.Validator;
 
 /**
  * Ein Teildatensatz hat immer genau 256 Bytes. Dies wird beim Export
@@ -57,6 +57,26 @@ public class Teildatensatz extends Satz {
     /** Dieses Feld brauchen wir, um die Satznummer abzuspeichern. */
     private final Zeichen satznummer = new Zeichen(SATZNUMMER, 256);
 
+    /**
+     * Gemeinsamer Puffer fuer die Felder dieses Teildatensatzes. Die Felder
+     * sind nur Sichten auf ihren jeweiligen Abschnitt in diesem Puffer.
+     */
+    private final char[] data = createEmptyData();
+
+    /**
+     * Zusammenhaengende Bereiche (Start, Ende) der Felder im Puffer. Sie
+     * werden beim Import am Stueck kopiert und bei jeder Aenderung der Felder
+     * neu ermittelt.
+     */
+    private int[] importBereiche;
+
+    /**
+     * Wird bei jeder strukturellen Aenderung (Hinzufuegen oder Entfernen von
+     * Feldern) hochgezaehlt. Darueber erkennt der {@link FeldIndex} des
+     * umgebenden Satzes, dass er neu aufgebaut werden muss.
+     */
+    private int modCount;
+
     /**
      * Instantiiert einen neuen Teildatensatz mit der angegebenen Satzart.
      *
@@ -100,11 +120,41 @@ public class Teildatensatz extends Satz {
      */
     public Teildatensatz(final Teildatensatz other) {
         this(other.getSatzart(), other.getNummer().toInt());
+        Map<Feld, Feld> copies = new IdentityHashMap<Feld, Feld>();
+        copies.put(other.getSatzartFeld(), this.getSatzartFeld());
+        copies.put(other.satznummer, this.satznummer);
+        this.satznummer.setInhalt(other.satznummer.getInhalt());
+        for (Feld feld : this.datenfelder.values()) {
+            release(feld);
+        }
+        this.datenfelder.clear();
+        this.sortedFelder.clear();
         for (Entry<Bezeichner, Feld> entry : other.datenfelder.entrySet()) {
-            Feld copy = (Feld) entry.getValue().clone();
-            this.datenfelder.put(entry.getKey(), copy);
-            this.sortedFelder.add(copy);
+            this.datenfelder.put(entry.getKey(), getCopy(entry.getValue(), copies));
         }
+        this.modCount++;
+        for (Feld feld : other.sortedFelder) {
+            this.sortedFelder.add(getCopy(feld, copies));
+        }
+        for (Feld feld : this.datenfelder.values()) {
+            bind(feld);
+        }
+        this.importBereiche = null;
+    }
+
+    private static char[] createEmptyData() {
+        char[] empty = new char[256];
+        Arrays.fill(empty, ' ');
+        return empty;
+    }
+
+    private static Feld getCopy(final Feld feld, final Map<Feld, Feld> copies) {
+        Feld copy = copies.get(feld);
+        if (copy == null) {
+            copy = (Feld) feld.clone();
+            copies.put(feld, copy);
+        }
+        return copy;
     }
 
     /**
@@ -171,8 +221,48 @@ public class Teildatensatz extends Satz {
                 }
             }
         }
-        datenfelder.put(feld.getBezeichner(), feld);
+        importBereiche = null;
+        modCount++;
+        Feld replaced = datenfelder.put(feld.getBezeichner(), feld);
+        if ((replaced != null) && (replaced != feld)) {
+            release(replaced);
+        }
         sortedFelder.add(feld);
+        bind(feld);
+    }
+
+    /**
+     * Bindet das Feld an den Puffer dieses Teildatensatzes. Felder, die
+     * ueber die Grenze des Teildatensatzes hinausgehen, behalten ihren
+     * eigenen Puffer. Ein Feld, das sich mehrere Teildatensaetze teilen
+     * (wie z.B. die Satzart), ist immer nur an einen Puffer gebunden.
+     *
+     * @param feld das Feld
+     */
+    private void bind(final Feld feld) {
+        int start = (feld.getByteAdresse() - 1) % 256;
+        if ((start >= 0) && (start + feld.getAnzahlBytes() <= 256)) {
+            feld.bindTo(data, start);
+        }
+    }
+
+    /**
+     * Loest das Feld vom Puffer dieses Teildatensatzes und loescht den
+     * entsprechenden Abschnitt im Puffer. Der Abschnitt wird auch dann
+     * geloescht, wenn das Feld an den Puffer eines anderen Teildatensatzes
+     * gebunden ist, da sein Inhalt beim Export hierher kopiert wurde.
+     *
+     * @param feld das Feld
+     */
+    private void release(final Feld feld) {
+        importBereiche = null;
+        if (feld.isBoundTo(data)) {
+            feld.unbind();
+        }
+        int start = (feld.getByteAdresse() - 1) % 256;
+        if ((start >= 0) && (start + feld.getAnzahlBytes() <= 256)) {
+            Arrays.fill(data, start, start + feld.getAnzahlBytes(), ' ');
+        }
     }
 
     /**
@@ -208,7 +298,11 @@ public class Teildatensatz extends Satz {
      */
     @Override
     public void remove(final Bezeichner bezeichner) {
-        this.datenfelder.remove(bezeichner);
+        Feld removed = this.datenfelder.remove(bezeichner);
+        if (removed != null) {
+            modCount++;
+            release(removed);
+        }
     }
 
     /**
@@ -239,9 +333,9 @@ public class Teildatensatz extends Satz {
      */
     @Override
     public Feld getFeld(final Enum<?> feldX) throws IllegalArgumentException {
-        Feld found = getFeld(feldX.name());
+        Feld found = getFeld(FeldIndex.getNamensBezeichner(feldX));
         if (found == Feld.NULL_FELD) {
-            found = getFeld(Feld.toBezeichnung(feldX));
+            found = getFeld(FeldIndex.getFeldInfoBezeichner(feldX));
         }
         return found;
     }
@@ -280,7 +374,7 @@ public class Teildatensatz extends Satz {
      * @since 0.9
      */
     public boolean hasFeld(final Enum<?> feldX) {
-        return this.hasFeld(new Bezeichner(Feld.toBezeichnung(feldX)));
+        return this.hasFeld(FeldIndex.getFeldInfoBezeichner(feldX));
     }
 
     /**
@@ -324,6 +418,28 @@ public class Teildatensatz extends Satz {
         return new TreeSet<Feld>(datenfelder.values());
     }
 
+    /**
+     * Liefert die Datenfelder mit ihrem Bezeichner (ohne Kopie und ohne
+     * Sortierung) fuer den Aufbau des {@link FeldIndex}.
+     *
+     * @return nicht veraenderbare Sicht auf die Datenfelder
+     * @since 3.1
+     */
+    Map<Bezeichner, Feld> getDatenfelder() {
+        return Collections.unmodifiableMap(datenfelder);
+    }
+
+    /**
+     * Liefert den Aenderungszaehler, der bei jedem Hinzufuegen oder Entfernen
+     * eines Feldes hochgezaehlt wird.
+     *
+     * @return Aenderungszaehler
+     * @since 3.1
+     */
+    int getModCount() {
+        return modCount;
+    }
+
     /* (non-Javadoc)
      * @see gdv.xport.satz.Datensatz#export(java.io.Writer)
      */
@@ -338,36 +454,114 @@ public class Teildatensatz extends Satz {
      */
     @Override
     public void export(final Writer writer, final String eod) throws IOException {
-        StringBuilder data = new StringBuilder(256);
-        for (int i = 0; i < 256; i++) {
-            data.append(' ');
+        for (Feld feld : datenfelder.values()) {
+            if (!feld.isBoundTo(data)) {
+                int start = (feld.getByteAdresse() - 1) % 256;
+                if (start + feld.getAnzahlBytes() > 256) {
+                    exportSlow(writer, eod);
+                    return;
+                }
+                feld.copyTo(data, start);
+            }
         }
-        for (Entry<Bezeichner, Feld> entry : datenfelder.entrySet()) {
-            Feld feld = datenfelder.get(entry.getKey());
+        writer.write(data);
+        writer.write(eod);
+    }
+
+    /**
+     * Felder, die nicht in den Puffer passen (und damit eigentlich ungueltig
+     * sind), werden wie bisher einzeln zusammengesetzt.
+     */
+    private void exportSlow(final Writer writer, final String eod) throws IOException {
+        StringBuilder sbuf = new StringBuilder(256).append(data);
+        for (Feld feld : datenfelder.values()) {
             int start = (feld.getByteAdresse() - 1) % 256;
             int end = start + feld.getAnzahlBytes();
-            data.replace(start, end, feld.getInhalt());
+            sbuf.replace(start, end, feld.getInhalt());
         }
-        assert data.length() == 256 : "Teildatensatz ist nicht 256 Bytes lang";
-        writer.write(data.toString());
+        writer.write(sbuf.toString());
         writer.write(eod);
     }
 
-    /* (non-Javadoc)
-     * @see gdv.xport.satz.Satz#importFrom(java.lang.String)
+    /**
+     * Importiert die einzelnen Felder direkt ueber ihre Position, ohne dass
+     * fuer den Teildatensatz oder die Felder Teilstrings angelegt werden.
+     * <p>
+     * Da die Felder nur Sichten auf den Puffer des Teildatensatzes sind,
+     * werden hier nur die zusammenhaengenden Bereiche der Felder am Stueck in
+     * den Puffer kopiert. Ein Aufruf von {@link Feld#getInhalt()} legt aber
+     * nach wie vor jedes Mal einen neuen String an. Nur Felder, die (noch) an
+     * einen anderen Puffer gebunden sind, werden einzeln gesetzt.
+     * </p>
+     *
+     * @param content Inhalt, der importiert wird
+     * @param offset Position, an der der Teildatensatz beginnt
+     * @throws IOException falls der Inhalt zu kurz ist
+     * @see gdv.xport.satz.Satz#importFrom(java.lang.CharSequence, int)
+     * @since 3.1
      */
     @Override
-    public void importFrom(final String content) throws IOException {
+    public void importFrom(final CharSequence content, final int offset) throws IOException {
+        int[] bereiche = getImportBereiche();
+        for (int i = 0; i < bereiche.length; i += 2) {
+            checkLength(content, offset, offset + bereiche[i + 1]);
+            copy(content, offset + bereiche[i], data, bereiche[i], bereiche[i + 1] - bereiche[i]);
+        }
         for (Feld feld : datenfelder.values()) {
-            int begin = (feld.getByteAdresse() - 1) % 256;
-            int end = begin + feld.getAnzahlBytes();
-            if (end > content.length()) {
-                throw new ImportException("input string is too short (" + (end - content.length())
-                        + " bytes missing): " + content);
+            if (!feld.isBoundTo(data)) {
+                int begin = offset + (feld.getByteAdresse() - 1) % 256;
+                checkLength(content, offset, begin + feld.getAnzahlBytes());
+                feld.setInhalt(content, begin);
+            }
+        }
+    }
+
+    private static void checkLength(final CharSequence content, final int offset, final int end)
+            throws ImportException {
+        if (end > content.length()) {
+            throw new ImportException("input string is too short (" + (end - content.length())
+                    + " bytes missing): " + content.subSequence(offset, content.length()));
+        }
+    }
+
+    private static void copy(final CharSequence src, final int srcPos, final char[] dest, final int destPos,
+            final int length) {
+        if (src instanceof String) {
+            ((String) src).getChars(srcPos, srcPos + length, dest, destPos);
+        } else if ((src instanceof CharBuffer) && ((CharBuffer) src).hasArray()) {
+            CharBuffer buffer = (CharBuffer) src;
+            System.arraycopy(buffer.array(), buffer.arrayOffset() + buffer.position() + srcPos, dest, destPos,
+                    length);
+        } else {
+            for (int i = 0; i < length; i++) {
+                dest[destPos + i] = src.charAt(srcPos + i);
+            }
+        }
+    }
+
+    private int[] getImportBereiche() {
+        if (importBereiche == null) {
+            SortedMap<Integer, Integer> bereiche = new TreeMap<Integer, Integer>();
+            for (Feld feld : datenfelder.values()) {
+                if (feld.isBoundTo(data)) {
+                    int start = (feld.getByteAdresse() - 1) % 256;
+                    Integer end = bereiche.get(start);
+                    bereiche.put(start, Math.max(start + feld.getAnzahlBytes(), (end == null) ? 0 : end));
+                }
+            }
+            int[] merged = new int[bereiche.size() * 2];
+            int n = 0;
+            for (Entry<Integer, Integer> entry : bereiche.entrySet()) {
+                if ((n > 0) && (merged[n - 1] >= entry.getKey())) {
+                    merged[n - 1] = Math.max(merged[n - 1], entry.getValue());
+                } else {
+                    merged[n++] = entry.getKey();
+                    merged[n++] = entry.getValue();
+                }
             }
-            String s = content.substring(begin, end);
-            feld.setInhalt(s);
+            importBereiche = Arrays.copyOf(merged, n);
         }
+        return importBereiche;
     }
 
     /* (non-Javadoc)
@@ -392,8 +586,7 @@ public class Teildatensatz extends Satz {
      */
     @Override
     public List<ConstraintViolation> validate() {
-        Validator validator = new Validator();
-        List<ConstraintViolation> violations = validator.validate(this);
+        List<ConstraintViolation> violations = new ArrayList<ConstraintViolation>();
         for (Feld feld : datenfelder.values()) {
             violations.addAll(feld.validate());
         }
@@ -90,60 +90,61 @@ public class Satz220 extends SpartensatzX {
      * Sparte 30 und 40 hat optionale Teildatensaetze (Teildatensatz 9). Den
      * muessen wir gesondert behandeln.
      *
-     * @see gdv.xport.satz.Satz#importFrom(java.lang.String)
+     * @see gdv.xport.satz.Satz#importFrom(java.lang.CharSequence, int)
      * @param input Inupt
+     * @param offset Position, an der der Satz beginnt
      * @throws IOException falls der String zu kurz ist
      */
     @Override
-    public void importFrom(final String input) throws IOException {
+    public void importFrom(final CharSequence input, final int offset) throws IOException {
         switch (this.getSparte()) {
             case 30:
-                importSparte(30, input, 48);
+                importSparte(30, input, offset, 48);
                 break;
             case 40:
-                importSparte(40, input, 50);
+                importSparte(40, input, offset, 50);
                 break;
             default:
-                super.importFrom(input);
+                super.importFrom(input, offset);
                 break;
         }
     }
 
-    private void importSparte(int sparte, final String s, int indexSatznummer) throws IOException {
+    private void importSparte(int sparte, final CharSequence s, final int offset, int indexSatznummer)
+            throws IOException {
         this.removeAllTeildatensaetze();
-        int satzlength = getSatzlength(s);
-        for (int i = 0; i < s.length(); i += satzlength) {
-            String input = s.substring(i);
-            if (input.trim().isEmpty()) {
+        int satzlength = getSatzlength(s, offset);
+        for (int i = offset; i < s.length(); i += satzlength) {
+            if (isBlank(s, i)) {
                 break;
             }
-            char satznummer = input.charAt(indexSatznummer);
+            char satznummer = s.charAt(i + indexSatznummer);
             switch (satznummer) {
                 case '1':
-                    addTeildatensatz(1, input);
+                    addTeildatensatz(1, s, i);
                     break;
                 case '2':
-                    addTeildatensatz(2, input);
+                    addTeildatensatz(2, s, i);
                     break;
                 default:
-                    if ((sparte == 30) && (input.charAt(42) == '3')) {
-                        addTeildatensatz(3, input);
-                    } else if ((sparte == 30) && (input.charAt(59) == '9')) {
-                        addTeildatensatz(9, input);
+                    if ((sparte == 30) && (s.charAt(i + 42) == '3')) {
+                        addTeildatensatz(3, s, i);
+                    } else if ((sparte == 30) && (s.charAt(i + 59) == '9')) {
+                        addTeildatensatz(9, s, i);
                     } else {
                         throw new ImportException("Satz 0220.0" + sparte + ": unbekannter Teildatensatz \""
-                                + input.substring(0, 60) + "...\"");
+                                + s.subSequence(i, i + 60) + "...\"");
                     }
                     break;
             }
         }
     }
 
-    private void addTeildatensatz(final int n, final String input) throws IOException {
+    private void addTeildatensatz(final int n, final CharSequence input, final int offset) throws IOException {
         Teildatensatz tds = new Teildatensatz(this.getSatzartFeld());
         this.setUpTeildatensatz(tds);
         this.setUpTeildatensatz(n, tds);
-        tds.importFrom(input);
+        tds.importFrom(input, offset);
         this.add(tds);
     }
 
@@ -71,12 +71,29 @@ public final class FeldReferenz {
     public FeldReferenz(final XMLEventReader parser, final StartElement element) throws XMLStreamException {
         id = element.getAttributeByName(new QName("referenz")).getValue();
         Properties props = XmlHelper.parseSimpleElements(element.getName(), parser);
-        this.bezeichner = new Bezeichner(props);
+        this.bezeichner = Bezeichner.of(props.getProperty("name", ""), props.getProperty("technischerName", ""));
         this.bemerkung = props.getProperty("bemerkung", "");
         this.auspraegung = props.getProperty("auspraegung", "");
         LOG.debug("{} created.", this);
     }
 
+    /**
+     * Instantiiert eine Objekt mit den uebergebenen Werten. Dieser
+     * Konstruktor wird beim Laden eines {@link XmlSnapshot}s verwendet.
+     *
+     * @param id die Referenz
+     * @param bezeichner der Bezeichner
+     * @param bemerkung die Bemerkung
+     * @param auspraegung die Auspraegung
+     * @since 3.1
+     */
+    FeldReferenz(final String id, final Bezeichner bezeichner, final String bemerkung, final String auspraegung) {
+        this.id = id;
+        this.bezeichner = bezeichner;
+        this.bemerkung = bemerkung;
+        this.auspraegung = auspraegung;
+    }
+
     /**
      * Liefert die Referenz (Id).
      *
@@ -68,8 +68,18 @@ public final class FeldXml extends Feld {
         this(parse(parser, element));
     }
 
-    private FeldXml(final Properties props) {
-        super(new Bezeichner(props), Integer.parseInt(props.getProperty("bytes", "1")), 0, Align.UNKNOWN);
+    /**
+     * Instantiiert eine Objekt mit den uebergebenen Werten. Die Schluessel
+     * entsprechen den Elementen aus der XML-Beschreibung ("name",
+     * "technischerName", "bytes", "datentyp", "nachkommastellen"), die
+     * Referenz wird unter "ID" erwartet.
+     *
+     * @param props die Werte des Feldes
+     * @since 3.1
+     */
+    FeldXml(final Properties props) {
+        super(Bezeichner.of(props.getProperty("name", ""), props.getProperty("technischerName", "")),
+                Integer.parseInt(props.getProperty("bytes", "1")), 0, Align.UNKNOWN);
         this.id = props.getProperty("ID");
         this.datentyp = Datentyp.asValue(props.getProperty("datentyp"));
         this.nachkommastellen = Integer.parseInt(props.getProperty("nachkommastellen", "0"));
@@ -0,0 +1,131 @@
+/*
+ * Copyright (c) 2026 by Oli B.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * (c)reated 16.10.2026 by Oli B. (ob@aosd.de)
+ */
+
+package gdv.xport.satz.xml;
+
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import javax.xml.stream.XMLEventReader;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.events.XMLEvent;
+
+/**
+ * Der ListEventReader liefert die Events aus einer Liste, die vorher ueber
+ * einen anderen {@link XMLEventReader} gesammelt wurden. Damit kann ein
+ * Ausschnitt eines XML-Dokuments (z.B. eine einzelne Satzart) unabhaengig
+ * vom urspruenglichen Parser - und damit auch in einem anderen Thread -
+ * verarbeitet werden.
+ *
+ * @author oliver
+ * @since 3.1 (16.10.2026)
+ */
+final class ListEventReader implements XMLEventReader {
+
+    private final List<XMLEvent> events;
+    private int index = 0;
+
+    /**
+     * Instantiiert einen Reader fuer die uebergebenen Events.
+     *
+     * @param events die gesammelten Events
+     */
+    ListEventReader(final List<XMLEvent> events) {
+        this.events = events;
+    }
+
+    @Override
+    public boolean hasNext() {
+        return index < events.size();
+    }
+
+    @Override
+    public XMLEvent nextEvent() throws XMLStreamException {
+        if (!hasNext()) {
+            throw new XMLStreamException("no more events (" + events.size() + " events read)");
+        }
+        return events.get(index++);
+    }
+
+    @Override
+    public Object next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException("no more events (" + events.size() + " events read)");
+        }
+        return events.get(index++);
+    }
+
+    @Override
+    public XMLEvent peek() {
+        return hasNext() ? events.get(index) : null;
+    }
+
+    @Override
+    public String getElementText() throws XMLStreamException {
+        StringBuilder text = new StringBuilder();
+        while (hasNext()) {
+            XMLEvent event = nextEvent();
+            switch (event.getEventType()) {
+                case XMLStreamConstants.END_ELEMENT:
+                    return text.toString();
+                case XMLStreamConstants.CHARACTERS:
+                case XMLStreamConstants.CDATA:
+                case XMLStreamConstants.SPACE:
+                    text.append(event.asCharacters().getData());
+                    break;
+                case XMLStreamConstants.COMMENT:
+                case XMLStreamConstants.PROCESSING_INSTRUCTION:
+                    break;
+                default:
+                    throw new XMLStreamException("text only expected, but found " + event, event.getLocation());
+            }
+        }
+        throw new XMLStreamException("end element not found");
+    }
+
+    @Override
+    public XMLEvent nextTag() throws XMLStreamException {
+        while (hasNext()) {
+            XMLEvent event = nextEvent();
+            if (event.isStartElement() || event.isEndElement()) {
+                return event;
+            }
+            if (event.isCharacters() && !event.asCharacters().isWhiteSpace()) {
+                throw new XMLStreamException("tag expected, but found " + event, event.getLocation());
+            }
+        }
+        throw new XMLStreamException("no more tags");
+    }
+
+    @Override
+    public Object getProperty(final String name) {
+        throw new IllegalArgumentException("property '" + name + "' is not supported");
+    }
+
+    @Override
+    public void close() {
+        index = events.size();
+    }
+
+    @Override
+    public void remove() {
+        throw new UnsupportedOperationException("events are read-only");
+    }
+
+}
@@ -50,6 +50,8 @@ import org.apache.logging.log4j.*;
 public final class SatzXml extends Datensatz {
 
     private static final Logger LOG = LogManager.getLogger(SatzXml.class);
+    private final List<FeldReferenz> kennzeichnung = new ArrayList<FeldReferenz>();
+    private volatile boolean felderGesetzt;
 
     /**
      * Instantiiert einen neuen Satz.
@@ -73,6 +75,23 @@ public final class SatzXml extends Datensatz {
         parse(element, parser);
     }
 
+    /**
+     * Instantiiert einen neuen Satz, dessen Satzart und Sparte ueber die
+     * uebergebenen FeldReferenzen (mit Auspraegung) gesetzt werden. Die
+     * Teildatensaetze muessen anschliessend noch hinzugefuegt werden.
+     * Dieser Konstruktor wird beim Laden eines {@link XmlSnapshot}s
+     * verwendet.
+     *
+     * @param kennzeichnung FeldReferenzen mit Auspraegung
+     * @since 3.1
+     */
+    SatzXml(final List<FeldReferenz> kennzeichnung) {
+        super(0);
+        for (FeldReferenz referenz : kennzeichnung) {
+            setKennzeichnung(referenz);
+        }
+    }
+
     /**
      * Dies ist der Copy-Constructor, mit dem man einen bestehenden Satz
      * kopieren kann.
@@ -81,6 +100,7 @@ public final class SatzXml extends Datensatz {
      */
     public SatzXml(final Datensatz orig) {
         super(orig);
+        this.felderGesetzt = true;
     }
 
     /* (non-Javadoc)
@@ -158,14 +178,30 @@ public final class SatzXml extends Datensatz {
     private void parseFeldreferenz(StartElement element, final XMLEventReader reader) throws XMLStreamException {
         FeldReferenz referenz = new FeldReferenz(reader, element);
         if (referenz.hasAuspraegung()) {
-            if ("Satzart".equals(referenz.getName())) {
-                this.getSatzartFeld().setInhalt(referenz.getAuspraegung());
-            } else if ("Sparte".equals(referenz.getName())) {
-                this.setSparte(referenz.getAuspraegung());
-            }
+            setKennzeichnung(referenz);
         }
     }
 
+    private void setKennzeichnung(final FeldReferenz referenz) {
+        if ("Satzart".equals(referenz.getName())) {
+            this.getSatzartFeld().setInhalt(referenz.getAuspraegung());
+        } else if ("Sparte".equals(referenz.getName())) {
+            this.setSparte(referenz.getAuspraegung());
+        }
+        this.kennzeichnung.add(referenz);
+    }
+
+    /**
+     * Liefert die FeldReferenzen (mit Auspraegung), ueber die Satzart und
+     * Sparte gesetzt wurden.
+     *
+     * @return FeldReferenzen mit Auspraegung
+     * @since 3.1
+     */
+    List<FeldReferenz> getKennzeichnung() {
+        return this.kennzeichnung;
+    }
+
     /**
      * Verwendet die uebergebene Map, um die Teildatensaetze um fehlende
      * Informationen zu ergaenzen.
@@ -178,6 +214,32 @@ public final class SatzXml extends Datensatz {
             TeildatensatzXml tdsXml = (TeildatensatzXml) tds;
             tdsXml.updateWith(felder);
         }
+        this.felderGesetzt = true;
+    }
+
+    /**
+     * Legt eine Kopie des Satzes an, deren Teildatensaetze mit der
+     * uebergebenen Map ergaenzt werden. Der Satz selbst bleibt dabei
+     * unveraendert. Dies wird vom {@link XmlService} im Lazy-Modus beim
+     * ersten Zugriff auf den Satz aufgerufen.
+     *
+     * @param felder the felder
+     * @return der neue Satz mit allen Feldern
+     * @since 3.1
+     */
+    SatzXml aufloesen(final Map<String, FeldXml> felder) {
+        SatzXml satz = new SatzXml(this.kennzeichnung);
+        for (Teildatensatz tds : this.getTeildatensaetze()) {
+            TeildatensatzXml orig = (TeildatensatzXml) tds;
+            TeildatensatzXml kopie = new TeildatensatzXml(satz.getSatzart(), orig.getNr());
+            for (FeldReferenz referenz : orig.getFeldReferenzen()) {
+                kopie.add(referenz);
+            }
+            kopie.setSatzende(orig.getSatzende());
+            satz.add(kopie);
+        }
+        satz.setFelder(felder);
+        return satz;
     }
 
     /**
@@ -189,7 +251,7 @@ public final class SatzXml extends Datensatz {
      */
     public List<SatzTyp> getSupportedSatzTypen() {
         List<SatzTyp> satzTypen = new ArrayList<SatzTyp>();
-        if (this.hasWagnisart()) {
+        if (this.felderGesetzt ? this.hasWagnisart() : this.hasWagnisartReferenz()) {
             TeildatensatzXml tdsXml = (TeildatensatzXml) this.getTeildatensatz(1);
             FeldReferenz feldReferenz = tdsXml.getFeldRefenz((Bezeichner.WAGNISART));
             for (String value : feldReferenz.getDefaultWerte()) {
@@ -201,4 +263,23 @@ public final class SatzXml extends Datensatz {
         return satzTypen;
     }
 
+    /**
+     * Solange die Felder noch nicht gesetzt sind, kann die Wagnisart nur
+     * ueber die FeldReferenz im ersten Teildatensatz erkannt werden.
+     *
+     * @return true, falls es eine Referenz auf die Wagnisart gibt
+     */
+    private boolean hasWagnisartReferenz() {
+        if (this.getTeildatensaetze().isEmpty()) {
+            return false;
+        }
+        TeildatensatzXml tdsXml = (TeildatensatzXml) this.getTeildatensatz(1);
+        for (FeldReferenz referenz : tdsXml.getFeldReferenzen()) {
+            if (Bezeichner.WAGNISART.equals(referenz.getBezeichner())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
 }
@@ -67,6 +67,17 @@ public class Satzende {
         LOG.debug("{} created.", this);
     }
 
+    /**
+     * Instantiiert eine Objekt mit den uebergebenen FeldReferenzen. Dieser
+     * Konstruktor wird beim Laden eines {@link XmlSnapshot}s verwendet.
+     *
+     * @param feldReferenzen die FeldReferenzen des Satzendes
+     * @since 3.1
+     */
+    Satzende(final List<FeldReferenz> feldReferenzen) {
+        this.feldReferenzen.addAll(feldReferenzen);
+    }
+
     private void parse(final QName name, final XMLEventReader parser) throws XMLStreamException {
         while (parser.hasNext()) {
             XMLEvent event = parser.nextEvent();
@@ -44,6 +44,7 @@ public final class TeildatensatzXml extends Teildatensatz {
     private static final Logger LOG = LogManager.getLogger(TeildatensatzXml.class);
     private static final Map<String, FeldXml> MISSING_FELDER = new HashMap<String, FeldXml>();
     private final List<FeldReferenz> feldReferenzen = new ArrayList<FeldReferenz>();
+    private final int nr;
     private Satzende satzende;
 
     static {
@@ -63,6 +64,7 @@ public final class TeildatensatzXml extends Teildatensatz {
      */
     public TeildatensatzXml(final int satzart, final int nr) {
         super(satzart, nr);
+        this.nr = nr;
     }
 
     /**
@@ -83,6 +85,36 @@ public final class TeildatensatzXml extends Teildatensatz {
         this.satzende = satzende;
     }
 
+    /**
+     * Liefert die Nummer, mit der der Teildatensatz angelegt wurde.
+     *
+     * @return Nummer des Teildatensatzes (zwischen 1 und 9)
+     * @since 3.1
+     */
+    int getNr() {
+        return this.nr;
+    }
+
+    /**
+     * Liefert die FeldReferenzen aus der XML-Beschreibung.
+     *
+     * @return die FeldReferenzen
+     * @since 3.1
+     */
+    List<FeldReferenz> getFeldReferenzen() {
+        return this.feldReferenzen;
+    }
+
+    /**
+     * Liefert das Satzende aus der XML-Beschreibung.
+     *
+     * @return das Satzende
+     * @since 3.1
+     */
+    Satzende getSatzende() {
+        return this.satzende;
+    }
+
     /**
      * Legt mithilfe der uebergebenen Felder die entsprechenden {@link Feld}-
      * Objekte an. Aber nur, wenn ein Feld noch nicht existiert.
@@ -26,7 +26,9 @@ import javax.xml.namespace.*;
 import javax.xml.stream.*;
 import javax.xml.stream.events.*;
 import java.io.*;
+import java.lang.ref.*;
 import java.util.*;
+import java.util.concurrent.*;
 
 /**
  * Hier wird jetzt eine XML-Beschreibung verwendet, um die Saetze fuer die
@@ -41,10 +43,14 @@ import java.util.*;
 public class XmlService {
 
     private static final Logger LOG = LogManager.getLogger(XmlService.class);
-    private static final Map<String, XmlService> INSTANCES = new WeakHashMap<>();
+    private static final ConcurrentMap<String, Instance> INSTANCES = new ConcurrentHashMap<>();
+    private static final ConcurrentMap<String, Instance> LAZY_INSTANCES = new ConcurrentHashMap<>();
+    private static volatile Retention retention = Retention.STRONG;
+    private final boolean lazy;
     private final List<SatzXml> saetze = new ArrayList<>();
     private final Map<SatzTyp, SatzXml> satzarten = new HashMap<>();
     private final Map<String, FeldXml> felder = new HashMap<>();
+    private final Map<SatzXml, SatzXml> aufgeloesteSaetze = new IdentityHashMap<>();
 
     /**
      * Liefert einen Service anhand des Standard-XML-Handbuchs von 2013.
@@ -65,6 +71,20 @@ public class XmlService {
      * des {@link XmlService}-Konstruktors teuer ist und einige Sekunden braucht
      * (2-3 Sekunden auf einem MacBook-Air von 2011), wird ein interner Cache
      * verwendet, um nicht jedesmal die Resource parsen zu muessen.
+     * <p>
+     * Seit 3.1 wird zusaetzlich ein binaerer {@link XmlSnapshot} der
+     * geparsten Resource verwendet, der in wenigen Millisekunden geladen
+     * werden kann. Nur wenn es keinen (aktuellen) Snapshot gibt, wird die
+     * Resource wie bisher geparst und der Snapshot fuer den naechsten Start
+     * angelegt.
+     * </p>
+     * <p>
+     * Der Cache ist thread-sicher: rufen mehrere Threads gleichzeitig diese
+     * Methode fuer dieselbe Resource auf, wird sie nur einmal geladen, die
+     * anderen Threads warten solange. Verschiedene Resourcen koennen dagegen
+     * parallel geladen werden. Wie lange die geladenen Instanzen gehalten
+     * werden, legt die {@link Retention} fest.
+     * </p>
      *
      * @param resource Resource-Name (z.B. "VUVM2013.xml")
      * @return der frisch instantiierte XmlService
@@ -72,29 +92,89 @@ public class XmlService {
      *             oder nicht interpretiert werden kann
      */
     public static XmlService getInstance(final String resource) throws XMLStreamException {
-        XmlService service = INSTANCES.get(resource);
-        if (service == null) {
-            XMLEventReader parser = createXMLEventReader(resource);
-            try {
-                service = new XmlService(parser);
-                INSTANCES.put(resource, service);
-            } finally {
-                parser.close();
+        return getInstance(resource, false);
+    }
+
+    /**
+     * Liefert wie {@link #getInstance(String)} die Service-Instanz zur
+     * uebergebenen Resource, wahlweise im Lazy-Modus. Im Lazy-Modus wird die
+     * Resource (bzw. ihr Snapshot) zwar ebenfalls vollstaendig eingelesen,
+     * die {@link gdv.xport.feld.Feld}-Objekte eines Satzes werden aber erst
+     * beim ersten Zugriff ueber {@link #getSatzart(SatzTyp)} bzw.
+     * {@link #getSatzart(int)} angelegt (siehe
+     * {@link #XmlService(XMLEventReader, boolean)}). Instanzen im Lazy-Modus
+     * werden getrennt von den normalen Instanzen gecacht.
+     *
+     * @param resource Resource-Name (z.B. "VUVM2015.xml")
+     * @param lazy true fuer den Lazy-Modus
+     * @return der XmlService
+     * @throws XMLStreamException falls die angegebene Resource nicht existiert
+     *             oder nicht interpretiert werden kann
+     * @since 3.1
+     */
+    public static XmlService getInstance(final String resource, final boolean lazy) throws XMLStreamException {
+        ConcurrentMap<String, Instance> instances = lazy ? LAZY_INSTANCES : INSTANCES;
+        Instance instance = instances.get(resource);
+        if (instance == null) {
+            Instance newInstance = new Instance(resource, lazy);
+            instance = instances.putIfAbsent(resource, newInstance);
+            if (instance == null) {
+                instance = newInstance;
             }
         }
-        return service;
+        return instance.get();
     }
 
-    private  static XMLEventReader createXMLEventReader(final String resourceName) throws XMLStreamException {
-        InputStream istream = XmlService.class.getResourceAsStream(resourceName);
-        if (istream == null) {
-            throw new XMLStreamException("resource '" + resourceName + "' not found");
+    /**
+     * Laedt die angegebenen Resourcen vorab, damit der erste Aufruf von
+     * {@link #getInstance(String)} nicht warten muss. Dies bietet sich z.B.
+     * beim Start eines Services an.
+     *
+     * <p>
+     * Bei {@link Retention#SOFT} werden die Instanzen nur so lange
+     * gehalten, wie sie (z.B. ueber die zurueckgelieferte Liste)
+     * referenziert werden.
+     * </p>
+     *
+     * @param resources Resource-Namen (z.B. "VUVM2015.xml")
+     * @return die geladenen Instanzen in der Reihenfolge der Resourcen
+     * @throws XMLStreamException falls eine Resource nicht existiert oder
+     *             nicht interpretiert werden kann
+     * @since 3.1
+     */
+    public static List<XmlService> preload(final String... resources) throws XMLStreamException {
+        List<XmlService> services = new ArrayList<>(resources.length);
+        for (String resource : resources) {
+            services.add(getInstance(resource));
         }
-        return XMLInputFactory.newInstance().createXMLEventReader(istream);
+        return services;
+    }
+
+    /**
+     * Legt fest, wie lange die geladenen Instanzen gehalten werden. Die
+     * Einstellung gilt fuer alle Instanzen, die danach geladen werden.
+     *
+     * @param retention {@link Retention#STRONG} (Default) oder
+     *            {@link Retention#SOFT}
+     * @since 3.1
+     */
+    public static void setRetention(final Retention retention) {
+        XmlService.retention = retention;
+    }
+
+    /**
+     * Liefert die eingestellte {@link Retention}.
+     *
+     * @return {@link Retention#STRONG} (Default) oder {@link Retention#SOFT}
+     * @since 3.1
+     */
+    public static Retention getRetention() {
+        return retention;
     }
 
     /** Only for internal fallback. */
     private XmlService() {
+        this.lazy = false;
         LOG.debug("Default XmlService created.");
     }
 
@@ -108,6 +188,26 @@ public class XmlService {
         this(parser, XmlHelper.getNextStartElement(parser));
     }
 
+    /**
+     * Instantiiert einen XML-Service, wahlweise im Lazy-Modus. Im Lazy-Modus
+     * wird die XML-Beschreibung genauso vollstaendig geparst und nach
+     * {@link SatzTyp} indiziert wie sonst auch. Verzoegert wird nur das
+     * Aufloesen der Feld-Referenzen: die {@link gdv.xport.feld.Feld}-Objekte
+     * eines Satzes werden erst beim ersten Zugriff ueber
+     * {@link #getSatzart(SatzTyp)} bzw. {@link #getSatzart(int)} in einer
+     * eigenen Kopie des Satzes angelegt. Das spart Zeit beim Start und
+     * Speicher, wenn (wie meist) nur wenige Satzarten benoetigt werden.
+     *
+     * @param parser the parser
+     * @param lazy true fuer den Lazy-Modus
+     * @throws XMLStreamException the XML stream exception
+     * @since 3.1
+     */
+    public XmlService(final XMLEventReader parser, final boolean lazy) throws XMLStreamException {
+        this.lazy = lazy;
+        parse(XmlHelper.getNextStartElement(parser), parser, null);
+    }
+
     /**
      * Instantiiert einen XML-Service.
      *
@@ -116,15 +216,71 @@ public class XmlService {
      * @throws XMLStreamException the XML stream exception
      */
     public XmlService(final XMLEventReader parser, final StartElement startElement)throws XMLStreamException  {
-        parse(startElement, parser);
+        this.lazy = false;
+        parse(startElement, parser, null);
     }
 
-    private void parse(final StartElement element, final XMLEventReader reader) throws XMLStreamException {
+    /**
+     * Instantiiert einen XML-Service, wobei die Arbeit parallel ueber den
+     * angegebenen Fork-Join-Pool erledigt wird. Das Lesen der XML-Events
+     * erfolgt dabei zwar sequentiell, die einzelnen &lt;satzart&gt;-Elemente
+     * werden aber als eigenstaendige Aufgaben parallel zu Saetzen aufgebaut.
+     * Auch das Aufloesen der Feld-Referenzen erfolgt fuer jeden Satz
+     * parallel.
+     *
+     * @param parser the parser
+     * @param pool z.B. {@link ForkJoinPool#commonPool()}
+     * @throws XMLStreamException the XML stream exception
+     * @since 3.1
+     */
+    public XmlService(final XMLEventReader parser, final ForkJoinPool pool) throws XMLStreamException {
+        this(parser, pool, false);
+    }
+
+    /**
+     * Instantiiert einen XML-Service ueber den angegebenen Fork-Join-Pool,
+     * wahlweise im Lazy-Modus (siehe
+     * {@link #XmlService(XMLEventReader, boolean)}).
+     *
+     * @param parser the parser
+     * @param pool z.B. {@link ForkJoinPool#commonPool()}
+     * @param lazy true fuer den Lazy-Modus
+     * @throws XMLStreamException the XML stream exception
+     * @since 3.1
+     */
+    XmlService(final XMLEventReader parser, final ForkJoinPool pool, final boolean lazy)
+            throws XMLStreamException {
+        this.lazy = lazy;
+        parse(XmlHelper.getNextStartElement(parser), parser, pool);
+    }
+
+    /**
+     * Instantiiert einen XML-Service aus den bereits eingelesenen Saetzen
+     * und Feldern. Dieser Konstruktor wird beim Laden eines
+     * {@link XmlSnapshot}s verwendet.
+     *
+     * @param saetze die Saetze (ohne Felder)
+     * @param felder die Felder, mit denen die Saetze ergaenzt werden
+     * @param pool fuer das parallele Aufloesen der Feld-Referenzen (oder null)
+     * @param lazy true, wenn die Feld-Referenzen erst beim ersten Zugriff
+     *            aufgeloest werden sollen
+     * @since 3.1
+     */
+    XmlService(final List<SatzXml> saetze, final Map<String, FeldXml> felder, final ForkJoinPool pool,
+            final boolean lazy) {
+        this.lazy = lazy;
+        this.saetze.addAll(saetze);
+        this.felder.putAll(felder);
+        this.setFelder(this.felder, pool);
+    }
+
+    private void parse(final StartElement element, final XMLEventReader reader, final ForkJoinPool pool)
+            throws XMLStreamException {
         LogWatch watch = new LogWatch();
         while (reader.hasNext()) {
             XMLEvent event = reader.nextEvent();
             if (event.isStartElement()) {
-                parseElement(event.asStartElement(), reader);
+                parseElement(event.asStartElement(), reader, pool);
             } else if (XmlHelper.isEndElement(event, element.getName())) {
                 LOG.info("{} Satzarten successful parsed from {}...{} in {}.", this.saetze.size(), element, event,
                         watch);
@@ -135,14 +291,19 @@ public class XmlService {
         throw new XMLStreamException("end of " + element + " not found");
     }
 
-    private void parseElement(final StartElement element, final XMLEventReader reader) throws XMLStreamException {
+    private void parseElement(final StartElement element, final XMLEventReader reader, final ForkJoinPool pool)
+            throws XMLStreamException {
         LOG.trace("Parsing element {}.", element);
         QName name = element.getName();
         if ("satzarten".equals(name.getLocalPart())) {
-            parseSatzarten(element, reader);
+            if (pool == null) {
+                parseSatzarten(element, reader);
+            } else {
+                parseSatzarten(element, reader, pool);
+            }
         } else if ("felder".equals(name.getLocalPart())) {
             this.felder.putAll(parseFelder(element, reader));
-            this.setFelder(felder);
+            this.setFelder(felder, pool);
         } else {
             XmlHelper.ignore(name, reader);
         }
@@ -163,6 +324,45 @@ public class XmlService {
         throw new XMLStreamException("end of " + element + " not found");
     }
 
+    private void parseSatzarten(final StartElement element, final XMLEventReader reader, final ForkJoinPool pool)
+            throws XMLStreamException {
+        List<SatzTask> tasks = new ArrayList<>();
+        while (reader.hasNext()) {
+            XMLEvent event = reader.nextEvent();
+            if (XmlHelper.isStartElement(event, "satzart")) {
+                SatzTask task = new SatzTask(event.asStartElement(), collectEvents(event.asStartElement(), reader));
+                tasks.add(task);
+                pool.execute(task);
+            } else if (XmlHelper.isEndElement(event, element.getName())) {
+                for (SatzTask task : tasks) {
+                    this.saetze.add(task.getSatz());
+                }
+                LOG.debug("{} satzarten successful parsed in parallel.", tasks.size());
+                return;
+            }
+        }
+        throw new XMLStreamException("end of " + element + " not found");
+    }
+
+    private static List<XMLEvent> collectEvents(final StartElement element, final XMLEventReader reader)
+            throws XMLStreamException {
+        List<XMLEvent> events = new ArrayList<>();
+        int depth = 1;
+        while (reader.hasNext()) {
+            XMLEvent event = reader.nextEvent();
+            events.add(event);
+            if (event.isStartElement()) {
+                depth++;
+            } else if (event.isEndElement()) {
+                depth--;
+                if (depth == 0) {
+                    return events;
+                }
+            }
+        }
+        throw new XMLStreamException("end of " + element + " not found");
+    }
+
     /**
      * Liest die &lt;felder&gt;-Elemente ein und liefert sie als Map zurueck.
      *
@@ -197,6 +397,16 @@ public class XmlService {
         throw new XMLStreamException("end of " + element + " not found");
     }
 
+    /**
+     * Liefert die Saetze in der Reihenfolge der XML-Beschreibung.
+     *
+     * @return die Saetze
+     * @since 3.1
+     */
+    List<SatzXml> getSaetze() {
+        return this.saetze;
+    }
+
     /**
      * Liefert die Felder mit den Referenzen.
      *
@@ -207,10 +417,26 @@ public class XmlService {
         return this.felder;
     }
 
-    private void setFelder(Map<String, FeldXml> felder) {
-        LOG.debug("Missing felder for {} saetze will be set.", this.satzarten.size());
+    private void setFelder(Map<String, FeldXml> felder, final ForkJoinPool pool) {
+        LOG.debug("Missing felder for {} saetze will be set.", this.saetze.size());
+        if (lazy) {
+            LOG.debug("Felder are resolved on first access (lazy mode).");
+        } else if (pool == null) {
+            for (SatzXml satz : this.saetze) {
+                satz.setFelder(felder);
+            }
+        } else {
+            List<FelderTask> tasks = new ArrayList<>(this.saetze.size());
+            for (SatzXml satz : this.saetze) {
+                FelderTask task = new FelderTask(satz, felder);
+                tasks.add(task);
+                pool.execute(task);
+            }
+            for (FelderTask task : tasks) {
+                task.join();
+            }
+        }
         for (SatzXml satz : this.saetze) {
-            satz.setFelder(felder);
             for (SatzTyp type : satz.getSupportedSatzTypen()) {
                 this.satzarten.put(type, satz);
                 LOG.trace("Satz {} registered as {}.", satz, type);
@@ -233,7 +459,7 @@ public class XmlService {
     public SatzXml getSatzart(final int satzart) {
         SatzXml satz = this.satzarten.get(new SatzTyp(satzart));
         if (satz != null) {
-            return new SatzXml(satz);
+            return new SatzXml(aufloesen(satz));
         }
         List<SatzTyp> satzTypen = new ArrayList<>();
         for (SatzTyp satzNr : this.satzarten.keySet()) {
@@ -247,7 +473,26 @@ public class XmlService {
         if (satzTypen.size() > 1) {
             checkSatzarten(satzTypen);
         }
-        return new SatzXml(this.satzarten.get(satzTypen.get(0)));
+        return new SatzXml(aufloesen(this.satzarten.get(satzTypen.get(0))));
+    }
+
+    /**
+     * Im Lazy-Modus enthaelt {@link #satzarten} nur die Saetze mit ihren
+     * Feld-Referenzen. Diese bleiben unveraendert, die aufgeloesten Saetze
+     * werden beim ersten Zugriff als Kopie angelegt und gemerkt.
+     */
+    private SatzXml aufloesen(final SatzXml satz) {
+        if (!lazy) {
+            return satz;
+        }
+        synchronized (this.aufgeloesteSaetze) {
+            SatzXml aufgeloest = this.aufgeloesteSaetze.get(satz);
+            if (aufgeloest == null) {
+                aufgeloest = satz.aufloesen(this.felder);
+                this.aufgeloesteSaetze.put(satz, aufgeloest);
+            }
+            return aufgeloest;
+        }
     }
 
     private static void checkSatzarten(List<SatzTyp> satzTypen) {
@@ -270,17 +515,166 @@ public class XmlService {
         if (satz == null) {
             throw new NotRegisteredException(satzNr);
         }
-        return satz;
+        return aufloesen(satz);
     }
 
     /**
-     * Liefert die registrierten Satzarten.
+     * Liefert die registrierten Satzarten. Im Lazy-Modus werden dazu alle
+     * Saetze aufgeloest und als neue Map zurueckgeliefert.
      *
      * @return Satzarten als Hashmap
      * @since 2.1.4
      */
     public Map<SatzTyp, SatzXml> getSatzarten() {
-        return this.satzarten;
+        if (!lazy) {
+            return this.satzarten;
+        }
+        Map<SatzTyp, SatzXml> aufgeloest = new HashMap<>(this.satzarten.size() * 4 / 3 + 1);
+        for (Map.Entry<SatzTyp, SatzXml> entry : this.satzarten.entrySet()) {
+            aufgeloest.put(entry.getKey(), aufloesen(entry.getValue()));
+        }
+        return aufgeloest;
+    }
+
+    /**
+     * Liefert true, wenn die Feld-Referenzen erst beim ersten Zugriff
+     * aufgeloest werden.
+     *
+     * @return true im Lazy-Modus
+     * @since 3.1
+     */
+    public boolean isLazy() {
+        return this.lazy;
+    }
+
+    /**
+     * Legt fest, wie lange die ueber {@link XmlService#getInstance(String)}
+     * geladenen Instanzen gehalten werden.
+     *
+     * @since 3.1
+     */
+    public enum Retention {
+
+        /**
+         * Eine einmal geladene Instanz wird nie wieder freigegeben, d.h. jede
+         * Resource wird genau einmal geladen.
+         */
+        STRONG,
+
+        /**
+         * Die geladene Instanz darf bei Speicherknappheit vom Garbage-Collector
+         * freigegeben werden. Sie wird dann beim naechsten Zugriff neu geladen.
+         */
+        SOFT
+
+    }
+
+    /**
+     * Baut einen Satz aus den gesammelten Events einer &lt;satzart&gt; auf.
+     */
+    private static final class SatzTask extends RecursiveTask<SatzXml> {
+
+        private static final long serialVersionUID = 20261016L;
+        private final StartElement element;
+        private final List<XMLEvent> events;
+
+        SatzTask(final StartElement element, final List<XMLEvent> events) {
+            this.element = element;
+            this.events = events;
+        }
+
+        @Override
+        protected SatzXml compute() {
+            try {
+                return new SatzXml(new ListEventReader(events), element);
+            } catch (XMLStreamException ex) {
+                throw new ShitHappenedException("cannot parse " + element, ex);
+            }
+        }
+
+        /**
+         * Liefert den aufgebauten Satz. Wurde die Exception in einem anderen
+         * Thread geworfen, liefert {@link #join()} u.U. eine neu erzeugte
+         * Exception, deren Ursache erst die urspruengliche Exception ist.
+         * Deswegen wird die ganze Kette nach der XMLStreamException
+         * durchsucht.
+         */
+        SatzXml getSatz() throws XMLStreamException {
+            try {
+                return join();
+            } catch (ShitHappenedException ex) {
+                for (Throwable cause = ex.getCause(); cause != null; cause = cause.getCause()) {
+                    if (cause instanceof XMLStreamException) {
+                        throw (XMLStreamException) cause;
+                    }
+                }
+                throw ex;
+            }
+        }
+
+    }
+
+    /**
+     * Ergaenzt einen Satz um die referenzierten Felder.
+     */
+    private static final class FelderTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 20261016L;
+        private final SatzXml satz;
+        private final Map<String, FeldXml> felder;
+
+        FelderTask(final SatzXml satz, final Map<String, FeldXml> felder) {
+            this.satz = satz;
+            this.felder = felder;
+        }
+
+        @Override
+        protected void compute() {
+            satz.setFelder(felder);
+        }
+
+    }
+
+    /**
+     * Haelt die Instanz zu einer Resource und sorgt dafuer, dass sie nur
+     * einmal (bzw. bei {@link Retention#SOFT} erst nach ihrer Freigabe wieder)
+     * geladen wird.
+     */
+    private static final class Instance {
+
+        private final String resource;
+        private final boolean lazy;
+        private volatile XmlService service;
+        private volatile Reference<XmlService> softReference = new SoftReference<>(null);
+
+        Instance(final String resource, final boolean lazy) {
+            this.resource = resource;
+            this.lazy = lazy;
+        }
+
+        XmlService get() throws XMLStreamException {
+            XmlService loaded = getLoaded();
+            if (loaded == null) {
+                synchronized (this) {
+                    loaded = getLoaded();
+                    if (loaded == null) {
+                        loaded = XmlSnapshot.getService(resource, lazy);
+                        if (retention == Retention.SOFT) {
+                            softReference = new SoftReference<>(loaded);
+                        } else {
+                            service = loaded;
+                        }
+                    }
+                }
+            }
+            return loaded;
+        }
+
+        private XmlService getLoaded() {
+            XmlService loaded = service;
+            return (loaded == null) ? softReference.get() : loaded;
+        }
+
     }
 
 }
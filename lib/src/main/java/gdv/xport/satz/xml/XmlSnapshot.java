@@ -0,0 +1,557 @@
+/*
+ * Copyright (c) 2026 by Oli B.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * (c)reated 16.10.2026 by Oli B. (ob@aosd.de)
+ */
+
+package gdv.xport.satz.xml;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URL;
+import java.net.URLConnection;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ForkJoinPool;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+
+import javax.xml.stream.XMLEventReader;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamException;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import gdv.xport.feld.Bezeichner;
+import gdv.xport.satz.Teildatensatz;
+import patterntesting.runtime.log.LogWatch;
+
+/**
+ * Ein XmlSnapshot ist eine kompakte binaere Abbildung der XML-Beschreibung,
+ * die ein {@link XmlService} geparst hat. Gespeichert werden nur die Rohdaten
+ * ({@link FeldReferenz}en, {@link Satzende}, {@link FeldXml}), aus denen
+ * beim Laden die Saetze genauso wie nach dem Parsen aufgebaut werden. Das
+ * geht um ein Vielfaches schneller als das Parsen der XML-Beschreibung mit
+ * StAX.
+ * <p>
+ * Der Snapshot wird zuerst im Classpath neben der XML-Resource gesucht
+ * (z.B. "VUVM2015.xml.snapshot"). Dort legt ihn der Build (Phase
+ * "process-classes", siehe {@link #main(String[])}) an, sodass er mit
+ * ausgeliefert wird und bereits der erste Start davon profitiert. Nur wenn
+ * die System-Property "{@value #CACHE_DIR_PROPERTY}" gesetzt ist, wird er
+ * zusaetzlich beim ersten Start in diesem Verzeichnis angelegt und von dort
+ * wieder gelesen. Ohne die Property wird nichts auf die Platte geschrieben
+ * (ein gemeinsames Temp-Verzeichnis waere fuer andere Benutzer beschreibbar).
+ * </p>
+ * <p>
+ * Jeder Snapshot enthaelt Groesse, Aenderungsdatum und Pruefsumme der
+ * XML-Resource. Ob er noch aktuell ist, wird zuerst nur anhand von Groesse
+ * und Aenderungsdatum entschieden, die ohne Lesen der Resource zur Verfuegung
+ * stehen. Ein Snapshot, der im Classpath direkt neben der Resource liegt
+ * (also im selben Jar bzw. Verzeichnis), wurde zusammen mit ihr gebaut; hier
+ * genuegt die Groesse, da das Aenderungsdatum beim Packen des Jars verloren
+ * gehen kann. Nur wenn das nicht reicht, wird die Resource einmal gelesen
+ * und die Pruefsumme verglichen. Passt auch sie nicht (oder ist der Snapshot
+ * nicht lesbar), wird er ignoriert und die Resource wie bisher geparst. Die
+ * Pruefsumme wird dabei beim Parsen mitberechnet, d.h. die Resource wird
+ * auch ohne Snapshot nur einmal gelesen.
+ * </p>
+ *
+ * @author oliver
+ * @since 3.1 (16.10.2026)
+ */
+final class XmlSnapshot {
+
+    /** System-Property fuer das Verzeichnis, in dem Snapshots abgelegt werden. */
+    static final String CACHE_DIR_PROPERTY = "gdv.xport.snapshot.dir";
+
+    private static final Logger LOG = LogManager.getLogger(XmlSnapshot.class);
+    private static final int MAGIC = 0x47445658;
+    private static final int FORMAT_VERSION = 2;
+    private static final String SUFFIX = ".snapshot";
+
+    private final String resource;
+    private final boolean lazy;
+    private final URL resourceURL;
+    private long checksum = -1;
+    private long length = -1;
+
+    /**
+     * Legt einen Snapshot fuer die angegebene Resource an. Die Pruefsumme
+     * der Resource wird erst berechnet, wenn sie gebraucht wird.
+     *
+     * @param resource Resource-Name (z.B. "VUVM2015.xml")
+     * @param lazy true, wenn der XmlService im Lazy-Modus angelegt werden soll
+     * @throws XMLStreamException falls die Resource nicht existiert
+     */
+    XmlSnapshot(final String resource, final boolean lazy) throws XMLStreamException {
+        this.resource = resource;
+        this.lazy = lazy;
+        this.resourceURL = XmlService.class.getResource(resource);
+        if (this.resourceURL == null) {
+            throw new XMLStreamException("resource '" + resource + "' not found");
+        }
+    }
+
+    private ResourceInputStream openResource() throws IOException {
+        InputStream istream = XmlService.class.getResourceAsStream(resource);
+        if (istream == null) {
+            throw new IOException("resource '" + resource + "' not found");
+        }
+        return new ResourceInputStream(istream);
+    }
+
+    /**
+     * Liefert die Pruefsumme der Resource. Falls sie nicht schon beim
+     * Parsen berechnet wurde, wird die Resource dazu einmal gelesen.
+     *
+     * @return CRC32-Pruefsumme
+     * @throws IOException falls die Resource nicht gelesen werden kann
+     */
+    private long getResourceChecksum() throws IOException {
+        if (checksum < 0) {
+            try (ResourceInputStream istream = openResource()) {
+                istream.finish();
+            }
+        }
+        return checksum;
+    }
+
+    /**
+     * Liefert Groesse und Aenderungsdatum der Resource, ohne sie zu lesen.
+     *
+     * @return Groesse und Aenderungsdatum (jeweils -1 bzw. 0, falls nicht
+     *         bekannt)
+     * @throws IOException falls die Resource nicht erreichbar ist
+     */
+    private long[] getResourceInfo() throws IOException {
+        URLConnection connection = resourceURL.openConnection();
+        long[] info = { connection.getContentLengthLong(), connection.getLastModified() };
+        if ("file".equals(resourceURL.getProtocol())) {
+            // eine FileURLConnection oeffnet die Datei bereits beim Verbinden
+            connection.getInputStream().close();
+        }
+        return info;
+    }
+
+    /**
+     * Liefert den XmlService fuer die angegebene Resource. Er wird aus einem
+     * (aktuellen) Snapshot geladen oder, falls es keinen gibt, aus der
+     * Resource geparst. Im letzten Fall wird der Snapshot anschliessend
+     * angelegt.
+     *
+     * @param resource Resource-Name (z.B. "VUVM2015.xml")
+     * @param lazy true fuer den Lazy-Modus des XmlService
+     * @return der XmlService
+     * @throws XMLStreamException falls die Resource nicht existiert oder
+     *             nicht interpretiert werden kann
+     */
+    static XmlService getService(final String resource, final boolean lazy) throws XMLStreamException {
+        XmlSnapshot snapshot = new XmlSnapshot(resource, lazy);
+        XmlService service = snapshot.load();
+        if (service == null) {
+            service = snapshot.parse();
+            snapshot.store(service);
+        }
+        return service;
+    }
+
+    /**
+     * Laedt den XmlService aus dem Snapshot im Classpath oder im
+     * Cache-Verzeichnis.
+     *
+     * @return der XmlService oder null, falls es keinen aktuellen Snapshot
+     *         gibt
+     */
+    XmlService load() {
+        URL url = XmlService.class.getResource(resource + SUFFIX);
+        if (url != null) {
+            boolean nebenResource = url.toString().equals(resourceURL.toString() + SUFFIX);
+            try {
+                XmlService service = load(url.openStream(), url, nebenResource);
+                if (service != null) {
+                    return service;
+                }
+            } catch (IOException ioe) {
+                LOG.info("Cannot open snapshot {} ({}).", url, ioe.getMessage());
+            }
+        }
+        File file = getCacheFile();
+        if ((file != null) && file.isFile()) {
+            try {
+                return load(new FileInputStream(file), file, false);
+            } catch (IOException ioe) {
+                LOG.info("Cannot open snapshot {} ({}).", file, ioe.getMessage());
+            }
+        }
+        return null;
+    }
+
+    private XmlService load(final InputStream istream, final Object source, final boolean nebenResource) {
+        LogWatch watch = new LogWatch();
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(istream))) {
+            XmlService service = read(in, nebenResource);
+            if (service != null) {
+                LOG.info("{} Satzarten loaded from snapshot {} in {}.", service.getSaetze().size(), source, watch);
+            } else {
+                LOG.info("Snapshot {} is outdated and will be ignored.", source);
+            }
+            return service;
+        } catch (IOException | RuntimeException ex) {
+            LOG.warn("Snapshot {} is corrupt and will be ignored:", source, ex);
+            return null;
+        }
+    }
+
+    private XmlService parse() throws XMLStreamException {
+        try (ResourceInputStream istream = openResource()) {
+            XMLEventReader parser = XMLInputFactory.newInstance().createXMLEventReader(istream);
+            try {
+                XmlService service = new XmlService(parser, ForkJoinPool.commonPool(), lazy);
+                istream.finish();
+                return service;
+            } finally {
+                parser.close();
+            }
+        } catch (IOException ioe) {
+            throw new XMLStreamException("cannot read resource '" + resource + "'", ioe);
+        }
+    }
+
+    /**
+     * Legt den Snapshot im Cache-Verzeichnis an. Da der Snapshot nur der
+     * Beschleunigung dient, werden Fehler nur protokolliert. Damit parallel
+     * gestartete Prozesse keinen halb geschriebenen Snapshot lesen, wird er
+     * zuerst in eine temporaere Datei geschrieben und dann umbenannt.
+     *
+     * @param service der geparste XmlService
+     */
+    void store(final XmlService service) {
+        File file = getCacheFile();
+        if (file == null) {
+            LOG.debug("No snapshot is stored for '{}'.", resource);
+            return;
+        }
+        File dir = file.getParentFile();
+        if (!dir.isDirectory() && !dir.mkdirs()) {
+            LOG.info("Cannot create directory {} for snapshot of '{}'.", dir, resource);
+            return;
+        }
+        try {
+            File tmpFile = File.createTempFile(file.getName(), ".tmp", dir);
+            try {
+                writeTo(tmpFile, service);
+                Files.move(tmpFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING,
+                        StandardCopyOption.ATOMIC_MOVE);
+                LOG.info("Snapshot of '{}' stored in {}.", resource, file);
+            } finally {
+                Files.deleteIfExists(tmpFile.toPath());
+            }
+        } catch (IOException ioe) {
+            LOG.info("Cannot store snapshot of '{}' in {}:", resource, file, ioe);
+        }
+    }
+
+    private void writeTo(final File file, final XmlService service) throws IOException {
+        try (OutputStream ostream = new FileOutputStream(file)) {
+            write(ostream, service);
+        }
+    }
+
+    /**
+     * Liefert die Datei im Cache-Verzeichnis, in der der Snapshot abgelegt
+     * wird.
+     *
+     * @return die Datei oder null, falls keine Snapshots abgelegt werden
+     *         sollen
+     */
+    File getCacheFile() {
+        String dirname = System.getProperty(CACHE_DIR_PROPERTY);
+        if ((dirname == null) || dirname.trim().isEmpty()) {
+            return null;
+        }
+        return new File(new File(dirname), resource.replaceAll("[^\\w.-]", "_") + SUFFIX);
+    }
+
+    /**
+     * Schreibt den Snapshot des uebergebenen XmlService.
+     *
+     * @param ostream hierhin wird geschrieben
+     * @param service der (geparste) XmlService
+     * @throws IOException bei Schreibfehlern
+     */
+    void write(final OutputStream ostream, final XmlService service) throws IOException {
+        SnapshotOutput out = new SnapshotOutput(new BufferedOutputStream(ostream));
+        out.writeInt(MAGIC);
+        out.writeInt(FORMAT_VERSION);
+        long crc = getResourceChecksum();
+        out.writeLong(length);
+        out.writeLong(getResourceInfo()[1]);
+        out.writeLong(crc);
+        Map<String, FeldXml> felder = service.getFelder();
+        out.writeInt(felder.size());
+        for (FeldXml feld : felder.values()) {
+            out.writeFeld(feld);
+        }
+        List<SatzXml> saetze = service.getSaetze();
+        out.writeInt(saetze.size());
+        for (SatzXml satz : saetze) {
+            out.writeReferenzen(satz.getKennzeichnung());
+            List<Teildatensatz> teildatensaetze = satz.getTeildatensaetze();
+            out.writeInt(teildatensaetze.size());
+            for (Teildatensatz tds : teildatensaetze) {
+                TeildatensatzXml tdsXml = (TeildatensatzXml) tds;
+                out.writeInt(tdsXml.getNr());
+                out.writeReferenzen(tdsXml.getFeldReferenzen());
+                out.writeReferenzen(tdsXml.getSatzende().getFeldReferenzen());
+            }
+        }
+        out.flush();
+    }
+
+    /**
+     * Liest den Snapshot ein.
+     *
+     * @param in hiervon wird gelesen
+     * @param nebenResource true, wenn der Snapshot im Classpath direkt neben
+     *            der Resource liegt
+     * @return der XmlService oder null, falls der Snapshot nicht zur
+     *         Resource passt
+     * @throws IOException bei Lesefehlern
+     */
+    private XmlService read(final DataInputStream in, final boolean nebenResource) throws IOException {
+        if ((in.readInt() != MAGIC) || (in.readInt() != FORMAT_VERSION)
+                || !isAktuell(in.readLong(), in.readLong(), in.readLong(), nebenResource)) {
+            return null;
+        }
+        SnapshotInput input = new SnapshotInput(in);
+        int n = in.readInt();
+        Map<String, FeldXml> felder = new HashMap<>(n * 4 / 3 + 1);
+        for (int i = 0; i < n; i++) {
+            FeldXml feld = input.readFeld();
+            felder.put(feld.getId(), feld);
+        }
+        n = in.readInt();
+        List<SatzXml> saetze = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            SatzXml satz = new SatzXml(input.readReferenzen());
+            int anzahl = in.readInt();
+            for (int j = 0; j < anzahl; j++) {
+                TeildatensatzXml tds = new TeildatensatzXml(satz.getSatzart(), in.readInt());
+                for (FeldReferenz referenz : input.readReferenzen()) {
+                    tds.add(referenz);
+                }
+                tds.setSatzende(new Satzende(input.readReferenzen()));
+                satz.add(tds);
+            }
+            saetze.add(satz);
+        }
+        return new XmlService(saetze, felder, ForkJoinPool.commonPool(), lazy);
+    }
+
+    /**
+     * Prueft zuerst ueber Groesse und Aenderungsdatum, ob der Snapshot zur
+     * Resource passt. Nur wenn das nicht ausreicht, wird die Resource zum
+     * Berechnen der Pruefsumme gelesen.
+     */
+    private boolean isAktuell(final long snapshotLength, final long snapshotModified, final long snapshotChecksum,
+            final boolean nebenResource) throws IOException {
+        long[] info = getResourceInfo();
+        if ((info[0] >= 0) && (info[0] != snapshotLength)) {
+            return false;
+        }
+        if (nebenResource || ((info[1] > 0) && (info[1] == snapshotModified))) {
+            return true;
+        }
+        return getResourceChecksum() == snapshotChecksum;
+    }
+
+    /**
+     * Legt den Snapshot fuer die angegebene Resource in dem angegebenen
+     * Verzeichnis an. Damit kann der Snapshot bereits beim Bau erzeugt und
+     * neben der XML-Resource in den Classpath gelegt werden, z.B.
+     * <pre>
+     * java gdv.xport.satz.xml.XmlSnapshot VUVM2015.xml target/classes/gdv/xport/satz/xml
+     * </pre>
+     *
+     * @param args Resource-Name und Zielverzeichnis
+     * @throws XMLStreamException falls die Resource nicht geparst werden kann
+     * @throws IOException bei Schreibfehlern
+     */
+    public static void main(final String[] args) throws XMLStreamException, IOException {
+        if (args.length != 2) {
+            System.err.println("usage: XmlSnapshot <resource> <directory>");
+            return;
+        }
+        XmlSnapshot snapshot = new XmlSnapshot(args[0], false);
+        File file = new File(args[1], new File(args[0]).getName() + SUFFIX);
+        snapshot.writeTo(file, snapshot.parse());
+        System.out.println("Snapshot of '" + args[0] + "' written to " + file);
+    }
+
+    /**
+     * Schreibt die Daten eines Snapshots. Wiederholt auftretende Strings
+     * (v.a. die Referenzen) werden dabei nur einmal geschrieben und danach
+     * ueber ihren Index referenziert.
+     */
+    private static final class SnapshotOutput extends DataOutputStream {
+
+        private final Map<String, Integer> strings = new HashMap<>();
+
+        SnapshotOutput(final OutputStream ostream) {
+            super(ostream);
+        }
+
+        void writeString(final String s) throws IOException {
+            Integer index = strings.get(s);
+            if (index == null) {
+                writeInt(-1);
+                writeUTF(s);
+                strings.put(s, strings.size());
+            } else {
+                writeInt(index);
+            }
+        }
+
+        void writeFeld(final FeldXml feld) throws IOException {
+            writeString(feld.getId());
+            writeString(feld.getBezeichner().getName());
+            writeString(feld.getBezeichner().getTechnischerName());
+            writeInt(feld.getAnzahlBytes());
+            writeString(feld.getDatentyp().name());
+            writeInt(feld.getNachkommastellen());
+        }
+
+        void writeReferenzen(final List<FeldReferenz> referenzen) throws IOException {
+            writeInt(referenzen.size());
+            for (FeldReferenz referenz : referenzen) {
+                writeString(referenz.getId());
+                writeString(referenz.getName());
+                writeString(referenz.getTechnischerName());
+                writeString(referenz.getBemerkung());
+                writeString(referenz.getAuspraegung());
+            }
+        }
+
+    }
+
+    /**
+     * Liest die XML-Resource und berechnet dabei Pruefsumme und Laenge, ohne
+     * die Resource im Speicher zu halten.
+     */
+    private final class ResourceInputStream extends CheckedInputStream {
+
+        private long count;
+
+        ResourceInputStream(final InputStream istream) {
+            super(istream, new CRC32());
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                count++;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(final byte[] buf, final int off, final int len) throws IOException {
+            int n = super.read(buf, off, len);
+            if (n > 0) {
+                count += n;
+            }
+            return n;
+        }
+
+        /**
+         * Liest den Rest der Resource und uebernimmt Pruefsumme und Laenge
+         * in den Snapshot.
+         *
+         * @throws IOException bei Lesefehlern
+         */
+        void finish() throws IOException {
+            byte[] buffer = new byte[8192];
+            while (read(buffer, 0, buffer.length) >= 0) {
+                // nur fuer die Pruefsumme
+            }
+            length = count;
+            checksum = getChecksum().getValue();
+        }
+
+    }
+
+    /**
+     * Gegenstueck zu {@link SnapshotOutput}.
+     */
+    private static final class SnapshotInput {
+
+        private final DataInputStream in;
+        private final List<String> strings = new ArrayList<>();
+
+        SnapshotInput(final DataInputStream in) {
+            this.in = in;
+        }
+
+        String readString() throws IOException {
+            int index = in.readInt();
+            if (index < 0) {
+                String s = in.readUTF();
+                strings.add(s);
+                return s;
+            }
+            return strings.get(index);
+        }
+
+        FeldXml readFeld() throws IOException {
+            Properties props = new Properties();
+            props.setProperty("ID", readString());
+            props.setProperty("name", readString());
+            props.setProperty("technischerName", readString());
+            props.setProperty("bytes", Integer.toString(in.readInt()));
+            props.setProperty("datentyp", readString());
+            props.setProperty("nachkommastellen", Integer.toString(in.readInt()));
+            return new FeldXml(props);
+        }
+
+        List<FeldReferenz> readReferenzen() throws IOException {
+            int n = in.readInt();
+            List<FeldReferenz> referenzen = new ArrayList<>(n);
+            for (int i = 0; i < n; i++) {
+                String id = readString();
+                Bezeichner bezeichner = Bezeichner.of(readString(), readString());
+                referenzen.add(new FeldReferenz(id, bezeichner, readString(), readString()));
+            }
+            return referenzen;
+        }
+
+    }
+
+}
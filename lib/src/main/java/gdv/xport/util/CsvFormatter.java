@@ -23,10 +23,16 @@ import gdv.xport.feld.Bezeichner;
 import gdv.xport.feld.Feld;
 import gdv.xport.satz.Datensatz;
 import gdv.xport.satz.Satz;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 
+import java.io.BufferedWriter;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.io.Writer;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -34,19 +40,33 @@ import java.util.Map.Entry;
 /**
  * Diese Klasse dient dazu, um die verschiedenen Saetze und Felder in einer
  * einzigen CSV-Datei zu exportieren.
+ * <p>
+ * Werden die Spalten beim Anlegen ueber
+ * {@link #CsvFormatter(Writer, Collection)} vorgegeben, arbeitet der
+ * Formatter als Datenstrom: jeder Satz wird direkt (z.B. als
+ * {@link gdv.xport.event.ImportListener} eines
+ * {@link gdv.xport.DatenpaketStreamer}) als Zeile ausgegeben, ohne dass das
+ * komplette Datenpaket im Speicher gehalten werden muss.
+ * </p>
  *
  * @author oliver
  * @since 1.2 (06.06.2016)
  */
 public final class CsvFormatter extends AbstractFormatter {
 
+    private static final Logger LOG = LogManager.getLogger(CsvFormatter.class);
     private final Map<Bezeichner, Feld> felder = new LinkedHashMap<>();
+    private final Map<Bezeichner, Integer> spalten = new HashMap<>();
+    private final Feld[] zeile;
+    private char[] puffer = new char[4096];
+    private boolean headGeschrieben;
 
     /**
      * Instantiates a new csv formatter.
      */
     public CsvFormatter() {
         super();
+        this.zeile = null;
     }
 
     /**
@@ -56,6 +76,7 @@ public final class CsvFormatter extends AbstractFormatter {
      */
     public CsvFormatter(Writer writer) {
         super(writer);
+        this.zeile = null;
     }
 
     /**
@@ -65,6 +86,35 @@ public final class CsvFormatter extends AbstractFormatter {
      */
     public CsvFormatter(OutputStream ostream) {
         super(ostream);
+        this.zeile = null;
+    }
+
+    /**
+     * Legt einen CsvFormatter an, dessen Spalten vorab aus den uebergebenen
+     * Saetzen ermittelt werden (z.B. Vorsatz, die benoetigten Datensaetze und
+     * Nachsatz). Damit kann jeder Satz sofort ausgegeben werden, sobald er
+     * importiert wurde. Felder, die in keinem dieser Saetze vorkommen, werden
+     * bei der Ausgabe ignoriert.
+     * <p>
+     * Der Writer wird gepuffert und nicht nach jeder Zeile, sondern erst nach
+     * dem Nachsatz geleert.
+     * </p>
+     *
+     * @param writer the writer
+     * @param saetze Saetze, aus denen die Spalten ermittelt werden
+     * @since 3.1
+     */
+    public CsvFormatter(final Writer writer, final Collection<? extends Satz> saetze) {
+        super(new BufferedWriter(writer));
+        for (Satz satz : saetze) {
+            this.buildHead(satz);
+        }
+        int i = 0;
+        for (Bezeichner bezeichner : this.felder.keySet()) {
+            this.spalten.put(bezeichner, i);
+            i++;
+        }
+        this.zeile = new Feld[i];
     }
 
     /**
@@ -76,9 +126,12 @@ public final class CsvFormatter extends AbstractFormatter {
      */
     @Override
     public void write(final Datenpaket datenpaket) throws IOException {
-        buildHead(datenpaket);
-        this.writeHead();
+        if (this.zeile == null) {
+            buildHead(datenpaket);
+            this.writeHead();
+        }
         this.writeBody(datenpaket);
+        this.getWriter().flush();
     }
 
     /**
@@ -90,12 +143,20 @@ public final class CsvFormatter extends AbstractFormatter {
      */
     @Override
     public void write(Satz satz) throws IOException {
-        this.buildHead(satz);
-        this.writeHead();
-        this.writeBody(satz);
+        if (this.zeile == null) {
+            this.buildHead(satz);
+            this.writeHead();
+            this.writeBody(satz);
+            this.getWriter().flush();
+        } else {
+            this.writeBody(satz);
+            if (satz.getSatzart() == 9999) {
+                this.getWriter().flush();
+            }
+        }
     }
 
-    private void buildHead(final Datenpaket datenpaket) throws IOException {
+    private void buildHead(final Datenpaket datenpaket) {
         this.buildHead(datenpaket.getVorsatz());
         for (Datensatz satz : datenpaket.getDatensaetze()) {
             this.buildHead(satz);
@@ -103,7 +164,7 @@ public final class CsvFormatter extends AbstractFormatter {
         this.buildHead(datenpaket.getNachsatz());
     }
 
-    private void buildHead(Satz satz) throws IOException {
+    private void buildHead(Satz satz) {
         for (Feld feld : satz.getFelder()) {
             if (!felder.containsKey(feld.getBezeichner())) {
                 felder.put(feld.getBezeichner(), feld);
@@ -117,6 +178,7 @@ public final class CsvFormatter extends AbstractFormatter {
             this.write(";");
         }
         this.write("\n");
+        this.headGeschrieben = true;
     }
 
     private void writeBody(Datenpaket datenpaket) throws IOException {
@@ -128,6 +190,10 @@ public final class CsvFormatter extends AbstractFormatter {
     }
 
     private void writeBody(Satz satz) throws IOException {
+        if (this.zeile != null) {
+            this.writeZeile(satz);
+            return;
+        }
         this.resetFelder();
         for (Feld feld : satz.getFelder()) {
             this.felder.put(feld.getBezeichner(), feld);
@@ -137,7 +203,62 @@ public final class CsvFormatter extends AbstractFormatter {
             this.write(";");
         }
         this.write("\n");
-        this.getWriter().flush();
+    }
+
+    /**
+     * Gibt den Satz als Zeile mit den vorab ermittelten Spalten aus. Die
+     * Zeile wird dazu im Puffer aufgebaut und mit einem einzigen Aufruf
+     * geschrieben.
+     *
+     * @param satz der Satz
+     * @throws IOException Signals that an I/O exception has occurred.
+     */
+    private void writeZeile(final Satz satz) throws IOException {
+        if (!this.headGeschrieben) {
+            this.writeHead();
+        }
+        Arrays.fill(this.zeile, null);
+        for (Feld feld : satz.getFelder()) {
+            Integer spalte = this.spalten.get(feld.getBezeichner());
+            if (spalte == null) {
+                LOG.debug("{} is ignored because it is not part of the columns.", feld);
+            } else {
+                this.zeile[spalte] = feld;
+            }
+        }
+        int n = 0;
+        for (Feld feld : this.zeile) {
+            if (feld != null) {
+                n = this.append(feld, n);
+            }
+            n = this.append(';', n);
+        }
+        n = this.append('\n', n);
+        this.getWriter().write(this.puffer, 0, n);
+    }
+
+    private int append(final Feld feld, final int pos) {
+        int start = 0;
+        int end = feld.getAnzahlBytes();
+        while ((start < end) && (feld.charAt(start) <= ' ')) {
+            start++;
+        }
+        while ((end > start) && (feld.charAt(end - 1) <= ' ')) {
+            end--;
+        }
+        int n = pos;
+        for (int i = start; i < end; i++) {
+            n = this.append(feld.charAt(i), n);
+        }
+        return n;
+    }
+
+    private int append(final char ch, final int pos) {
+        if (pos >= this.puffer.length) {
+            this.puffer = Arrays.copyOf(this.puffer, this.puffer.length * 2);
+        }
+        this.puffer[pos] = ch;
+        return pos + 1;
     }
 
     private void resetFelder() {
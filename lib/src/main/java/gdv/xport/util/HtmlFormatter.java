@@ -26,25 +26,46 @@ import org.apache.commons.io.*;
 
 import javax.xml.stream.*;
 import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.text.*;
 import java.util.*;
 
 /**
  * Diese Klasse gibt die verschiedenen Saetze und Felder als HTML aus.
+ * <p>
+ * Die Uebersicht wird dabei Satz fuer Satz ausgegeben, waehrend die Details
+ * erst am Ende (nach dem Nachsatz) folgen. Bis dahin werden die Details im
+ * Speicher gesammelt. Auch bei der Verarbeitung als Datenstrom (ueber
+ * {@link #notice(Satz)}) waechst der Speicherbedarf daher mit
+ * der Groesse der Eingabe - die Details sind als HTML ein Mehrfaches der
+ * eingelesenen Saetze. Spooling ist trotzdem nicht voreingestellt, weil es
+ * eine temporaere Datei und ein zusaetzliches Umkopieren am Ende kostet, was
+ * sich fuer kleine Dateien nicht lohnt. Fuer grosse Dateien sollte daher
+ * ueber {@link #setSpooling(boolean)} eingestellt werden, dass die Details
+ * stattdessen in eine temporaere Datei ausgelagert werden, die am Ende in
+ * die Ausgabe kopiert wird. Wird die Ausgabe vorher abgebrochen, sollte der
+ * Formatter ueber {@link #close()} geschlossen werden, damit die temporaere
+ * Datei wieder geloescht wird.
+ * </p>
  *
  * @author oliver (ob@aosd.de)
  * @since 0.5.0 (23.11.2010)
  */
-public final class HtmlFormatter extends AbstractFormatter {
+public final class HtmlFormatter extends AbstractFormatter implements Closeable {
 
     private static final XMLOutputFactory XML_OUTPUT_FACTORY = XMLOutputFactory.newInstance();
     private static final String HEAD;
     private static final String TAIL;
-
-    private final StringWriter detailsWriter = new StringWriter();
+    private static final String DETAILS_MARKER = "<!-- details -->";
 
     private String title = "GDV-Datei";
     private int zeile = 1;
+    private boolean spooling = false;
+    private XMLStreamWriter xmlStreamWriter;
+    private XMLStreamWriter detailsStreamWriter;
+    private Writer detailsWriter;
+    private File detailsFile;
 
     static {
         try {
@@ -98,6 +119,29 @@ public final class HtmlFormatter extends AbstractFormatter {
         this.title = title;
     }
 
+    /**
+     * Ist Spooling eingeschaltet, werden die Details nicht im Speicher,
+     * sondern in einer temporaeren Datei gesammelt. Damit koennen auch sehr
+     * grosse Dateien als HTML ausgegeben werden.
+     *
+     * @param spooling true, falls die Details ausgelagert werden sollen
+     * @since 3.1
+     */
+    public void setSpooling(final boolean spooling) {
+        this.spooling = spooling;
+    }
+
+    /**
+     * Setzt den Ausgabekanal auf den uebergebenen Writer.
+     *
+     * @param writer Ausgabekanal
+     */
+    @Override
+    public void setWriter(final Writer writer) {
+        super.setWriter(writer);
+        this.xmlStreamWriter = null;
+    }
+
     /**
      * HTML-Ausgabe eines einzelnen Satzes.
      *
@@ -107,12 +151,23 @@ public final class HtmlFormatter extends AbstractFormatter {
      */
     @Override
     public void write(final Satz satz) throws IOException {
+        try {
+            writeSatz(satz);
+        } catch (IOException | RuntimeException ex) {
+            closeDetails(ex);
+            throw ex;
+        }
+    }
+
+    private void writeSatz(final Satz satz) throws IOException {
         try {
             if (satz.getSatzart() == 1) {
                 this.writeHead();
             }
-            this.writeSatz(satz);
-            writeDetailsTo(this.detailsWriter, satz, zeile);
+            XMLStreamWriter overview = getXmlStreamWriter();
+            writeTo(overview, satz, zeile);
+            overview.flush();
+            writeDetailsTo(getDetailsStreamWriter(), satz, zeile);
             zeile += satz.getTeildatensaetze().size();
             if (satz.getSatzart() == 9999) {
                 this.writeTail();
@@ -128,24 +183,121 @@ public final class HtmlFormatter extends AbstractFormatter {
         this.getWriter().flush();
     }
 
-    private void writeSatz(final Satz satz) throws XMLStreamException, IOException {
-        StringWriter buffer = new StringWriter();
-        XMLStreamWriter xmlStreamWriter = XML_OUTPUT_FACTORY.createXMLStreamWriter(buffer);
-        writeTo(xmlStreamWriter, satz, zeile);
-        xmlStreamWriter.close();
-        buffer.close();
-        this.write(buffer.toString());
+    /**
+     * Der XMLStreamWriter fuer die Uebersicht wird fuer alle Saetze
+     * verwendet. Da er bei jedem Satz geleert wird, reicht er sein "flush"
+     * nicht an den eigentlichen Writer weiter.
+     */
+    private XMLStreamWriter getXmlStreamWriter() throws XMLStreamException {
+        if (this.xmlStreamWriter == null) {
+            this.xmlStreamWriter = XML_OUTPUT_FACTORY.createXMLStreamWriter(new FilterWriter(this.getWriter()) {
+                @Override
+                public void flush() {
+                    // wird erst in writeTail() an den Writer weitergereicht
+                }
+                @Override
+                public void close() {
+                    // der Writer wird vom Aufrufer geschlossen
+                }
+            });
+        }
+        return this.xmlStreamWriter;
+    }
+
+    /**
+     * Die temporaere Datei wird immer in UTF-8 geschrieben, damit beim
+     * Zurueckkopieren keine Zeichen verloren gehen.
+     */
+    private XMLStreamWriter getDetailsStreamWriter() throws IOException, XMLStreamException {
+        if (this.detailsStreamWriter == null) {
+            if (this.spooling) {
+                this.detailsFile = File.createTempFile("gdv-details", ".html");
+                this.detailsWriter = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(detailsFile),
+                        StandardCharsets.UTF_8));
+            } else {
+                this.detailsWriter = new StringWriter();
+            }
+            this.detailsStreamWriter = XML_OUTPUT_FACTORY.createXMLStreamWriter(this.detailsWriter);
+        }
+        return this.detailsStreamWriter;
     }
 
     private void writeTail() throws IOException, XMLStreamException {
         this.getWriter().flush();
-        this.detailsWriter.close();
-        String tail = MessageFormat.format(TAIL, this.detailsWriter.toString());
-        this.write(tail);
+        String tail = MessageFormat.format(TAIL, DETAILS_MARKER);
+        int i = tail.indexOf(DETAILS_MARKER);
+        this.write(tail.substring(0, i));
+        this.writeDetails();
+        this.write(tail.substring(i + DETAILS_MARKER.length()));
         this.write("<!-- (c)reated by gdv-xport at " + new Date() + " -->\n");
         this.getWriter().flush();
     }
 
+    private void writeDetails() throws IOException, XMLStreamException {
+        try {
+            getDetailsStreamWriter().close();
+            this.detailsWriter.close();
+            if (this.detailsFile == null) {
+                this.write(this.detailsWriter.toString());
+            } else {
+                try (Reader reader = new InputStreamReader(new FileInputStream(this.detailsFile),
+                        StandardCharsets.UTF_8)) {
+                    IOUtils.copy(reader, this.getWriter());
+                }
+            }
+        } finally {
+            closeDetails();
+        }
+    }
+
+    /**
+     * Schliesst die Details und loescht die temporaere Datei, falls die
+     * Ausgabe vor dem Nachsatz abgebrochen wurde. Der Writer, an den das
+     * HTML ausgegeben wird, bleibt offen - er wird vom Aufrufer geschlossen.
+     *
+     * @throws IOException falls die temporaere Datei nicht geloescht werden
+     *             kann
+     * @since 3.1
+     */
+    @Override
+    public void close() throws IOException {
+        closeDetails();
+    }
+
+    private void closeDetails(final Exception cause) {
+        try {
+            closeDetails();
+        } catch (IOException ioe) {
+            cause.addSuppressed(ioe);
+        }
+    }
+
+    private void closeDetails() throws IOException {
+        Writer writer = this.detailsWriter;
+        File file = this.detailsFile;
+        this.detailsStreamWriter = null;
+        this.detailsWriter = null;
+        this.detailsFile = null;
+        try {
+            if (writer != null) {
+                writer.close();
+            }
+        } finally {
+            if (file != null) {
+                Files.deleteIfExists(file.toPath());
+            }
+        }
+    }
+
+    /**
+     * Liefert die temporaere Datei, in der die Details gesammelt werden.
+     *
+     * @return die Datei oder null, wenn gerade keine Details ausgelagert werden
+     */
+    File getDetailsFile() {
+        return this.detailsFile;
+    }
+
     private static void writeTo(final XMLStreamWriter xmlStreamWriter, final Satz satz, final int zeile)
             throws XMLStreamException {
         xmlStreamWriter.writeStartElement("div");
@@ -168,12 +320,6 @@ public final class HtmlFormatter extends AbstractFormatter {
         }
         xmlStreamWriter.writeEndElement();
         xmlStreamWriter.writeCharacters("\n");
-        xmlStreamWriter.flush();
-    }
-
-    private static void writeDetailsTo(final Writer writer, final Satz satz, final int zeile) throws XMLStreamException {
-        XMLStreamWriter xmlStreamWriter = XML_OUTPUT_FACTORY.createXMLStreamWriter(writer);
-        writeDetailsTo(xmlStreamWriter, satz, zeile);
     }
 
     private static void writeDetailsTo(final XMLStreamWriter xmlStreamWriter, final Satz satz, final int zeile)
@@ -187,7 +333,6 @@ public final class HtmlFormatter extends AbstractFormatter {
         }
         xmlStreamWriter.writeEndElement();
         xmlStreamWriter.writeCharacters("\n");
-        xmlStreamWriter.flush();
     }
 
     private static void writeTo(final XMLStreamWriter xmlStreamWriter, final Teildatensatz teildatensatz,
@@ -238,7 +383,6 @@ public final class HtmlFormatter extends AbstractFormatter {
         xmlStreamWriter.writeEndElement();
         xmlStreamWriter.writeEndElement();
         xmlStreamWriter.writeCharacters("\n");
-        xmlStreamWriter.flush();
     }
 
     private static void writeTagTo(final XMLStreamWriter xmlStreamWriter, final String tag, final String content)
@@ -17,18 +17,39 @@
  */
 package gdv.xport.util;
 
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import gdv.xport.Datenpaket;
 import gdv.xport.config.Config;
+import gdv.xport.feld.Bezeichner;
+import gdv.xport.satz.Datensatz;
+import gdv.xport.satz.FolgenummerPruefer;
+import gdv.xport.satz.Satz;
+import gdv.xport.satz.Vorsatz;
+import net.sf.oval.ConstraintViolation;
 
 import java.io.IOException;
 import java.io.OutputStream;
 import java.io.OutputStreamWriter;
 import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Ueber diese Klassen koennen die GDV-Datensaetze als JSON formattiert
  * werden.
+ * <p>
+ * Seit 3.1 kann der JsonFormatter auch als {@link ImportListener}
+ * eingesetzt werden. Dabei wird jeder Satz sofort ueber einen
+ * {@link JsonGenerator} ausgegeben, sodass nie das komplette Datenpaket
+ * im Speicher gehalten werden muss. Im normalen Modus entsteht dabei pro
+ * Datenpaket das gleiche JSON-Dokument wie bei {@link #write(Datenpaket)}
+ * (nur die Reihenfolge der Attribute ist eine andere); im zeilenweisen
+ * Modus wird jeder Satz als eigenes JSON-Objekt in einer eigenen Zeile
+ * ausgegeben (Newline-Delimited JSON).
+ * </p>
  *
  * @author oliver
  * @since 2.1.0
@@ -36,6 +57,15 @@ import java.io.Writer;
 public class JsonFormatter extends AbstractFormatter {
 
     private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    private static final ObjectWriter OBJECT_WRITER =
+            OBJECT_MAPPER.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+
+    private final boolean zeilenweise;
+    private JsonGenerator generator;
+    private boolean dokumentOffen;
+    private final List<ConstraintViolation> verletzungen = new ArrayList<>();
+    private FolgenummerPruefer folgenummern;
+    private boolean valid;
 
     /**
      * Default-Konstruktor.
@@ -59,19 +89,198 @@ public class JsonFormatter extends AbstractFormatter {
      * @param writer the writer
      */
     public JsonFormatter(final Writer writer) {
+        this(writer, false);
+    }
+
+    /**
+     * Instantiiert einen neuen JsonFormatter. Ist 'zeilenweise' gesetzt,
+     * wird jeder Satz als eigenes JSON-Objekt in einer Zeile ausgegeben
+     * (Newline-Delimited JSON).
+     *
+     * @param ostream the ostream
+     * @param zeilenweise true fuer Newline-Delimited JSON
+     * @since 3.1
+     */
+    public JsonFormatter(final OutputStream ostream, final boolean zeilenweise) {
+        this(new OutputStreamWriter(ostream, Config.DEFAULT_ENCODING), zeilenweise);
+    }
+
+    /**
+     * Instantiiert einen neuen JsonFormatter. Ist 'zeilenweise' gesetzt,
+     * wird jeder Satz als eigenes JSON-Objekt in einer Zeile ausgegeben
+     * (Newline-Delimited JSON).
+     *
+     * @param writer the writer
+     * @param zeilenweise true fuer Newline-Delimited JSON
+     * @since 3.1
+     */
+    public JsonFormatter(final Writer writer, final boolean zeilenweise) {
         super(writer);
+        this.zeilenweise = zeilenweise;
+    }
+
+    /**
+     * Setzt den Ausgabekanal auf den uebergebenen Writer. Was noch im
+     * {@link JsonGenerator} gepuffert ist, wird vorher in den alten
+     * Ausgabekanal geschrieben. Ein noch offenes JSON-Dokument wird dabei
+     * nicht abgeschlossen.
+     *
+     * @param writer Ausgabekanal
+     */
+    @Override
+    public void setWriter(final Writer writer) {
+        if (this.generator != null) {
+            try {
+                this.generator.flush();
+            } catch (IOException ioe) {
+                throw new FormatterException("cannot flush " + this.generator, ioe);
+            }
+        }
+        super.setWriter(writer);
+        this.generator = null;
+        this.dokumentOffen = false;
+        this.folgenummern = null;
     }
 
     /**
-     * Ausgabe eines kompletten Datenpakets.
+     * Ausgabe eines kompletten Datenpakets. Das Datenpaket wird dabei direkt
+     * in den Ausgabekanal geschrieben, ohne vorher als String aufgebaut zu
+     * werden.
      *
      * @param datenpaket Datenpaket, das formattiert ausgegeben werden soll
      * @throws IOException bei Problemen mit der Generierung
      */
     @Override
     public void write(final Datenpaket datenpaket) throws IOException {
-        String value = OBJECT_MAPPER.writeValueAsString(datenpaket);
-        this.write(value);
+        if (zeilenweise) {
+            super.write(datenpaket);
+        } else {
+            JsonGenerator gen = getGenerator();
+            OBJECT_WRITER.writeValue(gen, datenpaket);
+            gen.flush();
+        }
+    }
+
+    /**
+     * Ausgabe eines einzelnen Satzes. Im zeilenweisen Modus wird der Satz
+     * als eigene Zeile ausgegeben. Ansonsten wird er in das aktuelle
+     * JSON-Dokument eingefuegt: der Vorsatz eroeffnet ein neues Dokument
+     * (inkl. der Angaben wie Absender oder VU-Nummer, die aus dem Vorsatz
+     * stammen), der Nachsatz schliesst es ab. Da "valid" erst mit dem
+     * Nachsatz feststeht, wird es als letztes Attribut ausgegeben.
+     *
+     * @param satz Satz, der ausgegeben werden soll
+     * @throws IOException bei Problemen mit der Generierung
+     * @since 3.1
+     */
+    @Override
+    public void write(final Satz satz) throws IOException {
+        JsonGenerator gen = getGenerator();
+        if (zeilenweise) {
+            OBJECT_WRITER.writeValue(gen, satz);
+            gen.writeRaw('\n');
+            if (satz.getSatzart() == 9999) {
+                gen.flush();
+            }
+            return;
+        }
+        int satzart = satz.getSatzart();
+        if (satzart == 1) {
+            schliesseDokument(gen);
+            gen.writeStartObject();
+            beginneValidierung();
+            if (satz instanceof Vorsatz) {
+                writeKopfdaten(gen, (Vorsatz) satz);
+            }
+            gen.writeFieldName("vorsatz");
+            OBJECT_WRITER.writeValue(gen, satz);
+            validate(satz);
+            gen.writeArrayFieldStart("datensaetze");
+            dokumentOffen = true;
+        } else if (satzart == 9999) {
+            oeffneDokument(gen);
+            gen.writeEndArray();
+            gen.writeFieldName("nachsatz");
+            OBJECT_WRITER.writeValue(gen, satz);
+            validate(satz);
+            gen.writeBooleanField("valid", valid);
+            gen.writeEndObject();
+            gen.writeRaw('\n');
+            gen.flush();
+            dokumentOffen = false;
+        } else {
+            oeffneDokument(gen);
+            OBJECT_WRITER.writeValue(gen, satz);
+            validate(satz);
+        }
+    }
+
+    /**
+     * Gibt die Attribute aus, die {@link Datenpaket} aus dem Vorsatz
+     * ableitet.
+     */
+    private static void writeKopfdaten(final JsonGenerator gen, final Vorsatz vorsatz) throws IOException {
+        gen.writeStringField("absender", vorsatz.getAbsender());
+        gen.writeStringField("adressat", vorsatz.getAdressat());
+        gen.writeFieldName("erstellungsDatumVon");
+        OBJECT_WRITER.writeValue(gen, vorsatz.getFeld(Bezeichner.ERSTELLUNGSDAT_ZEITRAUM_VOM));
+        gen.writeFieldName("erstellungsDatumBis");
+        OBJECT_WRITER.writeValue(gen, vorsatz.getFeld(Bezeichner.ERSTELLUNGSDAT_ZEITRAUM_BIS));
+        gen.writeStringField("vuNummer", vorsatz.getVuNummer());
+        gen.writeStringField("vermittler", vorsatz.getVermittler());
+    }
+
+    private void beginneValidierung() {
+        folgenummern = new FolgenummerPruefer(Datenpaket.class);
+        verletzungen.clear();
+        valid = true;
+    }
+
+    /**
+     * Prueft den Satz wie {@link Datenpaket#isValid()}: den Satz selbst ueber
+     * {@link Satz#isValid()}, die VU-Nummer des Vorsatzes und die
+     * Folgenummern der Datensaetze. Nach der ersten Verletzung steht das
+     * Ergebnis fest, sodass die restlichen Saetze nicht mehr geprueft werden
+     * muessen.
+     */
+    private void validate(final Satz satz) {
+        if (!valid) {
+            return;
+        }
+        if (!satz.isValid()) {
+            valid = false;
+        } else if (satz instanceof Vorsatz) {
+            valid = !Config.DUMMY_VU_NUMMER.equals(((Vorsatz) satz).getVuNummer());
+        } else if (satz instanceof Datensatz) {
+            valid = folgenummern.pruefe((Datensatz) satz, verletzungen);
+        }
+    }
+
+    private void oeffneDokument(final JsonGenerator gen) throws IOException {
+        if (!dokumentOffen) {
+            gen.writeStartObject();
+            gen.writeArrayFieldStart("datensaetze");
+            beginneValidierung();
+            dokumentOffen = true;
+        }
+    }
+
+    private void schliesseDokument(final JsonGenerator gen) throws IOException {
+        if (dokumentOffen) {
+            gen.writeEndArray();
+            gen.writeEndObject();
+            gen.writeRaw('\n');
+            dokumentOffen = false;
+        }
+    }
+
+    private JsonGenerator getGenerator() throws IOException {
+        if (generator == null) {
+            generator = OBJECT_MAPPER.getFactory().createGenerator(getWriter());
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(null);
+        }
+        return generator;
     }
 
 }
@@ -76,13 +76,19 @@ import gdv.xport.satz.model.Satz220;
 import gdv.xport.satz.model.Satz221;
 import gdv.xport.satz.model.Satz230;
 import gdv.xport.satz.model.SatzX;
+import gdv.xport.satz.xml.SatzXml;
 import gdv.xport.satz.xml.XmlService;
 
 import java.io.IOException;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -103,6 +109,12 @@ public final class SatzFactory {
             new ConcurrentHashMap<SatzTyp, Class<? extends Datensatz>>();
     private static final Map<SatzTyp, Class<? extends Enum<?>>> REGISTERED_ENUM_CLASSES =
             new ConcurrentHashMap<SatzTyp, Class<? extends Enum<?>>>();
+    private static final Map<SatzTyp, Erzeuger<Satz>> SATZ_SUPPLIERS =
+            new ConcurrentHashMap<SatzTyp, Erzeuger<Satz>>();
+    private static final Map<SatzTyp, Erzeuger<Datensatz>> DATENSATZ_SUPPLIERS =
+            new ConcurrentHashMap<SatzTyp, Erzeuger<Datensatz>>();
+    /** Wird bei jeder Aenderung der Registrierung hochgezaehlt. */
+    private static final AtomicInteger GENERATION = new AtomicInteger();
     private static final XmlService XML_SERVICE = XmlService.getInstance();
 
     static {
@@ -263,6 +275,7 @@ public final class SatzFactory {
             throw new IllegalArgumentException("no default constructor found in " + clazz, ex);
         }
         REGISTERED_SATZ_CLASSES.put(new SatzTyp(satzart), clazz);
+        resetSuppliers();
     }
 
     /**
@@ -305,6 +318,7 @@ public final class SatzFactory {
             REGISTERED_DATENSATZ_CLASSES.remove(satzNr);
         }
         REGISTERED_ENUM_CLASSES.put(satzNr, enumClass);
+        resetSuppliers();
     }
 
     /**
@@ -318,6 +332,7 @@ public final class SatzFactory {
         SatzTyp key = new SatzTyp(satzart);
         REGISTERED_SATZ_CLASSES.remove(key);
         REGISTERED_ENUM_CLASSES.remove(key);
+        resetSuppliers();
     }
 
     /**
@@ -342,6 +357,7 @@ public final class SatzFactory {
      */
     public static void register(final Class<? extends Datensatz> clazz, final SatzTyp satzNr) {
         REGISTERED_DATENSATZ_CLASSES.put(satzNr, clazz);
+        resetSuppliers();
     }
 
     /**
@@ -369,64 +385,84 @@ public final class SatzFactory {
         SatzTyp key = new SatzTyp(satzart, sparte, wagnisart, -1);
         REGISTERED_DATENSATZ_CLASSES.remove(key);
         REGISTERED_ENUM_CLASSES.remove(key);
+        resetSuppliers();
+    }
+
+    /**
+     * Nach jeder Aenderung der Registrierung muessen die bereits ermittelten
+     * Erzeuger verworfen werden. Da ein anderer Thread gerade noch einen
+     * Erzeuger nach der alten Registrierung anlegen und danach ablegen
+     * koennte, reicht das Leeren der Caches allein nicht aus: ueber die
+     * Generation werden solche veralteten Erzeuger beim naechsten Zugriff
+     * erkannt und neu ermittelt.
+     */
+    private static void resetSuppliers() {
+        GENERATION.incrementAndGet();
+        SATZ_SUPPLIERS.clear();
+        DATENSATZ_SUPPLIERS.clear();
     }
 
     /**
      * Gets the satz.
+     * <p>
+     * Seit 3.1 wird nur noch beim ersten Aufruf ermittelt, wie der Satz
+     * erzeugt werden kann (registrierte Klasse, Enum oder XML-Beschreibung).
+     * Danach wird der Satz direkt ueber den dabei ermittelten Erzeuger
+     * angelegt.
+     * </p>
      *
      * @param satzart the satzart
      * @return angeforderte Satz
      * @since 0.2
      */
     public static Satz getSatz(final int satzart) {
+        return getSatzSupplier(satzart).get();
+    }
+
+    private static Supplier<Satz> getSatzSupplier(final int satzart) {
+        SatzTyp key = new SatzTyp(satzart);
+        int generation = GENERATION.get();
+        Erzeuger<Satz> erzeuger = SATZ_SUPPLIERS.get(key);
+        if ((erzeuger == null) || (erzeuger.generation != generation)) {
+            erzeuger = new Erzeuger<Satz>(generation, createSatzSupplier(satzart));
+            SATZ_SUPPLIERS.put(key, erzeuger);
+        }
+        return erzeuger.supplier;
+    }
+
+    private static Supplier<Satz> createSatzSupplier(final int satzart) {
         Class<? extends Satz> clazz = REGISTERED_SATZ_CLASSES.get(new SatzTyp(satzart));
         if (clazz == null) {
-            return generateSatz(satzart);
+            return generateSatzSupplier(satzart);
         }
-        try {
-            Satz satz = clazz.newInstance();
-            if (satz.getSatzart() != satzart) {
-                Constructor<? extends Satz> ctor = clazz.getConstructor(int.class);
-                satz = ctor.newInstance(satzart);
+        KonstruktorErzeuger<Satz> erzeuger = new KonstruktorErzeuger<Satz>(clazz, satzart) {
+            @Override
+            protected Supplier<Satz> createFallback() {
+                return generateSatzSupplier(satzart);
             }
-            return satz;
-        } catch (Exception e) {
-            LOG.info("default constructor does not work (" + e + "), trying another ctor...");
-            Constructor<? extends Satz> ctor = null;
-            try {
-                ctor = clazz.getConstructor(int.class);
-                return ctor.newInstance(satzart);
-            } catch (InvocationTargetException ite) {
-                throw new ShitHappenedException(ite.getTargetException() + " in " + ctor, ite);
-            } catch (NoSuchMethodException nsme) {
-                throw new UnsupportedOperationException("registered " + clazz + " has not the required ctor", nsme);
-            } catch (InstantiationException ie) {
-                throw new ShitHappenedException("registered " + clazz + " can't be instantiated", ie);
-            } catch (IllegalAccessException iae) {
-                throw new IllegalStateException("registered " + clazz + " can't be accessed", iae);
-            }
-        }
+        };
+        erzeuger.addConstructor();
+        erzeuger.addConstructor(satzart);
+        return erzeuger;
     }
 
-    private static Satz generateSatz(final int satzart) {
+    private static Supplier<Satz> generateSatzSupplier(final int satzart) {
         Class<? extends Enum<?>> enumClass = REGISTERED_ENUM_CLASSES.get(new SatzTyp(satzart));
         if (enumClass == null) {
-            Satz satz = XML_SERVICE.getSatzart(satzart);
-            if (satz == null) {
-                throw new NotRegisteredException(satzart);
-            }
-            return satz;
+            SatzXml prototype = XML_SERVICE.getSatzart(satzart);
+            return new Supplier<Satz>() {
+                @Override
+                public Satz get() {
+                    return new SatzXml(prototype);
+                }
+            };
         }
-        return new SatzX(satzart, enumClass);
-    }
-
-    private static Datensatz generateDatensatz(final SatzTyp satzNr) {
-        Class<? extends Enum<?>> enumClass = REGISTERED_ENUM_CLASSES.get(satzNr);
-        if (enumClass != null) {
-            return new SatzX(satzNr, enumClass);
-        }
-        LOG.trace("Will use fallback for Satz {}:", satzNr);
-        return useFallback(satzNr);
+        return new Supplier<Satz>() {
+            @Override
+            public Satz get() {
+                return new SatzX(satzart, enumClass);
+            }
+        };
     }
 
     /**
@@ -508,56 +544,52 @@ public final class SatzFactory {
      *         'wagnisart', 'teildatensatzNummer'
      */
     public static Datensatz getDatensatz(final SatzTyp satzNr) {
-        Class<? extends Datensatz> clazz = REGISTERED_DATENSATZ_CLASSES.get(satzNr);
-        if (clazz == null) {
-            return generateDatensatz(satzNr);
-        }
-        try {
-            Constructor<? extends Datensatz> ctor = clazz.getConstructor(int.class, int.class);
-            return ctor.newInstance(satzNr.getSatzart(), satzNr.getSparte());
-        } catch (NoSuchMethodException exWithTwoParams) {
-            LOG.info("constructor " + clazz + "(int, int) not found (" + exWithTwoParams + ")");
-            return getDatensatz(satzNr.getSparte(), clazz);
-        } catch (InstantiationException exWithTwoParams) {
-            LOG.info(clazz + "(int, int) can't be instantiated (" + exWithTwoParams + ")");
-            return getDatensatz(satzNr.getSparte(), clazz);
-        } catch (IllegalAccessException exWithTwoParams) {
-            LOG.info(clazz + "(int, int) can't be accessed (" + exWithTwoParams + ")");
-            return getDatensatz(satzNr.getSparte(), clazz);
-        } catch (InvocationTargetException exWithTwoParams) {
-            LOG.info("error in calling " + clazz + "(int, int): " + exWithTwoParams);
-            return getDatensatz(satzNr.getSparte(), clazz);
+        int generation = GENERATION.get();
+        Erzeuger<Datensatz> erzeuger = DATENSATZ_SUPPLIERS.get(satzNr);
+        if ((erzeuger == null) || (erzeuger.generation != generation)) {
+            erzeuger = new Erzeuger<Datensatz>(generation, createDatensatzSupplier(satzNr));
+            DATENSATZ_SUPPLIERS.put(satzNr, erzeuger);
         }
+        return erzeuger.supplier.get();
     }
 
     /**
-     * Gets the datensatz.
+     * Ermittelt einmalig, wie der Datensatz fuer die uebergebene SatzNummer
+     * erzeugt wird. Die dafuer noetige Reflection (und die Suche nach dem
+     * passenden Konstruktor) faellt damit nur beim ersten Mal an.
      *
-     * @param sparte the sparte
-     * @param clazz the clazz
-     * @return the datensatz
+     * @param satzNr die SatzNummer
+     * @return Erzeuger fuer den gewuenschten Datensatz
      */
-    private static Datensatz getDatensatz(final int sparte, final Class<? extends Datensatz> clazz) {
-        try {
-            Constructor<? extends Datensatz> ctor = clazz.getConstructor(int.class);
-            return ctor.newInstance(sparte);
-        } catch (NoSuchMethodException nsme) {
-            LOG.info(clazz + " found but no " + clazz.getSimpleName() + "(" + sparte + ") constructor (" + nsme + ")");
-            return getDatensatz(clazz);
-        } catch (Exception exWithOneParam) {
-            LOG.warn("constructor problem with " + clazz, exWithOneParam);
-            return getDatensatz(clazz);
+    private static Supplier<Datensatz> createDatensatzSupplier(final SatzTyp satzNr) {
+        Class<? extends Datensatz> clazz = REGISTERED_DATENSATZ_CLASSES.get(satzNr);
+        if (clazz == null) {
+            return generateDatensatzSupplier(satzNr);
         }
+        KonstruktorErzeuger<Datensatz> erzeuger = new KonstruktorErzeuger<Datensatz>(clazz, 0) {
+            @Override
+            protected Supplier<Datensatz> createFallback() {
+                return generateDatensatzSupplier(satzNr);
+            }
+        };
+        erzeuger.addConstructor(satzNr.getSatzart(), satzNr.getSparte());
+        erzeuger.addConstructor(satzNr.getSparte());
+        erzeuger.addConstructor();
+        return erzeuger;
     }
 
-    private static Datensatz getDatensatz(final Class<? extends Datensatz> clazz) {
-        try {
-            return clazz.newInstance();
-        } catch (InstantiationException e) {
-            throw new IllegalArgumentException("can't instantiate " + clazz, e);
-        } catch (IllegalAccessException e) {
-            throw new IllegalArgumentException("can't access default constructor of " + clazz, e);
+    private static Supplier<Datensatz> generateDatensatzSupplier(final SatzTyp satzNr) {
+        Class<? extends Enum<?>> enumClass = REGISTERED_ENUM_CLASSES.get(satzNr);
+        if (enumClass != null) {
+            return new Supplier<Datensatz>() {
+                @Override
+                public Datensatz get() {
+                    return new SatzX(satzNr, enumClass);
+                }
+            };
         }
+        LOG.trace("Will use fallback for Satz {}:", satzNr);
+        return useFallback(satzNr);
     }
 
     /**
@@ -571,20 +603,31 @@ public final class SatzFactory {
      * </p>
      *
      * @param satzNr die SatzNummer
-     * @return der erzeugte Datensatz
+     * @return Erzeuger fuer den Datensatz
      */
-    private static Datensatz useFallback(final SatzTyp satzNr) {
+    private static Supplier<Datensatz> useFallback(final SatzTyp satzNr) {
         try {
-            Datensatz fallback = (Datensatz) getSatz(satzNr.getSatzart());
-            if (satzNr.hasSparte()) {
-                fallback.setSparte(satzNr.getSparte());
-            }
-            return fallback;
+            Supplier<Satz> supplier = getSatzSupplier(satzNr.getSatzart());
+            return new Supplier<Datensatz>() {
+                @Override
+                public Datensatz get() {
+                    Datensatz fallback = (Datensatz) supplier.get();
+                    if (satzNr.hasSparte()) {
+                        fallback.setSparte(satzNr.getSparte());
+                    }
+                    return fallback;
+                }
+            };
         } catch (NotRegisteredException re) {
             LOG.warn("Reduced functionality for (unknown or unsupported) Satzart " + satzNr + ":", re);
-            Datensatz satz = new Datensatz(satzNr.getSatzart(), satzNr.getSparte());
-            satz.addFiller();
-            return satz;
+            return new Supplier<Datensatz>() {
+                @Override
+                public Datensatz get() {
+                    Datensatz satz = new Datensatz(satzNr.getSatzart(), satzNr.getSparte());
+                    satz.addFiller();
+                    return satz;
+                }
+            };
         }
     }
 
@@ -606,4 +649,106 @@ public final class SatzFactory {
         return all;
     }
 
+    /**
+     * Legt einen Satz ueber die Konstruktoren einer registrierten Klasse an.
+     * Die Konstruktoren werden nur anhand ihrer Signatur ausgewaehlt, ohne
+     * dafuer Saetze zur Probe anzulegen. Scheitert ein Konstruktor erst beim
+     * Aufruf, wird wie bisher der naechste probiert; der gescheiterte wird
+     * danach nicht mehr verwendet. Scheitern alle, wird auf den Satz aus der
+     * XML-Beschreibung (bzw. dem registrierten Enum) zurueckgegriffen.
+     */
+    private abstract static class KonstruktorErzeuger<T extends Satz> implements Supplier<T> {
+
+        private final Class<? extends T> clazz;
+        private final int satzart;
+        private final List<Constructor<? extends T>> ctors = new ArrayList<Constructor<? extends T>>();
+        private final List<Object[]> args = new ArrayList<Object[]>();
+        private volatile int start;
+        private volatile Supplier<T> fallback;
+
+        /**
+         * @param clazz die registrierte Klasse
+         * @param satzart erwartete Satzart beim Default-Konstruktor (oder 0,
+         *        falls sie nicht geprueft werden soll)
+         */
+        KonstruktorErzeuger(final Class<? extends T> clazz, final int satzart) {
+            this.clazz = clazz;
+            this.satzart = satzart;
+        }
+
+        /**
+         * Merkt sich den Konstruktor mit der passenden Anzahl an
+         * int-Parametern, falls es ihn gibt.
+         *
+         * @param params die Argumente fuer den Konstruktor
+         */
+        void addConstructor(final Object... params) {
+            Class<?>[] types = new Class<?>[params.length];
+            Arrays.fill(types, int.class);
+            try {
+                ctors.add(clazz.getConstructor(types));
+                args.add(params);
+            } catch (NoSuchMethodException nsme) {
+                LOG.info("constructor " + clazz + " with " + params.length + " int parameter(s) not found ("
+                        + nsme + ")");
+            }
+        }
+
+        /**
+         * Liefert den Erzeuger, der verwendet wird, wenn keiner der
+         * Konstruktoren funktioniert.
+         *
+         * @return Erzeuger ueber XML-Beschreibung oder Enum
+         */
+        protected abstract Supplier<T> createFallback();
+
+        @Override
+        public T get() {
+            for (int i = start; i < ctors.size(); i++) {
+                Constructor<? extends T> ctor = ctors.get(i);
+                try {
+                    T satz = ctor.newInstance(args.get(i));
+                    if ((satzart == 0) || (args.get(i).length > 0) || (satz.getSatzart() == satzart)) {
+                        return satz;
+                    }
+                    LOG.info(ctor + " creates Satzart " + satz.getSatzart() + ", trying another ctor...");
+                } catch (InvocationTargetException ite) {
+                    LOG.info("error in calling " + ctor + ": " + ite.getTargetException());
+                } catch (ReflectiveOperationException | RuntimeException ex) {
+                    LOG.info(ctor + " does not work (" + ex + "), trying another ctor...");
+                }
+                start = i + 1;
+            }
+            return getFallback().get();
+        }
+
+        private Supplier<T> getFallback() {
+            Supplier<T> supplier = fallback;
+            if (supplier == null) {
+                LOG.warn("No constructor of " + clazz + " works, falling back to generated Satz.");
+                supplier = createFallback();
+                fallback = supplier;
+            }
+            return supplier;
+        }
+
+    }
+
+    /**
+     * Ein Erzeuger merkt sich, zu welcher Generation der Registrierung er
+     * ermittelt wurde. Die Generation muss dabei vor dem Auswerten der
+     * Registrierung gelesen werden.
+     */
+    private static final class Erzeuger<T> {
+
+        private final int generation;
+        private final Supplier<T> supplier;
+
+        Erzeuger(final int generation, final Supplier<T> supplier) {
+            this.generation = generation;
+            this.supplier = supplier;
+        }
+
+    }
+
 }
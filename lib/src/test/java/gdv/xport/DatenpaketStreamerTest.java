@@ -12,17 +12,39 @@
 
 package gdv.xport;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import gdv.xport.config.Config;
 import gdv.xport.event.ImportStatistic;
+import gdv.xport.event.ImportValidator;
+import gdv.xport.feld.Bezeichner;
+import gdv.xport.satz.Datensatz;
+import gdv.xport.satz.Nachsatz;
+import gdv.xport.satz.Satz;
+import gdv.xport.util.SatzFactory;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 
+import gdv.xport.satz.model.Satz100;
+import net.sf.oval.ConstraintViolation;
+import net.sf.oval.exception.ConstraintsViolatedException;
+
 import patterntesting.runtime.annotation.IntegrationTest;
 import patterntesting.runtime.junit.SmokeRunner;
 
@@ -81,4 +103,212 @@ public final class DatenpaketStreamerTest {
         assertTrue("expected: number of imported saetze > 2", statistic.getImportedSaetze() > 2);
     }
 
+    /**
+     * Der {@link ImportValidator} muss beim Streamen die gleichen
+     * Verletzungen finden wie die Validierung des kompletten Datenpakets:
+     * fehlende VU-Nummer, ungueltige Felder und eine Luecke bei den
+     * Folgenummern. Die Luecke liegt beim letzten Datensatz, da sie beim
+     * Streamen direkt mit dem Datensatz, bei {@link Datenpaket#validate()}
+     * aber erst nach allen Datensaetzen gemeldet wird.
+     *
+     * @throws IOException Signals that an I/O exception has occurred.
+     */
+    @Test
+    public void testImportValidator() throws IOException {
+        Datenpaket datenpaket = new Datenpaket(Config.DUMMY_VU_NUMMER);
+        int[] folgenummern = { 1, 2, 4 };
+        for (int i = 0; i < folgenummern.length; i++) {
+            Datensatz datensatz = SatzFactory.getDatensatz(210, 30);
+            datensatz.setVersicherungsscheinNummer("4711");
+            datensatz.setFolgenummer(folgenummern[i]);
+            if (i != 1) {
+                datensatz.set(Bezeichner.BEGINN, "3213200" + i);
+            }
+            datenpaket.add(datensatz);
+        }
+        StringWriter swriter = new StringWriter();
+        datenpaket.export(swriter);
+        ImportValidator validator = new ImportValidator();
+        DatenpaketStreamer streamer = new DatenpaketStreamer(new StringReader(swriter.toString()));
+        streamer.register(validator);
+        streamer.readDatenpaket();
+        List<ConstraintViolation> expected = datenpaket.validate();
+        List<ConstraintViolation> violations = validator.getViolations();
+        assertEquals(violations.toString(), 4, violations.size());
+        assertEquals(expected.size(), violations.size());
+        // beim Streamen gibt es kein Datenpaket - die VU-Nummer wird am Vorsatz bemaengelt
+        assertEquals(expected.get(0).getMessage(), violations.get(0).getMessage());
+        assertEquals(datenpaket.getVorsatz().toString(), violations.get(0).getValidatedObject().toString());
+        for (int i = 1; i < expected.size(); i++) {
+            assertEquals(expected.get(i).getMessage(), violations.get(i).getMessage());
+            assertEquals(String.valueOf(expected.get(i).getValidatedObject()),
+                    String.valueOf(violations.get(i).getValidatedObject()));
+        }
+    }
+
+    /**
+     * Mit "fail fast" muss das Einlesen bereits nach der ersten Verletzung
+     * (hier: fehlende VU-Nummer im Vorsatz) abgebrochen werden.
+     *
+     * @throws IOException Signals that an I/O exception has occurred.
+     */
+    @Test
+    public void testImportValidatorFailFast() throws IOException {
+        Datenpaket datenpaket = new Datenpaket(Config.DUMMY_VU_NUMMER);
+        for (int i = 1; i <= 3; i++) {
+            Datensatz datensatz = new Satz100();
+            datensatz.setVersicherungsscheinNummer("4711");
+            datensatz.setFolgenummer(2 * i);
+            datenpaket.add(datensatz);
+        }
+        StringWriter swriter = new StringWriter();
+        datenpaket.export(swriter);
+        ImportStatistic statistic = new ImportStatistic();
+        DatenpaketStreamer streamer = new DatenpaketStreamer(new StringReader(swriter.toString()));
+        streamer.register(ImportValidator.failFast());
+        streamer.register(statistic);
+        try {
+            streamer.readDatenpaket();
+            fail("ConstraintsViolatedException expected");
+        } catch (ConstraintsViolatedException expected) {
+            assertEquals(1, expected.getConstraintViolations().length);
+            assertEquals(0, statistic.getImportedSaetze());
+        }
+    }
+
+    /**
+     * Mit gesetzter VU-Nummer wird die zweite Verletzung (falsche
+     * Folgenummer) erst beim dritten Datensatz erkannt. Bis dahin wurden
+     * Vorsatz und zwei Datensaetze vollstaendig verarbeitet.
+     *
+     * @throws IOException Signals that an I/O exception has occurred.
+     */
+    @Test
+    public void testImportValidatorMaxViolations() throws IOException {
+        Datenpaket datenpaket = new Datenpaket("08/15");
+        for (int i = 1; i <= 4; i++) {
+            Datensatz datensatz = new Satz100();
+            datensatz.setVersicherungsscheinNummer("4711");
+            datensatz.setFolgenummer(2 * i);
+            datenpaket.add(datensatz);
+        }
+        StringWriter swriter = new StringWriter();
+        datenpaket.export(swriter);
+        ImportStatistic statistic = new ImportStatistic();
+        ImportValidator validator = new ImportValidator(2);
+        DatenpaketStreamer streamer = new DatenpaketStreamer(new StringReader(swriter.toString()));
+        streamer.register(validator);
+        streamer.register(statistic);
+        try {
+            streamer.readDatenpaket();
+            fail("ConstraintsViolatedException expected");
+        } catch (ConstraintsViolatedException expected) {
+            assertEquals(2, expected.getConstraintViolations().length);
+            assertEquals(3, statistic.getImportedSaetze());
+        }
+    }
+
+    /**
+     * Test-Methode fuer {@link DatenpaketStreamer#iterator()}. Es muessen
+     * die gleichen Saetze wie beim normalen Import geliefert werden.
+     *
+     * @throws IOException Signals that an I/O exception has occurred.
+     */
+    @Test
+    public void testIterator() throws IOException {
+        Datenpaket datenpaket = new Datenpaket();
+        InputStream istream = this.getClass().getResourceAsStream("/musterdatei_041222.txt");
+        try {
+            datenpaket.importFrom(istream);
+        } finally {
+            istream.close();
+        }
+        try (DatenpaketStreamer streamer = new DatenpaketStreamer(
+                this.getClass().getResourceAsStream("/musterdatei_041222.txt"))) {
+            Iterator<Satz> iterator = streamer.iterator();
+            assertEquals(datenpaket.getVorsatz(), iterator.next());
+            for (Datensatz datensatz : datenpaket.getDatensaetze()) {
+                assertTrue(iterator.hasNext());
+                assertEquals(datensatz, iterator.next());
+            }
+            assertEquals(Nachsatz.class, iterator.next().getClass());
+            assertFalse(iterator.hasNext());
+        }
+    }
+
+    /**
+     * Test-Methode fuer {@link DatenpaketStreamer#stream()}.
+     *
+     * @throws IOException Signals that an I/O exception has occurred.
+     */
+    @Test
+    public void testStream() throws IOException {
+        InputStream istream = this.getClass().getResourceAsStream("/musterdatei_041222.txt");
+        try (DatenpaketStreamer streamer = new DatenpaketStreamer(istream);
+                Stream<Satz> saetze = streamer.stream()) {
+            long n = saetze.filter(satz -> (satz instanceof Datensatz) && ((Datensatz) satz).getSparte() == 30)
+                    .count();
+            assertTrue("no Sparte 30 found", n > 0);
+        }
+    }
+
+    /**
+     * Im Recycling-Modus muessen die gleichen Inhalte geliefert werden wie
+     * ohne Recycling - nur eben mit wiederverwendeten Instanzen.
+     *
+     * @throws IOException Signals that an I/O exception has occurred.
+     */
+    @Test
+    public void testRecycling() throws IOException {
+        try (DatenpaketStreamer normal = new DatenpaketStreamer(
+                this.getClass().getResourceAsStream("/musterdatei_041222.txt"));
+                DatenpaketStreamer recycling = new DatenpaketStreamer(
+                this.getClass().getResourceAsStream("/musterdatei_041222.txt"))) {
+            recycling.setRecycling(true);
+            Iterator<Satz> expected = normal.iterator();
+            Iterator<Satz> recycled = recycling.iterator();
+            Set<Satz> instances = Collections.newSetFromMap(new IdentityHashMap<Satz, Boolean>());
+            int n = 0;
+            while (expected.hasNext()) {
+                Satz satz = recycled.next();
+                assertEquals(expected.next().toLongString(), satz.toLongString());
+                instances.add(satz);
+                n++;
+            }
+            assertFalse(recycled.hasNext());
+            assertTrue("only " + instances.size() + " of " + n + " instances expected", instances.size() < n);
+        }
+    }
+
+    /**
+     * Satz 0220.030 baut beim Import seine Teildatensaetze neu auf. Auch er
+     * muss im Recycling-Modus wiederverwendet werden und dabei die gleichen
+     * Inhalte wie ohne Recycling liefern.
+     *
+     * @throws IOException Signals that an I/O exception has occurred.
+     */
+    @Test
+    public void testRecyclingSatz220() throws IOException {
+        try (DatenpaketStreamer normal = new DatenpaketStreamer(
+                this.getClass().getResourceAsStream("/musterdatei_041222.txt"));
+                DatenpaketStreamer recycling = new DatenpaketStreamer(
+                this.getClass().getResourceAsStream("/musterdatei_041222.txt"))) {
+            recycling.setRecycling(true);
+            Iterator<Satz> expected = normal.iterator();
+            Iterator<Satz> recycled = recycling.iterator();
+            Set<Satz> instances = Collections.newSetFromMap(new IdentityHashMap<Satz, Boolean>());
+            int n = 0;
+            while (expected.hasNext()) {
+                Satz satz = recycled.next();
+                assertEquals(expected.next().toLongString(), satz.toLongString());
+                if ((satz.getSatzart() == 220) && (satz.getSparte() == 30)) {
+                    instances.add(satz);
+                    n++;
+                }
+            }
+            assertTrue("only " + n + " records 0220.030 found", n > 1);
+            assertEquals(1, instances.size());
+        }
+    }
+
 }
@@ -22,6 +22,7 @@ import gdv.xport.config.Config;
 import gdv.xport.feld.Bezeichner;
 import gdv.xport.feld.Datum;
 import gdv.xport.feld.Feld;
+import gdv.xport.io.ImportException;
 import gdv.xport.satz.Datensatz;
 import gdv.xport.satz.Nachsatz;
 import gdv.xport.satz.Satz;
@@ -45,7 +46,10 @@ import java.net.URL;
 import java.net.UnknownHostException;
 import java.util.Date;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
 
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.startsWith;
 import static org.junit.Assert.*;
 
 /**
@@ -355,6 +359,98 @@ public final class DatenpaketTest {
         checkExportWith(muster);
     }
 
+    /**
+     * Beim Import einer ISO-8859-1-kodierten Datei wird die Datei in den
+     * Speicher eingeblendet. Das Ergebnis muss das gleiche wie beim Import
+     * ueber einen normalen Reader sein.
+     *
+     * @throws IOException falls die Platte kaputt ist
+     * @since 3.1
+     */
+    @Test
+    @SkipTestOn(property = { "SKIP_IMPORT_TEST", "SKIP_EXPORT_TEST" })
+    public void testImportFromMappedFile() throws IOException {
+        Config.setEOD("\n");
+        datenpaket.importFrom(new File("src/test/resources/musterdatei_041222.txt"), Config.DEFAULT_ENCODING);
+        Datenpaket expected = new Datenpaket();
+        InputStream istream = this.getClass().getResourceAsStream("/musterdatei_041222.txt");
+        try {
+            expected.importFrom(istream);
+        } finally {
+            istream.close();
+        }
+        assertEquals(expected.getDatensaetze().size(), datenpaket.getDatensaetze().size());
+        StringWriter swriter = new StringWriter();
+        expected.export(swriter);
+        checkExportWith(swriter.toString());
+    }
+
+    /**
+     * Der parallele Import muss das gleiche Ergebnis wie der sequentielle
+     * Import liefern - auch die Reihenfolge der Datensaetze muss erhalten
+     * bleiben. Damit die Arbeit auch tatsaechlich aufgeteilt wird, werden
+     * die Datensaetze der Musterdatei mehrfach hintereinander gehaengt.
+     *
+     * @throws IOException falls die Platte kaputt ist
+     * @since 3.1
+     */
+    @Test
+    @SkipTestOn(property = { "SKIP_IMPORT_TEST", "SKIP_EXPORT_TEST" })
+    public void testImportParallel() throws IOException {
+        Config.setEOD("\n");
+        String[] lines = getResourceAsString("/musterdatei_041222.txt").split("\n");
+        StringBuilder buf = new StringBuilder(lines[0]).append('\n').append(lines[1]).append('\n');
+        for (int n = 0; n < 20; n++) {
+            for (int i = 2; i < lines.length - 1; i++) {
+                buf.append(lines[i]).append('\n');
+            }
+        }
+        buf.append(lines[lines.length - 1]).append('\n');
+        String content = buf.toString();
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            datenpaket.importFrom(new StringReader(content), pool);
+        } finally {
+            pool.shutdown();
+        }
+        Datenpaket expected = new Datenpaket();
+        expected.importFrom(content);
+        assertEquals(expected.getDatensaetze().size(), datenpaket.getDatensaetze().size());
+        assertEquals(expected.getNachsatz().getAnzahlSaetze(), datenpaket.getNachsatz().getAnzahlSaetze());
+        StringWriter swriter = new StringWriter();
+        expected.export(swriter);
+        checkExportWith(swriter.toString());
+    }
+
+    /**
+     * Tritt beim parallelen Import ein Fehler auf, muss die urspruengliche
+     * {@link ImportException} mit der Zeilennummer ankommen.
+     *
+     * @throws IOException bei I/O-Problemen
+     */
+    @Test
+    public void testImportParallelFehler() throws IOException {
+        Config.setEOD("\n");
+        String[] lines = getResourceAsString("/musterdatei_041222.txt").split("\n");
+        // Zeile 7 und 8 sind ein Satz 0220.030 - mit Satznummer 7 ist er kaputt
+        lines[6] = lines[6].substring(0, 48) + '7' + lines[6].substring(49);
+        StringBuilder buf = new StringBuilder();
+        for (String line : lines) {
+            buf.append(line).append('\n');
+        }
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            datenpaket.importFrom(new StringReader(buf.toString()), pool);
+            fail("ImportException expected");
+        } catch (ImportException expected) {
+            LOG.info("Expected: {}", expected.getMessage());
+            assertThat(expected.getMessage(), startsWith("line 7: "));
+            assertThat(expected.getCause().getMessage(), containsString("unbekannter Teildatensatz"));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
     /**
      * Hier wird die Import-Datei getestet, die mir Igor geschickt hat und
      * mit dem es anfangs Probleme gab.
@@ -526,6 +622,37 @@ public final class DatenpaketTest {
         checkViolations(defect);
     }
 
+    /**
+     * Die parallele Validierung muss die gleichen ConstraintViolations in der
+     * gleichen Reihenfolge wie die sequentielle Validierung liefern.
+     */
+    @Test
+    public void testValidateParallel() {
+        Datenpaket defect = new Datenpaket("08/15");
+        for (int i = 1; i <= 300; i++) {
+            Datensatz datensatz = new Satz100();
+            datensatz.setVersicherungsscheinNummer("V" + (i / 5));
+            datensatz.setFolgenummer((i % 7 == 0) ? i % 5 + 2 : i % 5 + 1);
+            defect.add(datensatz);
+            if (i % 50 == 0) {
+                defect.add(new Datensatz("xxxx", 1));
+            }
+        }
+        List<ConstraintViolation> expected = defect.validate();
+        assertFalse(expected.isEmpty());
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            List<ConstraintViolation> violations = defect.validate(pool);
+            assertEquals(expected.size(), violations.size());
+            for (int i = 0; i < expected.size(); i++) {
+                assertEquals(expected.get(i).getMessage(), violations.get(i).getMessage());
+                assertSame(expected.get(i).getValidatedObject(), violations.get(i).getValidatedObject());
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
     private static Datensatz createDatensatzWithFolgenummer(final int nr) {
         Datensatz datensatz = new Satz100();
         datensatz.setVersicherungsscheinNummer("4711");
@@ -21,6 +21,7 @@ package gdv.xport.feld;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 
+import java.math.BigDecimal;
 import java.util.Locale;
 
 import org.junit.Test;
@@ -92,5 +93,18 @@ public final class BetragMitVorzeichenTest extends AbstractFeldTest {
         }
     }
 
+    /**
+     * Test-Methode fuer {@link BetragMitVorzeichen#toCent()} und
+     * {@link BetragMitVorzeichen#toBigDecimal()}.
+     */
+    @Test
+    public void testToCent() {
+        betrag.setInhalt(-1.2);
+        assertEquals(-120L, betrag.toCent());
+        assertEquals(new BigDecimal("-1.20"), betrag.toBigDecimal());
+        assertEquals(-1, betrag.toInt());
+        assertEquals(-1L, betrag.toLong());
+    }
+
 }
 
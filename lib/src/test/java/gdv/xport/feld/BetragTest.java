@@ -20,6 +20,7 @@ package gdv.xport.feld;
 
 import static org.junit.Assert.assertEquals;
 
+import java.math.BigDecimal;
 import java.util.Locale;
 
 import org.junit.Test;
@@ -95,5 +96,16 @@ public final class BetragTest extends AbstractFeldTest {
         }
     }
 
+    /**
+     * Test-Methode fuer {@link Betrag#toCent()} und
+     * {@link Betrag#toBigDecimal()}.
+     */
+    @Test
+    public void testToCent() {
+        betrag.setInhalt(1.23);
+        assertEquals(123L, betrag.toCent());
+        assertEquals(new BigDecimal("1.23"), betrag.toBigDecimal());
+    }
+
 }
 
@@ -241,4 +241,71 @@ public class BezeichnerTest {
         assertEquals("LfdPersonenNrImGevo", merged.getTechnischerName());
     }
 
+    /**
+     * Test-Methode fuer {@link Bezeichner#of(String)}. Fuer bekannte Namen
+     * soll die entsprechende Konstante geliefert werden.
+     */
+    @Test
+    public void testOf() {
+        assertEquals(new Bezeichner("Hello World"), Bezeichner.of("Hello World"));
+        assertSame(Bezeichner.ABGANGSGRUND, Bezeichner.of("Abgangsgrund"));
+    }
+
+    /**
+     * Unbekannte Namen duerfen von {@link Bezeichner#of(String)} nicht
+     * gemerkt werden, da sonst jeder uebergebene Name dauerhaft Speicher
+     * belegen wuerde.
+     */
+    @Test
+    public void testOfUnbekannt() {
+        Bezeichner unbekannt = Bezeichner.of("Unbekannter Name");
+        assertEquals(unbekannt, Bezeichner.of("Unbekannter Name"));
+        assertNotSame(unbekannt, Bezeichner.of("Unbekannter Name"));
+    }
+
+    /**
+     * Bezeichner aus den XML-Beschreibungen werden ueber
+     * {@link Bezeichner#of(String, String)} gemerkt und stehen danach auch
+     * ueber {@link Bezeichner#of(String)} zur Verfuegung.
+     */
+    @Test
+    public void testOfXml() {
+        Bezeichner xml = Bezeichner.of("Name aus XML", "NameAusXML");
+        assertSame(xml, Bezeichner.of("Name aus XML", "NameAusXML"));
+        assertSame(xml, Bezeichner.of("Name aus XML"));
+    }
+
+    /**
+     * Eine Konstante mit abweichendem technischen Namen darf von
+     * {@link Bezeichner#of(String)} nicht geliefert werden.
+     */
+    @Test
+    public void testOfMitTechnischemNamen() {
+        Bezeichner abgangsdatum = Bezeichner.of("Abgangsdatum");
+        assertEquals(new Bezeichner("Abgangsdatum"), abgangsdatum);
+        assertEquals(abgangsdatum, Bezeichner.of("Abgangsdatum", ""));
+        assertSame(Bezeichner.ABGANGSDAT, Bezeichner.of("Abgangsdatum", "Abgangsdat"));
+    }
+
+    /**
+     * Test-Methode fuer {@link Bezeichner#getField(String)} mit dem
+     * technischen Namen (unabhaengig von der Gross-/Kleinschreibung).
+     *
+     * @throws IllegalAccessException the illegal access exception
+     */
+    @Test
+    public void testGetFieldTechnischerName() throws IllegalAccessException {
+        Field field = Bezeichner.getField("zuzahlungsbetraginwe");
+        assertEquals(Bezeichner.ZUZAHLUNGSBETRAG_IN_WE, field.get(null));
+    }
+
+    /**
+     * Fuer einen unbekannten Text wird eine IllegalArgumentException
+     * erwartet.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testGetFieldUnbekannt() {
+        Bezeichner.getField("gibtsnet");
+    }
+
 }
@@ -21,6 +21,7 @@ package gdv.xport.feld;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 
+import java.time.LocalDate;
 import java.util.Date;
 import java.util.List;
 
@@ -223,5 +224,37 @@ public final class DatumTest extends AbstractFeldTest {
         assertEquals(expected, datum.format());
     }
 
+    /**
+     * Test-Methode fuer {@link Datum#toLocalDate()}.
+     */
+    @Test
+    public void testToLocalDate() {
+        assertEquals(LocalDate.of(2011, 1, 20), new Datum("Test-Datum", "20012011").toLocalDate());
+        assertEquals(LocalDate.of(2011, 1, 1), new Datum("Test-Datum", "012011").toLocalDate());
+        assertEquals(LocalDate.of(2009, 10, 31), new Datum("Test-Datum", "00112009").toLocalDate());
+    }
+
+    /**
+     * Test-Methode fuer {@link Datum#setInhalt(LocalDate)}.
+     */
+    @Test
+    public void testSetInhaltLocalDate() {
+        Datum datum = new Datum();
+        datum.setInhalt(LocalDate.of(2026, 10, 16));
+        assertEquals("16102026", datum.getInhalt());
+        Datum mmjj = new Datum("MMJJ", "0000");
+        mmjj.setInhalt(LocalDate.of(2026, 10, 16));
+        assertEquals("1026", mmjj.getInhalt());
+        assertEquals(LocalDate.of(2026, 10, 1), mmjj.toLocalDate());
+    }
+
+    /**
+     * Das Jahr 0 gibt es nicht.
+     */
+    @Test
+    public void testInvalidJahr() {
+        checkInvalidDatum("01010000");
+    }
+
 }
 
@@ -25,6 +25,7 @@ import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 import gdv.xport.satz.feld.common.Feld1bis7;
 
+import java.math.BigDecimal;
 import java.util.List;
 import java.util.Locale;
 
@@ -206,4 +207,48 @@ public final class NumFeldTest extends AbstractFeldTest {
         }
     }
 
+    /**
+     * Test-Methode fuer {@link NumFeld#toLong()} mit Vorzeichen und
+     * Leerzeichen.
+     */
+    @Test
+    public void testToLongMitVorzeichen() {
+        NumFeld n = new NumFeld(new Bezeichner("n"), 6, 1);
+        n.setInhalt(" +0042");
+        assertEquals(42L, n.toLong());
+        n.setInhalt("-42   ");
+        assertEquals(-42, n.toInt());
+    }
+
+    /**
+     * Ungueltige Zeichen oder ein Ueberlauf sollen (wie bisher) zu einer
+     * NumberFormatException fuehren.
+     */
+    @Test(expected = NumberFormatException.class)
+    public void testToIntUeberlauf() {
+        NumFeld n = new NumFeld(new Bezeichner("n"), 12, 1);
+        n.setInhalt("999999999999");
+        assertEquals(999999999999L, n.toLong());
+        n.toInt();
+    }
+
+    /**
+     * Fuer ungueltige Zeichen wird eine NumberFormatException erwartet.
+     */
+    @Test(expected = NumberFormatException.class)
+    public void testToLongInvalid() {
+        NumFeld n = new NumFeld(new Bezeichner("n"), 4, 1);
+        n.setInhalt("12x4");
+        n.toLong();
+    }
+
+    /**
+     * Test-Methode fuer {@link NumFeld#toBigDecimal()}.
+     */
+    @Test
+    public void testToBigDecimal() {
+        NumFeld pi = new NumFeld("pi", "314", 2);
+        assertEquals(new BigDecimal("3.14"), pi.toBigDecimal());
+    }
+
 }
@@ -30,7 +30,9 @@ import patterntesting.concurrent.junit.ParallelSuite;
  * @since 0.9.2 (18.01.2014)
  */
 @RunWith(ParallelSuite.class)
-@SuiteClasses({ ImportExceptionTest.class, RecordReaderTest.class, RecyclingInputStreamReaderTest.class })
+@SuiteClasses({ ImportExceptionTest.class, Latin1ReaderTest.class, Latin1WriterTest.class,
+        MappedFileReaderTest.class, RecordReaderTest.class,
+        RecyclingInputStreamReaderTest.class })
 public class IoTests {
 
 }
@@ -0,0 +1,79 @@
+/*
+ * Copyright (c) 2026 by Oli B.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * (c)reated 16.10.2026 by Oli B. (ob@aosd.de)
+ */
+
+package gdv.xport.io;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.IOUtils;
+import org.junit.Test;
+
+import gdv.xport.config.Config;
+
+/**
+ * Unit-Tests fuer {@link Latin1Reader}.
+ *
+ * @author oliver
+ * @since 3.1 (16.10.2026)
+ */
+public class Latin1ReaderTest {
+
+    private static final File MUSTERDATEI = new File("src/test/resources/musterdatei_041222.txt");
+
+    /**
+     * Der Latin1Reader muss die gleichen Zeichen wie ein normaler
+     * ISO-8859-1-Reader liefern - auch wenn der Puffer sehr klein ist.
+     *
+     * @throws IOException Signals that an I/O exception has occurred.
+     */
+    @Test
+    public void testRead() throws IOException {
+        String expected = FileUtils.readFileToString(MUSTERDATEI, Config.DEFAULT_ENCODING);
+        Latin1Reader reader = new Latin1Reader(new FileInputStream(MUSTERDATEI), 100);
+        try {
+            assertEquals(expected, IOUtils.toString(reader));
+        } finally {
+            reader.close();
+        }
+    }
+
+    /**
+     * Umlaute (ISO-8859-1) muessen korrekt dekodiert werden.
+     *
+     * @throws IOException Signals that an I/O exception has occurred.
+     */
+    @Test
+    public void testReadUmlaute() throws IOException {
+        byte[] bytes = "ÄÖÜäöüß".getBytes(Config.DEFAULT_ENCODING);
+        Latin1Reader reader = new Latin1Reader(new ByteArrayInputStream(bytes), 3);
+        assertEquals('Ä', reader.read());
+        char[] cbuf = new char[10];
+        assertEquals(2, reader.read(cbuf, 0, cbuf.length));
+        assertEquals("ÖÜ", new String(cbuf, 0, 2));
+        assertEquals("äöüß", IOUtils.toString(reader));
+        assertEquals(-1, reader.read());
+        reader.close();
+    }
+
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright (c) 2026 by Oli B.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * (c)reated 16.10.2026 by Oli B. (ob@aosd.de)
+ */
+
+package gdv.xport.io;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+import org.junit.Test;
+
+import gdv.xport.config.Config;
+
+/**
+ * Unit-Tests fuer {@link Latin1Writer}.
+ *
+ * @author oliver
+ * @since 3.1 (16.10.2026)
+ */
+public class Latin1WriterTest {
+
+    /**
+     * Der Latin1Writer muss die gleichen Bytes wie ein normaler
+     * ISO-8859-1-Writer liefern - auch wenn der Puffer sehr klein ist.
+     *
+     * @throws IOException Signals that an I/O exception has occurred.
+     */
+    @Test
+    public void testWrite() throws IOException {
+        String text = "Hallo Welt mit Umlauten: ÄÖÜäöüß";
+        ByteArrayOutputStream ostream = new ByteArrayOutputStream();
+        Latin1Writer writer = new Latin1Writer(ostream, 5);
+        writer.write(text.toCharArray(), 0, 10);
+        writer.write(text, 10, text.length() - 10);
+        writer.write('!');
+        writer.close();
+        assertArrayEquals((text + "!").getBytes(Config.DEFAULT_ENCODING), ostream.toByteArray());
+    }
+
+    /**
+     * Zeichen, die nicht in ISO-8859-1 enthalten sind, werden als '?'
+     * ausgegeben.
+     *
+     * @throws IOException Signals that an I/O exception has occurred.
+     */
+    @Test
+    public void testWriteUnmappable() throws IOException {
+        ByteArrayOutputStream ostream = new ByteArrayOutputStream();
+        Latin1Writer writer = new Latin1Writer(ostream);
+        writer.write("1€");
+        writer.flush();
+        assertEquals("1?", ostream.toString("ISO-8859-1"));
+    }
+
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright (c) 2026 by Oli B.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * (c)reated 16.10.2026 by Oli B. (ob@aosd.de)
+ */
+
+package gdv.xport.io;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.File;
+import java.io.IOException;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.Test;
+
+import gdv.xport.config.Config;
+
+/**
+ * Unit-Tests fuer {@link MappedFileReader}.
+ *
+ * @author oliver
+ * @since 3.1 (16.10.2026)
+ */
+public class MappedFileReaderTest {
+
+    private static final File MUSTERDATEI = new File("src/test/resources/musterdatei_041222.txt");
+
+    /**
+     * Der MappedFileReader muss die gleichen Zeichen wie ein normaler
+     * ISO-8859-1-Reader liefern.
+     *
+     * @throws IOException Signals that an I/O exception has occurred.
+     */
+    @Test
+    public void testRead() throws IOException {
+        String expected = FileUtils.readFileToString(MUSTERDATEI, Config.DEFAULT_ENCODING);
+        assertEquals(expected, readAll(new MappedFileReader(MUSTERDATEI)));
+    }
+
+    /**
+     * Hier testen wir mit einem sehr kleinen Abschnitt, ob das Einblenden
+     * der naechsten Abschnitte funktioniert.
+     *
+     * @throws IOException Signals that an I/O exception has occurred.
+     */
+    @Test
+    public void testReadWithSmallWindows() throws IOException {
+        String expected = FileUtils.readFileToString(MUSTERDATEI, Config.DEFAULT_ENCODING);
+        assertEquals(expected, readAll(new MappedFileReader(MUSTERDATEI, 1000)));
+    }
+
+    /**
+     * Umlaute (ISO-8859-1) muessen korrekt dekodiert werden.
+     *
+     * @throws IOException Signals that an I/O exception has occurred.
+     */
+    @Test
+    public void testReadUmlaute() throws IOException {
+        File file = File.createTempFile("umlaute", ".txt");
+        try {
+            FileUtils.writeStringToFile(file, "ÄÖÜäöüß", Config.DEFAULT_ENCODING);
+            MappedFileReader reader = new MappedFileReader(file, 3);
+            try {
+                assertEquals('Ä', reader.read());
+                char[] cbuf = new char[10];
+                assertEquals(6, reader.read(cbuf, 0, cbuf.length));
+                assertEquals("ÖÜäöüß", new String(cbuf, 0, 6));
+                assertEquals(-1, reader.read());
+            } finally {
+                reader.close();
+            }
+        } finally {
+            file.delete();
+        }
+    }
+
+    private static String readAll(final MappedFileReader reader) throws IOException {
+        StringBuilder sbuf = new StringBuilder();
+        char[] cbuf = new char[300];
+        try {
+            for (int n = reader.read(cbuf); n > 0; n = reader.read(cbuf)) {
+                sbuf.append(cbuf, 0, n);
+            }
+        } finally {
+            reader.close();
+        }
+        return sbuf.toString();
+    }
+
+}
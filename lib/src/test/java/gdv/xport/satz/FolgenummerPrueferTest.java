@@ -0,0 +1,97 @@
+/*
+ * Copyright (c) 2026 by Oli B.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * (c)reated 16.10.2026 by Oli B. (ob@aosd.de)
+ */
+
+
+package gdv.xport.satz;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+import gdv.xport.satz.model.Satz100;
+import net.sf.oval.ConstraintViolation;
+
+/**
+ * Unit-Tests fuer {@link FolgenummerPruefer}.
+ *
+ * @author oliver
+ * @since 3.1 (16.10.2026)
+ */
+public final class FolgenummerPrueferTest {
+
+    /**
+     * Auch bei vielen Vertraegen (und damit mehrfachem Vergroessern der
+     * internen Tabelle) muessen die Folgenummern richtig zugeordnet werden.
+     */
+    @Test
+    public void testPruefeVieleVertraege() {
+        FolgenummerPruefer pruefer = new FolgenummerPruefer(FolgenummerPrueferTest.class);
+        List<ConstraintViolation> violations = new ArrayList<ConstraintViolation>();
+        Datensatz satz = new Satz100();
+        for (int folgenr = 1; folgenr <= 2; folgenr++) {
+            for (int i = 0; i < 5000; i++) {
+                satz.setVersicherungsscheinNummer("V" + i);
+                satz.setFolgenummer(folgenr);
+                assertTrue(pruefer.pruefe(satz, violations));
+            }
+        }
+        assertEquals(5000, pruefer.size());
+        assertEquals(0, violations.size());
+    }
+
+    /**
+     * Ein Sprung in der Folgenummer muss erkannt werden.
+     */
+    @Test
+    public void testPruefeSprung() {
+        FolgenummerPruefer pruefer = new FolgenummerPruefer(FolgenummerPrueferTest.class);
+        List<ConstraintViolation> violations = new ArrayList<ConstraintViolation>();
+        Datensatz satz = new Satz100();
+        satz.setVersicherungsscheinNummer("4711");
+        satz.setFolgenummer(1);
+        assertTrue(pruefer.pruefe(satz, violations));
+        satz.setFolgenummer(3);
+        assertFalse(pruefer.pruefe(satz, violations));
+        assertEquals(1, violations.size());
+        assertEquals(3, violations.get(0).getInvalidValue());
+    }
+
+    /**
+     * Fuehrende und folgende Leerzeichen der Versicherungsscheinnummer
+     * werden (wie bisher) ignoriert.
+     */
+    @Test
+    public void testPruefeGetrimmt() {
+        FolgenummerPruefer pruefer = new FolgenummerPruefer(FolgenummerPrueferTest.class);
+        List<ConstraintViolation> violations = new ArrayList<ConstraintViolation>();
+        Datensatz satz = new Satz100();
+        satz.setVersicherungsscheinNummer("4711");
+        satz.setFolgenummer(1);
+        assertTrue(pruefer.pruefe(satz, violations));
+        satz.setVersicherungsscheinNummer(" 4711");
+        satz.setFolgenummer(2);
+        assertTrue(pruefer.pruefe(satz, violations));
+        assertEquals(1, pruefer.size());
+    }
+
+}
@@ -23,6 +23,8 @@ import gdv.xport.feld.AlphaNumFeld;
 import gdv.xport.feld.Bezeichner;
 import gdv.xport.feld.Feld;
 import gdv.xport.feld.NumFeld;
+import gdv.xport.io.Latin1Reader;
+import gdv.xport.io.PushbackLineNumberReader;
 import gdv.xport.satz.feld.Feld200;
 import gdv.xport.satz.feld.MetaFeldInfo;
 import gdv.xport.satz.feld.common.Feld1bis7;
@@ -39,6 +41,8 @@ import patterntesting.runtime.junit.CollectionTester;
 import patterntesting.runtime.junit.ObjectTester;
 
 import java.io.*;
+import java.nio.CharBuffer;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashSet;
 import java.util.List;
@@ -392,4 +396,75 @@ public final class SatzTest extends AbstractSatzTest {
         }
     }
 
+    /**
+     * Der Feld-Index darf nach dem Hinzufuegen oder Entfernen von Feldern
+     * bzw. Teildatensaetzen nicht veraltete Ergebnisse liefern.
+     */
+    @Test
+    public void testHasFeldNachAenderung() {
+        Satz x = new Datensatz("0123", 2);
+        Bezeichner bumm = new Bezeichner("Bumm");
+        assertFalse(x.hasFeld(bumm));
+        x.getTeildatensatz(2).add(new AlphaNumFeld(bumm, 4, 50));
+        assertTrue(x.hasFeld(bumm));
+        x.set(bumm, "peng");
+        assertEquals("peng", x.getFeld(bumm).getInhalt());
+        x.removeTeildatensatz(2);
+        assertFalse(x.hasFeld(bumm));
+        Teildatensatz tds = new Teildatensatz(123, 2);
+        tds.add(new AlphaNumFeld(bumm, 4, 60));
+        x.add(tds);
+        assertEquals(60, x.getFeld(bumm).getByteAdresse());
+        tds.remove(bumm);
+        assertFalse(x.hasFeld(bumm));
+    }
+
+    /**
+     * Test-Methode fuer {@link Satz#getFeld(Enum)}. Auch ein nachtraeglich
+     * eingefuegtes Feld muss ueber das Feld-Element gefunden werden.
+     */
+    @Test
+    public void testGetFeldEnumNachAenderung() {
+        Satz x = new Datensatz(123);
+        x.removeAllTeildatensaetze();
+        x.add(new Teildatensatz(123, 1));
+        try {
+            x.getFeld(Feld1bis7.VERSICHERUNGSSCHEINNUMMER);
+            fail("IllegalArgumentException expected");
+        } catch (IllegalArgumentException expected) {
+            LOG.debug("Feld fehlt erwartungsgemaess: {}", expected.getMessage());
+        }
+        Feld feld = new AlphaNumFeld(Bezeichner.VERSICHERUNGSSCHEINNUMMER, 17, 14);
+        x.add(feld);
+        assertSame(feld, x.getFeld(Feld1bis7.VERSICHERUNGSSCHEINNUMMER));
+        x.set(Feld1bis7.VERSICHERUNGSSCHEINNUMMER, "4711");
+        assertEquals("4711", x.get(Feld1bis7.VERSICHERUNGSSCHEINNUMMER).trim());
+    }
+
+    /**
+     * Test-Methode fuer
+     * {@link Satz#readTeildatensaetze(PushbackLineNumberReader, char[])}.
+     * Ein wiederverwendeter (groesserer) Puffer muss das gleiche Ergebnis
+     * liefern wie ein frisch angelegter.
+     *
+     * @throws IOException the IO exception
+     */
+    @Test
+    public void testReadTeildatensaetzeInPuffer() throws IOException {
+        char[] cbuf = new char[257 * 4];
+        Arrays.fill(cbuf, 'X');
+        Vorsatz vorsatz = new Vorsatz();
+        try (InputStream istream = this.getClass().getResourceAsStream("/musterdatei_041222.txt")) {
+            PushbackLineNumberReader reader = new PushbackLineNumberReader(new Latin1Reader(istream), 256);
+            int length = vorsatz.readTeildatensaetze(reader, cbuf);
+            assertEquals("2 Teildatensaetze expected", 2 * 257, length);
+            vorsatz.importFrom(CharBuffer.wrap(cbuf, 0, length), 0);
+        }
+        Vorsatz expected = new Vorsatz();
+        try (InputStream istream = this.getClass().getResourceAsStream("/musterdatei_041222.txt")) {
+            expected.importFrom(istream);
+        }
+        assertEquals(expected.toLongString(), vorsatz.toLongString());
+    }
+
 }
@@ -36,8 +36,9 @@ import patterntesting.runtime.junit.SmokeSuite;
 @RunWith(SmokeSuite.class)
 @SuiteClasses({ FeldTests.class, ModelTests.class, XmlTests.class, AdressteilTest.class,
         AllgemeinerVertragsteilTest.class, DatensatzTest.class, Erweiterungssatz211Test.class,
-        Erweiterungssatz221Test.class, NachsatzTest.class, SatzTest.class, TeildatensatzTest.class,
-        VertragsspezifischerTeilTest.class, VorsatzTest.class })
+        Erweiterungssatz221Test.class, FolgenummerPrueferTest.class, NachsatzTest.class, SatzTest.class,
+        SatzValidatorTest.class, TeildatensatzTest.class, VertragsspezifischerTeilTest.class,
+        VorsatzTest.class })
 public class SatzTests {
 
 }
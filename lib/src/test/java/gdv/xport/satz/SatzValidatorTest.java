@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) 2026 by Oli B.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * (c)reated 16.10.2026 by Oli B. (ob@aosd.de)
+ */
+
+
+package gdv.xport.satz;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+
+import org.apache.commons.lang.StringUtils;
+import org.junit.Test;
+
+import gdv.xport.feld.Feld;
+import gdv.xport.feld.NumFeld;
+import net.sf.oval.ConstraintViolation;
+
+/**
+ * Unit-Tests fuer {@link SatzValidator}.
+ *
+ * @author oliver
+ * @since 3.1 (16.10.2026)
+ */
+public final class SatzValidatorTest {
+
+    /**
+     * Ein frisch angelegter Nachsatz sollte keine Verletzungen haben - auch
+     * nicht beim zweiten Mal, wenn die Regeln bereits abgeleitet sind.
+     */
+    @Test
+    public void testValidateGueltig() {
+        for (int i = 0; i < 2; i++) {
+            Nachsatz satz = new Nachsatz();
+            List<ConstraintViolation> violations = SatzValidator.validate(satz);
+            assertTrue(violations.toString(), violations.isEmpty());
+        }
+    }
+
+    /**
+     * Ein ungueltiges numerisches Feld muss auch dann erkannt werden, wenn die
+     * Regeln fuer den Satz-Typ bereits vorliegen.
+     */
+    @Test
+    public void testValidateUngueltigesNumFeld() {
+        SatzValidator.validate(new Nachsatz());
+        Nachsatz satz = new Nachsatz();
+        NumFeld numFeld = getNumFeld(satz);
+        numFeld.setInhalt("xxxxxxxxxxxxxxxxxxxx".substring(0, numFeld.getAnzahlBytes()));
+        List<ConstraintViolation> violations = SatzValidator.validate(satz);
+        assertEquals(violations.toString(), 1, violations.size());
+        assertEquals(numFeld, violations.get(0).getValidatedObject());
+    }
+
+    /**
+     * Bei Inhalten, die nicht nur aus Ziffern bestehen, muss das Ergebnis
+     * der Inhaltspruefung zu {@link NumFeld#validate()} passen.
+     */
+    @Test
+    public void testValidateNumFeldOhneZiffern() {
+        SatzValidator.validate(new Nachsatz());
+        String[] inhalte = { "", " -1", "+1 ", "1 2", "-", "x" };
+        for (String inhalt : inhalte) {
+            Nachsatz satz = new Nachsatz();
+            NumFeld numFeld = getNumFeld(satz);
+            numFeld.setInhalt(StringUtils.leftPad(inhalt, numFeld.getAnzahlBytes()));
+            List<ConstraintViolation> violations = SatzValidator.validate(satz);
+            assertEquals("'" + inhalt + "': " + violations, numFeld.validate().size(), violations.size());
+        }
+    }
+
+    /**
+     * Ein nachtraeglich hinzugefuegtes Feld ist nicht Teil der Regeln und
+     * muss trotzdem validiert werden.
+     */
+    @Test
+    public void testValidateZusaetzlichesFeld() {
+        SatzValidator.validate(new Nachsatz());
+        Nachsatz satz = new Nachsatz();
+        NumFeld schrott = new NumFeld("schrott", "xxxx");
+        satz.add(schrott);
+        List<ConstraintViolation> violations = SatzValidator.validate(satz);
+        boolean gefunden = false;
+        for (ConstraintViolation violation : violations) {
+            gefunden |= (violation.getValidatedObject() == schrott);
+        }
+        assertTrue(violations.toString(), gefunden);
+    }
+
+    private static NumFeld getNumFeld(final Satz satz) {
+        for (Feld feld : satz.getFelder()) {
+            if ((feld instanceof NumFeld) && (feld.getByteAdresse() > 4)) {
+                return (NumFeld) feld;
+            }
+        }
+        throw new IllegalStateException("no NumFeld found in " + satz);
+    }
+
+}
@@ -153,6 +153,88 @@ public class TeildatensatzTest extends AbstractSatzTest {
         assertEquals("Mickey", orig.get(Feld100.NAME1).trim());
     }
 
+    /**
+     * Die Felder eines Teildatensatzes teilen sich einen gemeinsamen Puffer.
+     * Aenderungen an einem Feld muessen daher beim Export sichtbar sein,
+     * und ein entferntes Feld darf nicht mehr exportiert werden.
+     *
+     * @throws IOException sollte nicht auftreten
+     */
+    @Test
+    public void testExportSharedBuffer() throws IOException {
+        Teildatensatz tds = new Teildatensatz(100, 1);
+        Feld name1 = new AlphaNumFeld(Feld100.NAME1);
+        tds.add(name1);
+        name1.setInhalt("Donald");
+        String exported = tds.toLongString();
+        assertEquals("Donald", exported.substring(name1.getByteAdresse() - 1, name1.getEndAdresse()).trim());
+        tds.remove(name1);
+        name1.setInhalt("Daisy");
+        assertEquals("Daisy", name1.getInhalt().trim());
+        exported = tds.toLongString();
+        assertEquals("", exported.substring(name1.getByteAdresse() - 1, name1.getEndAdresse()).trim());
+    }
+
+    /**
+     * Ein Feld, das in mehreren Teildatensaetzen vorkommt, muss in allen
+     * Teildatensaetzen mit dem aktuellen Inhalt exportiert werden.
+     */
+    @Test
+    public void testExportSharedFeld() {
+        NumFeld shared = new NumFeld(new Bezeichner("shared"), 4, 50);
+        Teildatensatz one = new Teildatensatz(100, 1);
+        Teildatensatz two = new Teildatensatz(100, 2);
+        one.add(shared);
+        two.add(shared);
+        shared.setInhalt(42);
+        assertEquals("0042", one.toLongString().substring(49, 53));
+        assertEquals("0042", two.toLongString().substring(49, 53));
+    }
+
+    /**
+     * Ein gemeinsames Feld ist nur an den Puffer des letzten Teildatensatzes
+     * gebunden. Wird es aus einem anderen Teildatensatz entfernt, darf es
+     * dort trotzdem nicht mehr exportiert werden.
+     */
+    @Test
+    public void testRemoveSharedFeld() {
+        NumFeld shared = new NumFeld(new Bezeichner("shared"), 4, 50);
+        Teildatensatz one = new Teildatensatz(100, 1);
+        Teildatensatz two = new Teildatensatz(100, 2);
+        one.add(shared);
+        two.add(shared);
+        shared.setInhalt(42);
+        assertEquals("0042", one.toLongString().substring(49, 53));
+        one.remove(shared);
+        assertEquals("    ", one.toLongString().substring(49, 53));
+        assertEquals("0042", two.toLongString().substring(49, 53));
+    }
+
+    /**
+     * Beim Import werden nur die Bereiche der Felder uebernommen - Luecken
+     * zwischen den Feldern bleiben leer.
+     *
+     * @throws IOException sollte nicht auftreten
+     */
+    @Test
+    public void testImportFromCharSequence() throws IOException {
+        Teildatensatz tds = new Teildatensatz(100, 1);
+        AlphaNumFeld eins = new AlphaNumFeld(new Bezeichner("eins"), 4, 10);
+        AlphaNumFeld zwei = new AlphaNumFeld(new Bezeichner("zwei"), 4, 14);
+        tds.add(eins);
+        tds.add(zwei);
+        StringBuilder content = new StringBuilder("0100");
+        while (content.length() < 256) {
+            content.append('x');
+        }
+        content.replace(9, 17, "ABCDEFGH").setCharAt(255, '1');
+        tds.importFrom(content, 0);
+        assertEquals("ABCD", eins.getInhalt());
+        assertEquals("EFGH", zwei.getInhalt());
+        String exported = tds.toLongString();
+        assertEquals("0100     ABCDEFGH ", exported.substring(0, 18));
+    }
+
     private static void assertEqualsFeld(final Feld one, final Feld two) {
         assertEquals(one, two);
         assertEquals(one.getClass(), two.getClass());
@@ -47,6 +47,22 @@ public final class SatzXTest {
         log.info("satz200 = \"" + satz200 + "\"");
     }
 
+    /**
+     * Die Teildatensaetze werden seit 3.1 nur einmal ueber Reflection
+     * aufgebaut und danach kopiert. Hier pruefen wir, dass die Kopien
+     * unabhaengig voneinander sind.
+     */
+    @Test
+    public void testSatzXIndependent() {
+        Satz one = new SatzX(200, Feld200.values());
+        Satz two = new SatzX(200, Feld200.values());
+        assertEquals(one, two);
+        one.set(Feld200.VERTRAGSSTATUS, "1");
+        assertEquals("1", one.getFeld(Feld200.VERTRAGSSTATUS).getInhalt().trim());
+        assertEquals("", two.getFeld(Feld200.VERTRAGSSTATUS).getInhalt().trim());
+        assertEquals(new SatzX(200, Feld200.values()), two);
+    }
+
     /**
      * {@link SatzX} mit der {@link Feld220Wagnis0} sollte mit Wagnisart "0"
      * vorbelegt sein.
@@ -36,10 +36,16 @@ import patterntesting.runtime.junit.ObjectTester;
 
 import javax.xml.stream.XMLStreamException;
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
 
+import static org.hamcrest.Matchers.lessThan;
 import static org.junit.Assert.*;
 
 /**
@@ -327,4 +333,117 @@ public class XmlServiceTest extends AbstractXmlTest {
         LOG.info("fehlendeFelder = {}", fehlendeFelder);
     }
 
+    /**
+     * Wird eine Resource von mehreren Threads gleichzeitig angefordert,
+     * darf sie nur einmal geladen werden - d.h. alle Threads muessen
+     * dieselbe Instanz erhalten.
+     *
+     * @throws Exception im Fehlerfall
+     */
+    @Test
+    public void testGetInstanceConcurrently() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<XmlService>> futures = new ArrayList<>();
+            for (int i = 0; i < 16; i++) {
+                futures.add(executor.submit(() -> XmlService.getInstance("Satz100.xml")));
+            }
+            XmlService service = futures.get(0).get();
+            for (Future<XmlService> future : futures) {
+                assertSame(service, future.get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * Test-Methode fuer {@link XmlService#preload(String...)} und
+     * {@link XmlService.Retention#SOFT}. Solange die vorab geladene
+     * Instanz referenziert wird, muss immer diese geliefert werden. Die
+     * Resource wird in keinem anderen Test ueber
+     * {@link XmlService#getInstance(String)} geladen, damit sie nicht
+     * bereits (fest) gehalten wird.
+     *
+     * @throws XMLStreamException the XML stream exception
+     */
+    @Test
+    public void testPreloadSoft() throws XMLStreamException {
+        XmlService.Retention retention = XmlService.getRetention();
+        XmlService.setRetention(XmlService.Retention.SOFT);
+        try {
+            List<XmlService> preloaded = XmlService.preload("Satz0212.050.xml");
+            assertEquals(1, preloaded.size());
+            assertSame(preloaded.get(0), XmlService.getInstance("Satz0212.050.xml"));
+            assertSame(preloaded.get(0), XmlService.getInstance("Satz0212.050.xml"));
+        } finally {
+            XmlService.setRetention(retention);
+        }
+    }
+
+    /**
+     * Der parallel aufgebaute {@link XmlService} muss dieselben Saetze
+     * liefern wie der sequentiell aufgebaute.
+     *
+     * @throws XMLStreamException the XML stream exception
+     */
+    @Test
+    public void testParallel() throws XMLStreamException {
+        XmlService sequential = new XmlService(createXMLEventReader("Satz100.xml"));
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            XmlService parallel = new XmlService(createXMLEventReader("Satz100.xml"), pool);
+            assertEquals(sequential.getSatzarten().keySet(), parallel.getSatzarten().keySet());
+            assertEquals(sequential.getFelder().keySet(), parallel.getFelder().keySet());
+            SatzXml expected = sequential.getSatzart(100);
+            SatzXml satz = parallel.getSatzart(100);
+            assertEquals(expected, satz);
+            assertEquals(expected.getFelder().size(), satz.getFelder().size());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Im Lazy-Modus werden die Felder eines Satzes erst beim ersten Zugriff
+     * angelegt. Danach muss er aber genauso aussehen wie im normalen Modus.
+     * Der intern gehaltene Satz mit den Feld-Referenzen bleibt dabei
+     * unveraendert.
+     *
+     * @throws XMLStreamException the XML stream exception
+     */
+    @Test
+    public void testLazy() throws XMLStreamException {
+        XmlService eager = new XmlService(createXMLEventReader("Satz100.xml"));
+        XmlService lazy = new XmlService(createXMLEventReader("Satz100.xml"), true);
+        assertFalse(eager.isLazy());
+        assertTrue(lazy.isLazy());
+        SatzXml expected = eager.getSatzart(new SatzTyp(100));
+        int anzahlReferenzFelder = lazy.getSaetze().get(0).getFelder().size();
+        assertThat(anzahlReferenzFelder, lessThan(expected.getFelder().size()));
+        assertEquals(eager.getSatzarten().keySet(), lazy.getSatzarten().keySet());
+        SatzXml satz = lazy.getSatzart(new SatzTyp(100));
+        assertEquals(expected.getFelder().size(), satz.getFelder().size());
+        assertEquals(expected, satz);
+        assertSame(satz, lazy.getSatzart(new SatzTyp(100)));
+        assertEquals(eager.getSatzart(100), lazy.getSatzart(100));
+        assertEquals(anzahlReferenzFelder, lazy.getSaetze().get(0).getFelder().size());
+    }
+
+    /**
+     * Instanzen im Lazy-Modus werden getrennt von den normalen Instanzen
+     * gecacht.
+     *
+     * @throws XMLStreamException the XML stream exception
+     */
+    @Test
+    public void testGetInstanceLazy() throws XMLStreamException {
+        XmlService lazy = XmlService.getInstance("Satz100.xml", true);
+        assertTrue(lazy.isLazy());
+        assertSame(lazy, XmlService.getInstance("Satz100.xml", true));
+        XmlService eager = XmlService.getInstance("Satz100.xml");
+        assertFalse(eager.isLazy());
+        assertEquals(eager.getSatzart(100), lazy.getSatzart(100));
+    }
+
 }
@@ -0,0 +1,245 @@
+/*
+ * Copyright (c) 2026 by Oli B.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * (c)reated 16.10.2026 by Oli B. (ob@aosd.de)
+ */
+
+package gdv.xport.satz.xml;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.Iterator;
+import java.util.List;
+
+import javax.xml.stream.XMLStreamException;
+
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import gdv.xport.feld.Feld;
+import gdv.xport.satz.Teildatensatz;
+
+/**
+ * Unit-Tests fuer {@link XmlSnapshot}.
+ *
+ * @author oliver
+ * @since 3.1 (16.10.2026)
+ */
+public class XmlSnapshotTest extends AbstractXmlTest {
+
+    private static final File SNAPSHOT_DIR = new File("target", "snapshots");
+    private static String cacheDir;
+
+    /**
+     * Die Snapshots werden unterhalb von "target" abgelegt.
+     */
+    @BeforeClass
+    public static void setUpCacheDir() {
+        cacheDir = System.setProperty(XmlSnapshot.CACHE_DIR_PROPERTY, SNAPSHOT_DIR.getPath());
+    }
+
+    /**
+     * Setzt die System-Property wieder zurueck.
+     */
+    @AfterClass
+    public static void tearDownCacheDir() {
+        if (cacheDir == null) {
+            System.clearProperty(XmlSnapshot.CACHE_DIR_PROPERTY);
+        } else {
+            System.setProperty(XmlSnapshot.CACHE_DIR_PROPERTY, cacheDir);
+        }
+    }
+
+    /**
+     * Ein aus dem Snapshot geladener {@link XmlService} muss dieselben Saetze
+     * liefern wie der geparste.
+     *
+     * @throws XMLStreamException the XML stream exception
+     */
+    @Test
+    public void testStoreAndLoad() throws XMLStreamException {
+        XmlService parsed = new XmlService(createXMLEventReader("Satz100.xml"));
+        XmlSnapshot snapshot = new XmlSnapshot("Satz100.xml", false);
+        snapshot.store(parsed);
+        assertTrue(snapshot.getCacheFile().isFile());
+        XmlService loaded = snapshot.load();
+        assertNotNull(loaded);
+        assertEquals(parsed.getSatzarten().keySet(), loaded.getSatzarten().keySet());
+        assertEquals(parsed.getFelder().keySet(), loaded.getFelder().keySet());
+        assertEquals(parsed.getSatzart(100), loaded.getSatzart(100));
+    }
+
+    /**
+     * Die Felder der geladenen Saetze muessen mit den gleichen Adressen und
+     * Typen angelegt werden.
+     *
+     * @throws XMLStreamException the XML stream exception
+     */
+    @Test
+    public void testLoadedFelder() throws XMLStreamException {
+        XmlService parsed = new XmlService(createXMLEventReader("Satz100.xml"));
+        XmlSnapshot snapshot = new XmlSnapshot("Satz100.xml", false);
+        snapshot.store(parsed);
+        List<Teildatensatz> expected = parsed.getSatzart(100).getTeildatensaetze();
+        List<Teildatensatz> actual = snapshot.load().getSatzart(100).getTeildatensaetze();
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            Iterator<Feld> felder = actual.get(i).getFelder().iterator();
+            for (Feld feld : expected.get(i).getFelder()) {
+                Feld loaded = felder.next();
+                assertEquals(feld.getBezeichner(), loaded.getBezeichner());
+                assertEquals(feld.getByteAdresse(), loaded.getByteAdresse());
+                assertEquals(feld.getAnzahlBytes(), loaded.getAnzahlBytes());
+                assertEquals(feld.getClass(), loaded.getClass());
+            }
+        }
+    }
+
+    /**
+     * Ein Snapshot, bei dem weder Aenderungsdatum noch Pruefsumme passen,
+     * darf nicht verwendet werden.
+     *
+     * @throws XMLStreamException the XML stream exception
+     * @throws IOException Signals that an I/O exception has occurred.
+     */
+    @Test
+    public void testOutdatedSnapshot() throws XMLStreamException, IOException {
+        XmlSnapshot snapshot = storeSnapshot();
+        increaseHeader(snapshot.getCacheFile(), 16);
+        increaseHeader(snapshot.getCacheFile(), 24);
+        assertNull(snapshot.load());
+    }
+
+    /**
+     * Passt die Groesse der Resource nicht, ist der Snapshot veraltet.
+     *
+     * @throws XMLStreamException the XML stream exception
+     * @throws IOException Signals that an I/O exception has occurred.
+     */
+    @Test
+    public void testSnapshotWithOtherLength() throws XMLStreamException, IOException {
+        XmlSnapshot snapshot = storeSnapshot();
+        increaseHeader(snapshot.getCacheFile(), 8);
+        assertNull(snapshot.load());
+    }
+
+    /**
+     * Passt nur das Aenderungsdatum nicht (z.B. weil die Resource neu
+     * gepackt wurde), entscheidet die Pruefsumme.
+     *
+     * @throws XMLStreamException the XML stream exception
+     * @throws IOException Signals that an I/O exception has occurred.
+     */
+    @Test
+    public void testSnapshotWithOtherLastModified() throws XMLStreamException, IOException {
+        XmlSnapshot snapshot = storeSnapshot();
+        increaseHeader(snapshot.getCacheFile(), 16);
+        assertNotNull(snapshot.load());
+    }
+
+    /**
+     * Ein Snapshot, der im Classpath direkt neben der Resource liegt, wurde
+     * zusammen mit ihr gebaut. Hier reicht die Groesse, sodass die Resource
+     * nicht gelesen werden muss - auch wenn (wie nach dem Packen eines Jars)
+     * das Aenderungsdatum nicht mehr passt.
+     *
+     * @throws Exception z.B. bei Schreibfehlern
+     */
+    @Test
+    public void testSnapshotNebenResource() throws Exception {
+        File dir = new File(XmlService.class.getResource("Satz100.xml").toURI()).getParentFile();
+        XmlSnapshot.main(new String[] { "Satz100.xml", dir.getPath() });
+        File file = new File(dir, "Satz100.xml.snapshot");
+        System.setProperty(XmlSnapshot.CACHE_DIR_PROPERTY, "");
+        try {
+            increaseHeader(file, 16);
+            increaseHeader(file, 24);
+            assertNotNull(new XmlSnapshot("Satz100.xml", false).load());
+        } finally {
+            System.setProperty(XmlSnapshot.CACHE_DIR_PROPERTY, SNAPSHOT_DIR.getPath());
+            assertTrue(file.delete());
+        }
+    }
+
+    private XmlSnapshot storeSnapshot() throws XMLStreamException {
+        XmlSnapshot snapshot = new XmlSnapshot("Satz100.xml", false);
+        snapshot.store(new XmlService(createXMLEventReader("Satz100.xml")));
+        return snapshot;
+    }
+
+    private static void increaseHeader(final File snapshotFile, final int pos) throws IOException {
+        try (RandomAccessFile file = new RandomAccessFile(snapshotFile, "rw")) {
+            file.seek(pos);
+            long value = file.readLong();
+            file.seek(pos);
+            file.writeLong(value + 1);
+        }
+    }
+
+    /**
+     * Beim ersten Aufruf wird die Resource geparst und der Snapshot angelegt,
+     * beim zweiten Aufruf wird dann der Snapshot verwendet.
+     *
+     * @throws XMLStreamException the XML stream exception
+     */
+    @Test
+    public void testGetService() throws XMLStreamException {
+        XmlSnapshot snapshot = new XmlSnapshot("Satz100.xml", false);
+        snapshot.getCacheFile().delete();
+        XmlService first = XmlSnapshot.getService("Satz100.xml", false);
+        assertTrue(snapshot.getCacheFile().isFile());
+        XmlService second = XmlSnapshot.getService("Satz100.xml", false);
+        assertEquals(first.getFelder().keySet(), second.getFelder().keySet());
+    }
+
+    /**
+     * Mit einer leeren System-Property wird kein Snapshot angelegt.
+     *
+     * @throws XMLStreamException the XML stream exception
+     */
+    @Test
+    public void testNoCacheDir() throws XMLStreamException {
+        System.setProperty(XmlSnapshot.CACHE_DIR_PROPERTY, "");
+        try {
+            assertNull(new XmlSnapshot("Satz100.xml", false).getCacheFile());
+        } finally {
+            System.setProperty(XmlSnapshot.CACHE_DIR_PROPERTY, SNAPSHOT_DIR.getPath());
+        }
+    }
+
+    /**
+     * Ohne System-Property wird ebenfalls kein Snapshot angelegt, auch nicht
+     * im Temp-Verzeichnis.
+     *
+     * @throws XMLStreamException the XML stream exception
+     */
+    @Test
+    public void testCacheDirNotSet() throws XMLStreamException {
+        System.clearProperty(XmlSnapshot.CACHE_DIR_PROPERTY);
+        try {
+            assertNull(new XmlSnapshot("Satz100.xml", false).getCacheFile());
+        } finally {
+            System.setProperty(XmlSnapshot.CACHE_DIR_PROPERTY, SNAPSHOT_DIR.getPath());
+        }
+    }
+
+}
@@ -29,7 +29,7 @@ import org.junit.runners.Suite.SuiteClasses;
  */
 @RunWith(Suite.class)
 @SuiteClasses({ FeldReferenzTest.class, FeldXmlTest.class, SatzXmlTest.class, TeildatensatzXmlTest.class,
-        XmlServiceTest.class })
+        XmlServiceTest.class, XmlSnapshotTest.class })
 public class XmlTests {
 
 }
@@ -19,6 +19,7 @@
 package gdv.xport.util;
 
 import gdv.xport.Datenpaket;
+import gdv.xport.DatenpaketStreamer;
 import gdv.xport.satz.Datensatz;
 import gdv.xport.satz.Satz;
 import org.apache.commons.io.FileUtils;
@@ -29,6 +30,8 @@ import patterntesting.runtime.junit.SmokeRunner;
 
 import java.io.*;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 
 import static org.junit.Assert.assertEquals;
@@ -87,4 +90,54 @@ public final class CsvFormatterTest extends AbstractFormatterTest {
         }
     }
 
+    /**
+     * Mit vorgegebenen Spalten werden die Saetze einzeln (als
+     * {@link gdv.xport.event.ImportListener}) ausgegeben. Das Ergebnis muss
+     * dabei dem Export des kompletten Datenpakets entsprechen.
+     *
+     * @throws IOException Signals that an I/O exception has occurred.
+     */
+    @Test
+    public void testNoticeMitSpalten() throws IOException {
+        StringWriter expected = new StringWriter();
+        new CsvFormatter(expected).write(MUSTER_DATENPAKET);
+        StringWriter streamed = new StringWriter();
+        CsvFormatter formatter = new CsvFormatter(streamed, getSaetze(MUSTER_DATENPAKET));
+        formatter.notice(MUSTER_DATENPAKET.getVorsatz());
+        for (Datensatz datensatz : MUSTER_DATENPAKET.getDatensaetze()) {
+            formatter.notice(datensatz);
+        }
+        formatter.notice(MUSTER_DATENPAKET.getNachsatz());
+        assertEquals(expected.toString(), streamed.toString());
+    }
+
+    /**
+     * Test-Methode fuer {@link CsvFormatter#CsvFormatter(Writer, Collection)}
+     * zusammen mit dem {@link DatenpaketStreamer}: pro importiertem Satz wird
+     * eine Zeile (plus Kopfzeile) erwartet.
+     *
+     * @throws IOException Signals that an I/O exception has occurred.
+     */
+    @Test
+    public void testWriteStreaming() throws IOException {
+        StringWriter streamed = new StringWriter();
+        final int[] n = { 0 };
+        try (DatenpaketStreamer streamer = new DatenpaketStreamer(new FileInputStream(MUSTERDATEI))) {
+            streamer.register(new CsvFormatter(streamed, getSaetze(MUSTER_DATENPAKET)));
+            streamer.register(satz -> n[0]++);
+            streamer.setRecycling(true);
+            streamer.readDatenpaket();
+        }
+        String[] lines = streamed.toString().split("\n");
+        assertEquals(n[0] + 1, lines.length);
+    }
+
+    private static List<Satz> getSaetze(final Datenpaket datenpaket) {
+        List<Satz> saetze = new ArrayList<>();
+        saetze.add(datenpaket.getVorsatz());
+        saetze.addAll(datenpaket.getDatensaetze());
+        saetze.add(datenpaket.getNachsatz());
+        return saetze;
+    }
+
 }
@@ -28,10 +28,17 @@ import patterntesting.runtime.annotation.IntegrationTest;
 import patterntesting.runtime.junit.SmokeRunner;
 
 import javax.xml.stream.XMLStreamException;
+import java.io.File;
+import java.io.FilterWriter;
 import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 /**
  * JUnit-Test fuer HtmlFormatter.
@@ -108,5 +115,93 @@ public class HtmlFormatterTest extends AbstractFormatterTest {
         checkNotice(new HtmlFormatter(), "musterdatei_041222.html");
     }
 
-}
+    /**
+     * Mit Spooling muessen Uebersicht und Details genauso aussehen wie ohne.
+     *
+     * @throws IOException falls was schiefgelaufen ist
+     */
+    @Test
+    public void testSpooling() throws IOException {
+        assertEquals(toHtml(MUSTER_DATENPAKET, false), toHtml(MUSTER_DATENPAKET, true));
+    }
+
+    /**
+     * Bei mehreren Datenpaketen duerfen die Details eines Datenpakets nicht
+     * beim naechsten Datenpaket wiederholt werden.
+     *
+     * @throws IOException falls was schiefgelaufen ist
+     */
+    @Test
+    public void testZweiDatenpakete() throws IOException {
+        Datenpaket datenpaket = new Datenpaket();
+        StringWriter swriter = new StringWriter();
+        HtmlFormatter formatter = new HtmlFormatter(swriter);
+        formatter.write(datenpaket);
+        int length = swriter.toString().length();
+        formatter.write(datenpaket);
+        assertEquals(2 * length, swriter.toString().length(), 100);
+    }
+
+    /**
+     * Wird die Ausgabe vor dem Nachsatz abgebrochen, muss die temporaere
+     * Datei ueber {@link HtmlFormatter#close()} geloescht werden.
+     *
+     * @throws IOException falls was schiefgelaufen ist
+     */
+    @Test
+    public void testSpoolingAbbruch() throws IOException {
+        Datenpaket datenpaket = new Datenpaket();
+        File detailsFile;
+        try (HtmlFormatter formatter = new HtmlFormatter(new StringWriter())) {
+            formatter.setSpooling(true);
+            formatter.write(datenpaket.getVorsatz());
+            detailsFile = formatter.getDetailsFile();
+            assertTrue(detailsFile + " expected", detailsFile.isFile());
+        }
+        assertFalse(detailsFile + " not deleted", detailsFile.exists());
+    }
 
+    /**
+     * Schlaegt die Ausgabe fehl, muss die temporaere Datei sofort geloescht
+     * werden.
+     *
+     * @throws IOException falls was schiefgelaufen ist
+     */
+    @Test
+    public void testSpoolingFehler() throws IOException {
+        Datenpaket datenpaket = new Datenpaket();
+        final boolean[] kaputt = { false };
+        Writer writer = new FilterWriter(new StringWriter()) {
+            @Override
+            public void write(final char[] cbuf, final int off, final int len) throws IOException {
+                if (kaputt[0]) {
+                    throw new IOException("kaputt");
+                }
+                super.write(cbuf, off, len);
+            }
+        };
+        HtmlFormatter formatter = new HtmlFormatter(writer);
+        formatter.setSpooling(true);
+        formatter.write(datenpaket.getVorsatz());
+        File detailsFile = formatter.getDetailsFile();
+        assertTrue(detailsFile + " expected", detailsFile.isFile());
+        kaputt[0] = true;
+        try {
+            formatter.write(datenpaket.getNachsatz());
+            fail("IOException expected");
+        } catch (IOException expected) {
+            LOG.info("Expected exception:", expected);
+        }
+        assertNull(formatter.getDetailsFile());
+        assertFalse(detailsFile + " not deleted", detailsFile.exists());
+    }
+
+    private static String toHtml(final Datenpaket datenpaket, final boolean spooling) throws IOException {
+        StringWriter swriter = new StringWriter();
+        HtmlFormatter formatter = new HtmlFormatter(swriter);
+        formatter.setSpooling(spooling);
+        formatter.write(datenpaket);
+        return swriter.toString().replaceAll("<!-- \\(c\\)reated by gdv-xport at .* -->", "");
+    }
+
+}
@@ -17,7 +17,10 @@
  */
 package gdv.xport.util;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import gdv.xport.Datenpaket;
+import gdv.xport.satz.Datensatz;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.junit.Test;
@@ -25,7 +28,9 @@ import org.junit.Test;
 import java.io.IOException;
 import java.io.StringWriter;
 
+import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.startsWith;
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertThat;
 
 /**
@@ -59,4 +64,65 @@ public final class JsonFormatterTest extends AbstractFormatterTest {
         }
     }
 
+    /**
+     * Wird der JsonFormatter als {@link gdv.xport.event.ImportListener}
+     * verwendet, sollte das gleiche Ergebnis wie bei der Ausgabe des
+     * kompletten Datenpakets herauskommen.
+     *
+     * @throws IOException falls was schief laeuft
+     */
+    @Test
+    public void testNoticeDokument() throws IOException {
+        Datenpaket datenpaket = new Datenpaket();
+        datenpaket.add(new Datensatz(100));
+        datenpaket.add(new Datensatz(200));
+        StringWriter swriter = new StringWriter();
+        JsonFormatter formatter = new JsonFormatter(swriter);
+        formatter.notice(datenpaket.getVorsatz());
+        for (Datensatz satz : datenpaket.getDatensaetze()) {
+            formatter.notice(satz);
+        }
+        formatter.notice(datenpaket.getNachsatz());
+        ObjectMapper mapper = new ObjectMapper();
+        JsonNode streamed = mapper.readTree(swriter.toString());
+        JsonNode expected = mapper.valueToTree(datenpaket);
+        assertEquals(expected, streamed);
+    }
+
+    /**
+     * Beim Wechsel des Ausgabekanals darf nichts verloren gehen, was noch im
+     * JsonGenerator gepuffert ist.
+     *
+     * @throws IOException falls was schief laeuft
+     */
+    @Test
+    public void testSetWriter() throws IOException {
+        Datenpaket datenpaket = new Datenpaket();
+        StringWriter swriter = new StringWriter();
+        JsonFormatter formatter = new JsonFormatter(swriter);
+        formatter.notice(datenpaket.getVorsatz());
+        formatter.setWriter(new StringWriter());
+        assertThat(swriter.toString(), containsString("\"vorsatz\""));
+    }
+
+    /**
+     * Im zeilenweisen Modus wird jeder Satz in einer eigenen Zeile
+     * ausgegeben.
+     *
+     * @throws IOException falls was schief laeuft
+     */
+    @Test
+    public void testWriteZeilenweise() throws IOException {
+        Datenpaket datenpaket = new Datenpaket();
+        datenpaket.add(new Datensatz(100));
+        StringWriter swriter = new StringWriter();
+        new JsonFormatter(swriter, true).write(datenpaket);
+        String[] zeilen = swriter.toString().split("\n");
+        assertEquals(3, zeilen.length);
+        ObjectMapper mapper = new ObjectMapper();
+        assertEquals(1, mapper.readTree(zeilen[0]).get("satzart").asInt());
+        assertEquals(100, mapper.readTree(zeilen[1]).get("satzart").asInt());
+        assertEquals(9999, mapper.readTree(zeilen[2]).get("satzart").asInt());
+    }
+
 }
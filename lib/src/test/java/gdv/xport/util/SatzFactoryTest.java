@@ -161,6 +161,34 @@ public final class SatzFactoryTest extends AbstractTest {
         SatzFactory.unregister(47, 11);
     }
 
+    /**
+     * Wiederholte Aufrufe fuer die gleiche Satzart muessen unabhaengige
+     * Datensaetze liefern, auch wenn der Erzeuger zwischengespeichert wird.
+     */
+    @Test
+    public void testGetDatensatzTwice() {
+        Datensatz one = SatzFactory.getDatensatz(210, 30);
+        Datensatz two = SatzFactory.getDatensatz(210, 30);
+        assertEquals(one, two);
+        one.setVersicherungsscheinNummer("4711");
+        assertEquals("4711", one.getVersicherungsscheinNummer());
+        assertTrue(two + " was changed", two.getVersicherungsscheinNummer().isEmpty());
+    }
+
+    /**
+     * Nach einer (Neu-)Registrierung darf kein zwischengespeicherter
+     * Erzeuger mehr verwendet werden.
+     */
+    @Test
+    public void testRegisterAfterGetDatensatz() {
+        Satz fallback = SatzFactory.getDatensatz(47, 11);
+        assertEquals(Datensatz.class, fallback.getClass());
+        SatzFactory.registerEnum(MyFeld210.class, 47, 11);
+        assertSatzart47(SatzFactory.getDatensatz(47, 11));
+        SatzFactory.unregister(47, 11);
+        assertEquals(Datensatz.class, SatzFactory.getDatensatz(47, 11).getClass());
+    }
+
     private void assertSatzart47(final Satz satz) {
         assertEquals(47, satz.getSatzart());
         Feld x = satz.getFeld(MyFeld210.BAUJAHR);